@@ -0,0 +1,45 @@
+package assignmentproblem;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of the {@link Result} class backed by arrays of assignments, used by the solvers
+ * to report their results in an unmodifiable way.
+ */
+public class ArrayResult extends Result {
+    private final List<Integer> rows;
+    private final List<Integer> cols;
+    /**
+     * Initialise a result.
+     * @param rows Row assignments to report through {@link #getRowAssignments()}. The array is 
+     *     wrapped, not copied: it MUST NOT be modified afterwards.
+     * @param cols Column assignments to report through {@link #getColumnAssignments()}. The array
+     *     is wrapped, not copied: it MUST NOT be modified afterwards.
+     * @param unassigned Default value of unassigned rows and columns.
+     */
+    public ArrayResult(Integer[] rows, Integer[] cols, Integer unassigned){
+        this(Collections.unmodifiableList(Arrays.asList(rows)), 
+            Collections.unmodifiableList(Arrays.asList(cols)), unassigned);
+    }
+    /**
+     * Constructor sharing the lists of another result, used to transpose results.
+     * @param rows Unmodifiable list of row assignments.
+     * @param cols Unmodifiable list of column assignments.
+     * @param unassigned Default value of unassigned rows and columns.
+     */
+    protected ArrayResult(List<Integer> rows, List<Integer> cols, Integer unassigned){
+        super(unassigned);
+        this.rows = rows;
+        this.cols = cols;
+    }
+    @Override
+    public List<Integer> getRowAssignments() {
+        return this.rows;
+    }
+    @Override
+    public List<Integer> getColumnAssignments() {
+        return this.cols;
+    }
+}
@@ -0,0 +1,127 @@
+package assignmentproblem;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executor limiting the number of tasks running concurrently on another executor.
+ * 
+ * <p>Tasks submitted while the limit is reached are queued without blocking the caller and are 
+ * handed over to the underlying executor as soon as a running task completes. This is typically 
+ * used with {@link Solver#solveAsync(CostMatrix, Executor)} so that a burst of large cost matrices
+ * cannot monopolise a shared pool.
+ * 
+ * <p>If the underlying executor rejects a queued task, the caller submitting it gets the 
+ * {@link RejectedExecutionException}. A task queued by another caller and rejected later is 
+ * failed when it comes from {@link Solver#solveAsync(CostMatrix, Executor)}, completing its 
+ * future exceptionally, and is otherwise put back at the head of the queue until a running task 
+ * completes or another task is submitted.
+ */
+public class BoundedExecutor implements Executor {
+    private final Executor delegate;
+    private final int maxConcurrentTasks;
+    private final Deque<Runnable> pending = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger running = new AtomicInteger();
+    
+    /**
+     * Initialise a bounded executor.
+     * @param delegate Executor actually running the tasks.
+     * @param maxConcurrentTasks Maximum number of tasks running at the same time on 
+     *     {@code delegate}.
+     * @throws IllegalArgumentException if {@code maxConcurrentTasks} is not strictly positive.
+     */
+    public BoundedExecutor(Executor delegate, int maxConcurrentTasks){
+        if (delegate == null){
+            throw new NullPointerException("tried to bound a null executor");
+        }
+        if (maxConcurrentTasks <= 0){
+            throw new IllegalArgumentException("Tried to bound an executor to " + maxConcurrentTasks
+                + " concurrent tasks");
+        }
+        this.delegate = delegate;
+        this.maxConcurrentTasks = maxConcurrentTasks;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (task == null){
+            throw new NullPointerException("tried to execute a null task");
+        }
+        pending.add(task);
+        submitPending(task);
+    }
+    
+    /**
+     * Hand pending tasks over to the underlying executor while the limit is not reached.
+     * @param submitted Task submitted by the caller, or null when called by a completing task.
+     * @throws RejectedExecutionException if the underlying executor rejected {@code submitted}.
+     */
+    private void submitPending(Runnable submitted){
+        while (!pending.isEmpty()){
+            int current = running.get();
+            if (current >= maxConcurrentTasks){
+                //a running task will submit the pending ones when it completes
+                return;
+            }
+            if (!running.compareAndSet(current, current + 1)){
+                continue;
+            }
+            Runnable task = pending.poll();
+            if (task == null){
+                //another thread took the last pending task
+                running.decrementAndGet();
+                continue;
+            }
+            try {
+                delegate.execute(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        running.decrementAndGet();
+                        submitPending(null);
+                    }
+                });
+            } catch (RejectedExecutionException e){
+                running.decrementAndGet();
+                if (task == submitted){
+                    //TODO log this properly
+                    throw e;
+                }
+                if (task instanceof SolveTask){
+                    ((SolveTask) task).reject(e);
+                    continue;
+                }
+                //retried when a running task completes or another task is submitted
+                pending.addFirst(task);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Returns the maximum number of tasks running concurrently.
+     * @return the limit set at initialisation.
+     */
+    public int getMaxConcurrentTasks(){
+        return maxConcurrentTasks;
+    }
+    
+    /**
+     * Returns the number of tasks currently handed over to the underlying executor.
+     * @return a number between 0 and {@link #getMaxConcurrentTasks()}.
+     */
+    public int getRunningCount(){
+        return running.get();
+    }
+    
+    /**
+     * Returns the number of tasks waiting for a running task to complete.
+     * @return the number of queued tasks.
+     */
+    public int getQueuedCount(){
+        return pending.size();
+    }
+}
@@ -25,6 +25,10 @@ public abstract class CostMatrix {
      *      met.
      */
     public CostMatrix(int[][] costMatrix){
+        SolverPhaseEvent event = SolverPhaseEvent.start(SolverPhaseEvent.VALIDATION, 
+            costMatrix == null ? 0 : costMatrix.length, 
+            costMatrix == null || costMatrix.length == 0 || costMatrix[0] == null 
+                ? 0 : costMatrix[0].length);
         String errorMessage = null;
         if (costMatrix == null){
             errorMessage = "null cost matrix";
@@ -60,5 +64,28 @@ public abstract class CostMatrix {
             //TODO log this properly
             throw new IllegalArgumentException("Tried to initialise a " + errorMessage);
         }
+        event.finish();
+    }
+    
+    /**
+     * Initialises a cost matrix whose cells are not stored in an array.
+     * Checks that the matrix has at least one row and one column. Implementing classes using this 
+     * constructor MUST check that their cells are not negative.
+     * 
+     * @param nRows number of rows of the matrix.
+     * @param nCols number of columns of the matrix.
+     * @throws IllegalArgumentException if the matrix has no row or no column.
+     */
+    protected CostMatrix(int nRows, int nCols){
+        String errorMessage = null;
+        if (nRows <= 0){
+            errorMessage = "cost matrix with " + nRows + " rows";
+        } else if (nCols <= 0){
+            errorMessage = "cost matrix with " + nCols + " cols";
+        }
+        if (errorMessage != null){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a " + errorMessage);
+        }
     }
 }
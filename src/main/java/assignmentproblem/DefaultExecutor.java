@@ -0,0 +1,28 @@
+package assignmentproblem;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Holder of the executor used by {@link Solver#solveAsync(CostMatrix)}.
+ * 
+ * <p>Solves run on virtual threads when the running JVM provides them (Java 21 and later), and on 
+ * the common fork-join pool otherwise. The executor is looked up reflectively so that the library 
+ * still runs on older JVMs.
+ */
+final class DefaultExecutor {
+    /** Executor shared by all asynchronous solves that do not specify one. */
+    static final Executor INSTANCE = create();
+    
+    private DefaultExecutor(){}
+    
+    private static Executor create(){
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+                .invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e){
+            return ForkJoinPool.commonPool();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package assignmentproblem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Task completing a future with the result of a solve, submitted by
+ * {@link Solver#solveAsync(CostMatrix, java.util.concurrent.Executor)}.
+ *
+ * <p>Executors queuing tasks, such as {@link BoundedExecutor}, call {@link #reject} when the task
+ * is rejected after {@code execute} returned, so that its future still completes.
+ */
+class SolveTask implements Runnable {
+    private final CompletableFuture<Result> future;
+    private final Supplier<Result> solve;
+
+    /**
+     * Initialise a solve task.
+     * @param future Future completed by the task.
+     * @param solve Solve run by the task, computing the result.
+     */
+    SolveTask(CompletableFuture<Result> future, Supplier<Result> solve){
+        this.future = future;
+        this.solve = solve;
+    }
+
+    @Override
+    public void run() {
+        if (future.isDone()){
+            //cancelled while waiting for execution
+            return;
+        }
+        try {
+            future.complete(solve.get());
+        } catch (Throwable t){
+            future.completeExceptionally(t);
+        }
+    }
+
+    /**
+     * Completes the future of the task exceptionally, the task will never run.
+     * @param e Exception thrown by the executor rejecting the task.
+     */
+    void reject(RejectedExecutionException e){
+        future.completeExceptionally(e);
+    }
+}
@@ -1,7 +1,16 @@
 package assignmentproblem;
 
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BooleanSupplier;
+
 /**
  * Template for a solver for the assignment problem.
+ * 
+ * <p>Implementations SHOULD support concurrent calls to their solve methods, so that a single 
+ * instance can be shared by asynchronous solves.
  * @param <T> type of input matrix compatible with the solver.
  */
 public interface Solver<T extends CostMatrix> {
@@ -12,7 +21,7 @@ public interface Solver<T extends CostMatrix> {
      * @return the {@link Result} object wrapping the solution to the problem.
      */
     Result solve(T costMatrix);
-    
+
     /**
      * Solves an assignment problem with a given cost matrix.
      * @param costMatrix Cost matrix representing to problem to solve.
@@ -21,4 +30,72 @@ public interface Solver<T extends CostMatrix> {
      * @throws IllegalArgumentException If the cost matrix is invalid for the given solver.
      */
     Result solve(int[][] costMatrix) throws IllegalArgumentException;
+
+    /**
+     * Solves an assignment problem with a given cost matrix unless the solve is cancelled.
+     * The default implementation only checks the token before solving: implementations SHOULD
+     * override it to check the token periodically while solving.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     *     Note that {@code costMatrix } MAY be modified in-place by the {@link Solver}.
+     * @param cancelled Cancellation token, polled by the solver: the solve is stopped as soon as it
+     *     returns true. It SHOULD be cheap to evaluate.
+     * @return the {@link Result} object wrapping the solution to the problem.
+     * @throws SolverCancelledException If the token returned true before the solve completed.
+     */
+    default Result solve(T costMatrix, BooleanSupplier cancelled) throws SolverCancelledException {
+        if (cancelled.getAsBoolean()){
+            throw new SolverCancelledException("solve cancelled before it started");
+        }
+        return solve(costMatrix);
+    }
+
+    /**
+     * Solves an assignment problem with a given cost matrix unless a deadline is reached.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     *     Note that {@code costMatrix } MAY be modified in-place by the {@link Solver}.
+     * @param deadline Instant after which the solve is stopped.
+     * @return the {@link Result} object wrapping the solution to the problem.
+     * @throws SolverCancelledException If the deadline was reached before the solve completed.
+     */
+    default Result solve(T costMatrix, Instant deadline) throws SolverCancelledException {
+        return solve(costMatrix, () -> Instant.now().isAfter(deadline));
+    }
+
+    /**
+     * Solves an assignment problem asynchronously with a given cost matrix.
+     * Cancelling the returned future stops the solve as soon as the solver polls its cancellation
+     * token, see {@link #solve(CostMatrix, BooleanSupplier)}.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     *     Note that {@code costMatrix } MAY be modified in-place by the {@link Solver}: it MUST NOT
+     *     be used until the returned future is complete.
+     * @param executor Executor running the solve. A {@link BoundedExecutor} can be used to limit 
+     *     the number of concurrent solves.
+     * @return a future completed with the {@link Result} object wrapping the solution to the 
+     *     problem, or completed exceptionally if the solve failed or if {@code executor} rejected 
+     *     it.
+     */
+    default CompletableFuture<Result> solveAsync(T costMatrix, Executor executor){
+        CompletableFuture<Result> future = new CompletableFuture<>();
+        try {
+            executor.execute(new SolveTask(future, () -> solve(costMatrix, future::isDone)));
+        } catch (RejectedExecutionException e){
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+    
+    /**
+     * Solves an assignment problem asynchronously with a given cost matrix on the default 
+     * executor. The default executor runs each solve on its own virtual thread when the JVM 
+     * supports them, and on the common fork-join pool otherwise.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     *     Note that {@code costMatrix } MAY be modified in-place by the {@link Solver}: it MUST NOT
+     *     be used until the returned future is complete.
+     * @return a future completed with the {@link Result} object wrapping the solution to the 
+     *     problem, or completed exceptionally if the solve failed.
+     * @see #solveAsync(CostMatrix, Executor)
+     */
+    default CompletableFuture<Result> solveAsync(T costMatrix){
+        return solveAsync(costMatrix, DefaultExecutor.INSTANCE);
+    }
 }
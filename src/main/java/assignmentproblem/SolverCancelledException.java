@@ -0,0 +1,22 @@
+package assignmentproblem;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Exception thrown by a {@link Solver} when a solve is stopped before completion, either because
+ * its cancellation token was triggered or because its deadline was reached.
+ *
+ * <p>No partial result is reported: the cost matrix MAY have been modified in-place and SHOULD be
+ * discarded.
+ */
+public class SolverCancelledException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Initialise the exception.
+     * @param message description of the cancelled solve.
+     */
+    public SolverCancelledException(String message){
+        super(message);
+    }
+}
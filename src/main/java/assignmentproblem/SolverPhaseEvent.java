@@ -0,0 +1,135 @@
+package assignmentproblem;
+
+import java.lang.management.ManagementFactory;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event timing a phase of a solve: validation or copy of a cost matrix, 
+ * transposition, reduction, or the main loop of a core solver.
+ * 
+ * <p>The event is disabled by default: it must be enabled in the recording settings, e.g. with 
+ * {@code jcmd <pid> JFR.start settings=profile +assignmentproblem.SolverPhase#enabled=true} or 
+ * {@link jdk.jfr.Recording#enable(String)}. While it is disabled, timing a phase only costs a 
+ * check of the enabled state of the event type: no event is allocated and the allocated bytes 
+ * are not measured.
+ */
+@Name("assignmentproblem.SolverPhase")
+@Label("Solver Phase")
+@Category("Assignment Problem")
+@Description("Phase of the solve of an assignment problem")
+@Enabled(false)
+@StackTrace(false)
+public final class SolverPhaseEvent extends Event {
+    /** Validation of a cost matrix by the {@link CostMatrix} constructor. */
+    public static final String VALIDATION = "validation";
+    /** Deep copy of a cost matrix. */
+    public static final String COPY = "copy";
+    /** Transposition of a cost matrix. */
+    public static final String TRANSPOSE = "transpose";
+    /** Reduction of a cost matrix before its solve. */
+    public static final String REDUCTION = "reduction";
+    /** Main loop of a core solver. */
+    public static final String CORE = "core";
+    /** Event returned while the event type is disabled, never committed. */
+    private static final SolverPhaseEvent DISABLED = new SolverPhaseEvent();
+    
+    @Label("Phase")
+    String phase;
+    
+    @Label("Rows")
+    int rows;
+    
+    @Label("Columns")
+    int columns;
+    
+    @Label("Augmentations")
+    @Description("Number of augmenting paths or assignments made by the core solver")
+    long augmentations;
+    
+    @Label("Matrix Alterations")
+    @Description("Number of dual updates, e.g. step 6 of Munkres' algorithm, made by the core "
+        + "solver")
+    long matrixAlterations;
+    
+    @Label("Allocated")
+    @DataAmount(DataAmount.BYTES)
+    @Description("Bytes allocated by the thread during the phase, -1 if unavailable")
+    long allocatedBytes;
+    
+    /**
+     * Start timing a phase.
+     * @param phase name of the phase, one of the constants of this class.
+     * @param rows number of rows of the matrix.
+     * @param columns number of columns of the matrix.
+     * @return an event to finish with {@link #finish()} or {@link #finish(long, long)}.
+     */
+    public static SolverPhaseEvent start(String phase, int rows, int columns){
+        if (!Type.INSTANCE.isEnabled()){
+            return DISABLED;
+        }
+        SolverPhaseEvent event = new SolverPhaseEvent();
+        event.phase = phase;
+        event.rows = rows;
+        event.columns = columns;
+        event.allocatedBytes = Allocations.current();
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Finish timing a phase without augmentations or matrix alterations, and commit the event if 
+     * it passes the thresholds of the recording.
+     */
+    public void finish(){
+        finish(0, 0);
+    }
+    
+    /**
+     * Finish timing a phase, and commit the event if it passes the thresholds of the recording.
+     * @param augmentations number of augmentations made during the phase.
+     * @param matrixAlterations number of matrix alterations made during the phase.
+     */
+    public void finish(long augmentations, long matrixAlterations){
+        //the shared disabled event is never committed, even if a recording enabled the type since
+        if (this == DISABLED || !isEnabled()){
+            return;
+        }
+        end();
+        if (shouldCommit()){
+            this.augmentations = augmentations;
+            this.matrixAlterations = matrixAlterations;
+            long after = Allocations.current();
+            allocatedBytes = after < 0 || allocatedBytes < 0 ? -1 : after - allocatedBytes;
+            commit();
+        }
+    }
+    
+    /** Type of the event, only loaded once a phase is timed. */
+    private static final class Type {
+        private static final EventType INSTANCE = EventType.getEventType(SolverPhaseEvent.class);
+    }
+    
+    /** Allocation counter of the current thread, only loaded once an event is enabled. */
+    private static final class Allocations {
+        private static final com.sun.management.ThreadMXBean THREADS = 
+            ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean() : null;
+        
+        /**
+         * Get the number of bytes allocated by the current thread so far.
+         * @return the allocated bytes, -1 if they cannot be measured.
+         */
+        static long current(){
+            return THREADS == null ? -1 
+                : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package assignmentproblem.bottlenecksolver;
+
+import assignmentproblem.CostMatrix;
+
+/**
+ * Wrapper for matrix representation of assignment costs for bottleneck solvers.
+ * 
+ * <p>Bottleneck solvers do not modify their cost matrix, so the input matrix is not copied: it 
+ * MUST NOT be modified while it is being solved.
+ */
+public class BottleneckCostMatrix extends CostMatrix {
+    final int[][] costMatrix;
+    final int nRows;
+    final int nCols;
+    
+    /**
+     * Initialise a bottleneck cost matrix.
+     * 
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}.
+     */
+    public BottleneckCostMatrix(int[][] costMatrix){
+        super(costMatrix);
+        this.costMatrix = costMatrix;
+        nRows = costMatrix.length;
+        nCols = costMatrix[0].length;
+    }
+    
+    /**
+     * Create a transposed copy of the cost matrix.
+     * Cell [i][j] of the first corresponds to cell [j][i] of the second.
+     * @return A new cost matrix where the rows and columns have been switched.
+     */
+    BottleneckCostMatrix transpose(){
+        int[][] transposed = new int[nCols][nRows];
+        for (int i = 0; i < nRows; i++){
+            for (int j = 0; j < nCols; j++){
+                transposed[j][i] = costMatrix[i][j];
+            }
+        }
+        return new BottleneckCostMatrix(transposed);
+    }
+}
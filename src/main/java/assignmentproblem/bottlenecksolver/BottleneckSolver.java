@@ -0,0 +1,252 @@
+package assignmentproblem.bottlenecksolver;
+
+import assignmentproblem.ArrayResult;
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implementation of the {@link Solver} interface for the bottleneck assignment problem: the solver
+ * minimises the largest cost of the assignment instead of the sum of its costs. See
+ * {@link https://en.wikipedia.org/wiki/Linear_bottleneck_assignment_problem}.
+ *
+ * <p>The solver looks for the smallest threshold such that the cells whose cost does not exceed
+ * it contain a complete matching of the smaller side of the matrix. Thresholds are searched by
+ * dichotomy over the range of the costs, without copying them, and each one is checked with the 
+ * Hopcroft-Karp maximum bipartite matching algorithm
+ * ({@link https://en.wikipedia.org/wiki/Hopcroft%E2%80%93Karp_algorithm}), starting from the
+ * matching found for the largest threshold known to be too small. The whole solve takes
+ * O(log(C)*sqrt(n)*n*m) time for a largest cost C, at most 31 checks, and O(n+m) memory besides
+ * the matrix.
+ *
+ * <p>Among the assignments reaching the optimal bottleneck, the one returned is arbitrary: it does
+ * not minimise the sum of the costs.
+ *
+ * <p>This class is thread-safe.
+ */
+public class BottleneckSolver implements Solver<BottleneckCostMatrix> {
+    private final Integer unassigned;
+
+    /**
+     * Initialise a BottleneckSolver ready to solve assignment problems.
+     * @param unassigned Default value for unassigned rows and columns.
+     */
+    public BottleneckSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    public Result solve(BottleneckCostMatrix costMatrix) {
+        return solve(costMatrix, () -> false);
+    }
+
+    @Override
+    public Result solve(BottleneckCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        //match every row of a horizontal matrix
+        boolean transpose = costMatrix.nRows > costMatrix.nCols;
+        BottleneckCostMatrix toSolve = transpose ? costMatrix.transpose() : costMatrix;
+        int[] rowMatches = new Matcher(toSolve, cancelled).solve();
+        Integer[] rows = new Integer[toSolve.nRows];
+        Integer[] cols = new Integer[toSolve.nCols];
+        Arrays.fill(cols, unassigned);
+        for (int i = 0; i < rows.length; i++){
+            rows[i] = rowMatches[i];
+            cols[rowMatches[i]] = i;
+        }
+        return transpose ? new ArrayResult(cols, rows, unassigned)
+            : new ArrayResult(rows, cols, unassigned);
+    }
+
+    @Override
+    public Result solve(int[][] costMatrix) {
+        return this.solve(new BottleneckCostMatrix(costMatrix));
+    }
+
+    /**
+     * State of the threshold search for a single horizontal cost matrix.
+     */
+    private static final class Matcher {
+        private static final int UNREACHED = Integer.MAX_VALUE;
+        private final int[][] costs;
+        private final int nRows;
+        private final int nCols;
+        private final BooleanSupplier cancelled;
+        private final int[] rowMatches;
+        private final int[] colMatches;
+        /** Layer of each row in the breadth-first search of the current phase. */
+        private final int[] layers;
+        /** Rows of the current path of the depth-first search. */
+        private final int[] rowStack;
+        /** Next column to explore for each row in the current phase. */
+        private final int[] nextCols;
+        private final int[] queue;
+        private int threshold;
+
+        Matcher(BottleneckCostMatrix costMatrix, BooleanSupplier cancelled){
+            costs = costMatrix.costMatrix;
+            nRows = costMatrix.nRows;
+            nCols = costMatrix.nCols;
+            this.cancelled = cancelled;
+            rowMatches = new int[nRows];
+            colMatches = new int[nCols];
+            layers = new int[nRows];
+            rowStack = new int[nRows];
+            nextCols = new int[nRows];
+            queue = new int[nRows];
+        }
+
+        /**
+         * Find an assignment of all rows minimising the largest cost.
+         * @return the column assigned to each row.
+         */
+        int[] solve(){
+            //matching valid for every threshold still to check, initially empty
+            int[] baseRows = new int[nRows];
+            int[] baseCols = new int[nCols];
+            Arrays.fill(baseRows, -1);
+            Arrays.fill(baseCols, -1);
+            int[] best = null;
+            //every row must be assigned, so the bottleneck is at least the largest row minimum
+            int low = 0;
+            int high = 0;
+            for (int[] row : costs){
+                int rowMin = Integer.MAX_VALUE;
+                for (int cost : row){
+                    rowMin = Math.min(rowMin, cost);
+                    high = Math.max(high, cost);
+                }
+                low = Math.max(low, rowMin);
+            }
+            //the largest cost is always a feasible threshold
+            while (low <= high){
+                threshold = low + (high - low) / 2;
+                System.arraycopy(baseRows, 0, rowMatches, 0, nRows);
+                System.arraycopy(baseCols, 0, colMatches, 0, nCols);
+                if (maximiseMatching() == nRows){
+                    best = rowMatches.clone();
+                    //the bottleneck of this matching is feasible too, and may be lower
+                    int bottleneck = 0;
+                    for (int i = 0; i < nRows; i++){
+                        bottleneck = Math.max(bottleneck, costs[i][best[i]]);
+                    }
+                    high = bottleneck - 1;
+                } else {
+                    //cells are only added when the threshold increases: keep this matching
+                    System.arraycopy(rowMatches, 0, baseRows, 0, nRows);
+                    System.arraycopy(colMatches, 0, baseCols, 0, nCols);
+                    low = threshold + 1;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Grow the current matching into a maximum matching of the cells below the threshold.
+         * @return the size of the matching.
+         */
+        private int maximiseMatching(){
+            int size = 0;
+            for (int match : rowMatches){
+                if (match >= 0){
+                    size++;
+                }
+            }
+            while (size < nRows && layer()){
+                if (cancelled.getAsBoolean()){
+                    throw new SolverCancelledException("solve cancelled with " + size + " of "
+                        + nRows + " rows matched at threshold " + threshold);
+                }
+                Arrays.fill(nextCols, 0);
+                for (int i = 0; i < nRows; i++){
+                    if (rowMatches[i] < 0 && augment(i)){
+                        size++;
+                    }
+                }
+            }
+            return size;
+        }
+
+        /**
+         * Breadth-first search from the unmatched rows, layering the rows by distance.
+         * @return true if an unmatched column can be reached, i.e. if there is an augmenting path.
+         */
+        private boolean layer(){
+            int head = 0;
+            int tail = 0;
+            for (int i = 0; i < nRows; i++){
+                if (rowMatches[i] < 0){
+                    layers[i] = 0;
+                    queue[tail++] = i;
+                } else {
+                    layers[i] = UNREACHED;
+                }
+            }
+            boolean found = false;
+            while (head < tail){
+                int i = queue[head++];
+                int[] row = costs[i];
+                for (int j = 0; j < nCols; j++){
+                    if (row[j] > threshold){
+                        continue;
+                    }
+                    int next = colMatches[j];
+                    if (next < 0){
+                        found = true;
+                    } else if (layers[next] == UNREACHED){
+                        layers[next] = layers[i] + 1;
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            return found;
+        }
+
+        /**
+         * Depth-first search of an augmenting path following the layers, flipped if it exists.
+         * @param root unmatched row.
+         * @return true if the row is now matched.
+         */
+        private boolean augment(int root){
+            int depth = 0;
+            rowStack[0] = root;
+            while (depth >= 0){
+                int i = rowStack[depth];
+                int[] row = costs[i];
+                int j = nextCols[i];
+                for (; j < nCols; j++){
+                    if (row[j] <= threshold && (colMatches[j] < 0
+                            || layers[colMatches[j]] == layers[i] + 1)){
+                        break;
+                    }
+                }
+                if (j == nCols){
+                    //dead end for the rest of the phase
+                    layers[i] = UNREACHED;
+                    depth--;
+                    continue;
+                }
+                nextCols[i] = j + 1;
+                if (colMatches[j] >= 0){
+                    rowStack[++depth] = colMatches[j];
+                    continue;
+                }
+                //free column: shift the matches along the path
+                for (int d = depth; d >= 0; d--){
+                    int pathRow = rowStack[d];
+                    int previous = rowMatches[pathRow];
+                    rowMatches[pathRow] = j;
+                    colMatches[j] = pathRow;
+                    j = previous;
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package assignmentproblem.capacitatedsolver;
+
+import assignmentproblem.CostMatrix;
+import java.util.Arrays;
+
+/**
+ * Wrapper for matrix representation of assignment costs where each row and each column has a 
+ * capacity: row i can be assigned up to rowCapacities[i] times and column j up to 
+ * colCapacities[j] times, possibly several times to the same line. This is equivalent to 
+ * repeating each line as many times as its capacity in a plain cost matrix, without the memory 
+ * and time it costs.
+ * 
+ * <p>Capacitated solvers do not modify their cost matrix, so the input arrays are not copied: 
+ * they MUST NOT be modified while the matrix is being solved.
+ */
+public class CapacitatedCostMatrix extends CostMatrix {
+    final int[][] costMatrix;
+    final int[] rowCapacities;
+    final int[] colCapacities;
+    final int nRows;
+    final int nCols;
+    
+    /**
+     * Initialise a capacitated cost matrix.
+     * 
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}.
+     * @param rowCapacities number of times each row can be assigned.
+     * @param colCapacities number of times each column can be assigned.
+     * @throws IllegalArgumentException if the cost matrix is invalid, or if the capacities are 
+     *     null, negative, or do not match the dimensions of the matrix.
+     */
+    public CapacitatedCostMatrix(int[][] costMatrix, int[] rowCapacities, int[] colCapacities){
+        super(costMatrix);
+        this.costMatrix = costMatrix;
+        nRows = costMatrix.length;
+        nCols = costMatrix[0].length;
+        checkCapacities(rowCapacities, nRows, "row");
+        checkCapacities(colCapacities, nCols, "column");
+        this.rowCapacities = rowCapacities;
+        this.colCapacities = colCapacities;
+    }
+    
+    /**
+     * Initialise a capacitated cost matrix where each row can be assigned once, i.e. a 
+     * semi-assignment problem.
+     * 
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}.
+     * @param colCapacities number of times each column can be assigned.
+     * @throws IllegalArgumentException if the cost matrix is invalid, or if the capacities are 
+     *     null, negative, or do not match the number of columns of the matrix.
+     */
+    public CapacitatedCostMatrix(int[][] costMatrix, int[] colCapacities){
+        this(costMatrix, unitCapacities(costMatrix == null ? 0 : costMatrix.length), 
+            colCapacities);
+    }
+    
+    /**
+     * Initialise a capacitated cost matrix where each row and each column can be assigned once, 
+     * i.e. a plain assignment problem.
+     * 
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}.
+     * @throws IllegalArgumentException if the cost matrix is invalid.
+     */
+    public CapacitatedCostMatrix(int[][] costMatrix){
+        this(costMatrix, 
+            unitCapacities(costMatrix == null ? 0 : costMatrix.length), 
+            unitCapacities(costMatrix == null || costMatrix.length == 0 || costMatrix[0] == null 
+                ? 0 : costMatrix[0].length));
+    }
+    
+    /**
+     * Create unit capacities.
+     * @param length number of lines.
+     * @return an array of ones.
+     */
+    private static int[] unitCapacities(int length){
+        int[] capacities = new int[length];
+        Arrays.fill(capacities, 1);
+        return capacities;
+    }
+    
+    /**
+     * Check the capacities of the rows or the columns.
+     * @param capacities capacities to check.
+     * @param expectedLength number of lines of the matrix.
+     * @param name name of the lines, used in error messages.
+     */
+    private static void checkCapacities(int[] capacities, int expectedLength, String name){
+        String errorMessage = null;
+        if (capacities == null){
+            errorMessage = "null " + name + " capacities";
+        } else if (capacities.length != expectedLength){
+            errorMessage = capacities.length + " " + name + " capacities for " + expectedLength 
+                + " " + name + "s";
+        } else {
+            for (int k = 0; k < capacities.length; k++){
+                if (capacities[k] < 0){
+                    errorMessage = "negative capacity for " + name + " " + k + ": " 
+                        + capacities[k];
+                    break;
+                }
+            }
+        }
+        if (errorMessage != null){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a capacitated cost matrix "
+                + "with " + errorMessage);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package assignmentproblem.capacitatedsolver;
+
+import assignmentproblem.Result;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the {@link assignmentproblem.Result} class reporting the results of 
+ * capacitated solvers in an unmodifiable way.
+ * 
+ * <p>A line may be assigned several times, possibly to several other lines: the amounts assigned 
+ * to each pair of lines are reported by {@link #getAmount(int, int)} and the allocation methods. 
+ * {@link #getRowAssignments()} and {@link #getColumnAssignments()} report a single line for each 
+ * line, the one with the largest amount, which is exact for lines of capacity 1.
+ */
+public class CapacitatedResult extends Result {
+    private final List<Map<Integer, Integer>> rowAllocations;
+    private final List<Map<Integer, Integer>> colAllocations;
+    private final List<Integer> rows;
+    private final List<Integer> cols;
+    
+    /**
+     * Initialise a result.
+     * @param amounts amount assigned to each cell of the cost matrix.
+     * @param unassigned Default value of unassigned rows and columns.
+     */
+    CapacitatedResult(int[][] amounts, Integer unassigned){
+        super(unassigned);
+        int nRows = amounts.length;
+        int nCols = amounts[0].length;
+        List<Map<Integer, Integer>> rowMaps = new ArrayList<>(nRows);
+        List<Map<Integer, Integer>> colMaps = new ArrayList<>(nCols);
+        for (int j = 0; j < nCols; j++){
+            colMaps.add(new LinkedHashMap<>());
+        }
+        Integer[] rowAssignments = new Integer[nRows];
+        Integer[] colAssignments = new Integer[nCols];
+        Arrays.fill(rowAssignments, unassigned);
+        Arrays.fill(colAssignments, unassigned);
+        int[] colLargest = new int[nCols];
+        for (int i = 0; i < nRows; i++){
+            Map<Integer, Integer> rowMap = new LinkedHashMap<>();
+            int rowLargest = 0;
+            for (int j = 0; j < nCols; j++){
+                int amount = amounts[i][j];
+                if (amount == 0){
+                    continue;
+                }
+                rowMap.put(j, amount);
+                colMaps.get(j).put(i, amount);
+                if (amount > rowLargest){
+                    rowLargest = amount;
+                    rowAssignments[i] = j;
+                }
+                if (amount > colLargest[j]){
+                    colLargest[j] = amount;
+                    colAssignments[j] = i;
+                }
+            }
+            rowMaps.add(Collections.unmodifiableMap(rowMap));
+        }
+        for (int j = 0; j < nCols; j++){
+            colMaps.set(j, Collections.unmodifiableMap(colMaps.get(j)));
+        }
+        rowAllocations = Collections.unmodifiableList(rowMaps);
+        colAllocations = Collections.unmodifiableList(colMaps);
+        rows = Collections.unmodifiableList(Arrays.asList(rowAssignments));
+        cols = Collections.unmodifiableList(Arrays.asList(colAssignments));
+    }
+    
+    /**
+     * Get the column to which each row is assigned the most times.
+     * @return the column with the largest amount for each row, with the smallest index among 
+     *     ties, or the unassigned value if the row is not assigned.
+     */
+    @Override
+    public List<Integer> getRowAssignments() {
+        return this.rows;
+    }
+    
+    /**
+     * Get the row to which each column is assigned the most times.
+     * @return the row with the largest amount for each column, with the smallest index among 
+     *     ties, or the unassigned value if the column is not assigned.
+     */
+    @Override
+    public List<Integer> getColumnAssignments() {
+        return this.cols;
+    }
+    
+    /**
+     * Get the number of times a row is assigned to a column.
+     * @param row index of the row.
+     * @param col index of the column.
+     * @return the amount assigned to the cell, 0 if the row is not assigned to the column.
+     */
+    public int getAmount(int row, int col){
+        return rowAllocations.get(row).getOrDefault(col, 0);
+    }
+    
+    /**
+     * Get the columns to which a row is assigned.
+     * @param row index of the row.
+     * @return the amount assigned to each column to which the row is assigned, in the order of 
+     *     the columns.
+     */
+    public Map<Integer, Integer> getRowAllocations(int row){
+        return rowAllocations.get(row);
+    }
+    
+    /**
+     * Get the rows to which a column is assigned.
+     * @param col index of the column.
+     * @return the amount assigned to each row to which the column is assigned, in the order of 
+     *     the rows.
+     */
+    public Map<Integer, Integer> getColumnAllocations(int col){
+        return colAllocations.get(col);
+    }
+}
@@ -0,0 +1,250 @@
+package assignmentproblem.capacitatedsolver;
+
+import assignmentproblem.Solver;
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implementation of the {@link Solver} interface for assignment problems with row and column 
+ * capacities, see {@link CapacitatedCostMatrix}. As many units as the smaller of the total row 
+ * capacity and the total column capacity are assigned, at the lowest total cost.
+ * 
+ * <p>The problem is the transportation problem, solved as a minimum-cost flow from the rows to 
+ * the columns with successive shortest paths: see 
+ * {@link https://en.wikipedia.org/wiki/Minimum-cost_flow_problem}. Each path starts at any row 
+ * with remaining capacity, alternates between cells and cells already assigned to, and ends at 
+ * the nearest column with remaining capacity, for the reduced costs defined by row and column 
+ * potentials. As many units as the path allows are then assigned at once, so the number of paths 
+ * does not depend on the capacities: it is usually close to the number of lines. Each path takes 
+ * O((n+m)^2 + n*m) time with a dense Dijkstra's algorithm, and the solve O(n*m) memory.
+ * 
+ * <p>This class is thread-safe.
+ */
+public class CapacitatedSolver implements Solver<CapacitatedCostMatrix> {
+    private final Integer unassigned;
+    
+    /**
+     * Initialise a CapacitatedSolver ready to solve assignment problems.
+     * @param unassigned Default value for unassigned rows and columns.
+     */
+    public CapacitatedSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    public CapacitatedResult solve(CapacitatedCostMatrix costMatrix) {
+        return solve(costMatrix, () -> false);
+    }
+
+    @Override
+    public CapacitatedResult solve(CapacitatedCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        return new CapacitatedResult(new FlowSolver(costMatrix, cancelled).solve(), unassigned);
+    }
+
+    /**
+     * Solves an assignment problem where every row and every column has a capacity of 1.
+     * @param costMatrix Cost matrix representing to problem to solve.
+     * @return the {@link CapacitatedResult} object wrapping the solution to the problem.
+     * @throws IllegalArgumentException If the cost matrix is invalid.
+     */
+    @Override
+    public CapacitatedResult solve(int[][] costMatrix) {
+        return solve(new CapacitatedCostMatrix(costMatrix));
+    }
+    
+    /**
+     * State of the minimum-cost flow of a single cost matrix.
+     * 
+     * <p>The reduced cost of cell (i, j) is its cost minus the potentials of row i and column j. 
+     * The reduced costs are kept non-negative, and zero on the cells with a positive amount, so 
+     * that the shortest paths can be found with Dijkstra's algorithm. Rows with remaining 
+     * capacity all share the same potential, and columns with remaining capacity keep a 
+     * potential of 0 while the others have negative potentials.
+     */
+    private static final class FlowSolver {
+        private static final int NONE = -1;
+        private final int[][] costs;
+        private final int nRows;
+        private final int nCols;
+        private final BooleanSupplier cancelled;
+        private final int[][] amounts;
+        private final int[] rowRemaining;
+        private final int[] colRemaining;
+        private final long[] rowPotentials;
+        private final long[] colPotentials;
+        private final long[] rowDistances;
+        private final long[] colDistances;
+        private final boolean[] rowSettled;
+        private final boolean[] colSettled;
+        /** Column from which each row was reached, or NONE if the path starts at the row. */
+        private final int[] rowPrevious;
+        /** Row from which each column was reached. */
+        private final int[] colPrevious;
+        
+        FlowSolver(CapacitatedCostMatrix costMatrix, BooleanSupplier cancelled){
+            costs = costMatrix.costMatrix;
+            nRows = costMatrix.nRows;
+            nCols = costMatrix.nCols;
+            this.cancelled = cancelled;
+            amounts = new int[nRows][nCols];
+            rowRemaining = costMatrix.rowCapacities.clone();
+            colRemaining = costMatrix.colCapacities.clone();
+            rowPotentials = new long[nRows];
+            colPotentials = new long[nCols];
+            rowDistances = new long[nRows];
+            colDistances = new long[nCols];
+            rowSettled = new boolean[nRows];
+            colSettled = new boolean[nCols];
+            rowPrevious = new int[nRows];
+            colPrevious = new int[nCols];
+        }
+        
+        /**
+         * Assign as many units as possible at the lowest total cost.
+         * @return the amount assigned to each cell.
+         */
+        int[][] solve(){
+            long rowTotal = 0;
+            long colTotal = 0;
+            for (int capacity : rowRemaining){
+                rowTotal += capacity;
+            }
+            for (int capacity : colRemaining){
+                colTotal += capacity;
+            }
+            long remaining = Math.min(rowTotal, colTotal);
+            while (remaining > 0){
+                if (cancelled.getAsBoolean()){
+                    throw new SolverCancelledException("solve cancelled with " + remaining 
+                        + " units left to assign");
+                }
+                remaining -= augment();
+            }
+            return amounts;
+        }
+        
+        /**
+         * Assign units along a shortest path from the rows with remaining capacity to the 
+         * nearest column with remaining capacity.
+         * @return the number of units assigned.
+         */
+        private int augment(){
+            Arrays.fill(rowSettled, false);
+            Arrays.fill(colSettled, false);
+            Arrays.fill(colDistances, Long.MAX_VALUE);
+            for (int i = 0; i < nRows; i++){
+                rowDistances[i] = rowRemaining[i] > 0 ? 0 : Long.MAX_VALUE;
+                rowPrevious[i] = NONE;
+            }
+            int target = NONE;
+            long targetDistance = 0;
+            while (target == NONE){
+                //settle the nearest row or column
+                long best = Long.MAX_VALUE;
+                int bestRow = NONE;
+                int bestCol = NONE;
+                for (int i = 0; i < nRows; i++){
+                    if (!rowSettled[i] && rowDistances[i] < best){
+                        best = rowDistances[i];
+                        bestRow = i;
+                    }
+                }
+                for (int j = 0; j < nCols; j++){
+                    if (!colSettled[j] && colDistances[j] < best){
+                        best = colDistances[j];
+                        bestRow = NONE;
+                        bestCol = j;
+                    }
+                }
+                if (bestCol == NONE){
+                    rowSettled[bestRow] = true;
+                    relaxRow(bestRow);
+                } else if (colRemaining[bestCol] > 0){
+                    target = bestCol;
+                    targetDistance = best;
+                } else {
+                    colSettled[bestCol] = true;
+                    relaxColumn(bestCol);
+                }
+            }
+            updatePotentials(targetDistance);
+            //find the number of units the path allows
+            int units = colRemaining[target];
+            int j = target;
+            int i = colPrevious[j];
+            while (rowPrevious[i] != NONE){
+                j = rowPrevious[i];
+                units = Math.min(units, amounts[i][j]);
+                i = colPrevious[j];
+            }
+            units = Math.min(units, rowRemaining[i]);
+            //shift the units along the path
+            rowRemaining[i] -= units;
+            colRemaining[target] -= units;
+            j = target;
+            i = colPrevious[j];
+            while (true){
+                amounts[i][j] += units;
+                if (rowPrevious[i] == NONE){
+                    return units;
+                }
+                j = rowPrevious[i];
+                amounts[i][j] -= units;
+                i = colPrevious[j];
+            }
+        }
+        
+        /**
+         * Relax the cells of a settled row.
+         * @param i row.
+         */
+        private void relaxRow(int i){
+            int[] row = costs[i];
+            long base = rowDistances[i] - rowPotentials[i];
+            for (int j = 0; j < nCols; j++){
+                if (colSettled[j]){
+                    continue;
+                }
+                long distance = base + row[j] - colPotentials[j];
+                if (distance < colDistances[j]){
+                    colDistances[j] = distance;
+                    colPrevious[j] = i;
+                }
+            }
+        }
+        
+        /**
+         * Relax the cells with a positive amount of a settled column, which can be unassigned.
+         * @param j column.
+         */
+        private void relaxColumn(int j){
+            //the reduced cost of these cells is zero
+            long distance = colDistances[j];
+            for (int i = 0; i < nRows; i++){
+                if (!rowSettled[i] && amounts[i][j] > 0 && distance < rowDistances[i]){
+                    rowDistances[i] = distance;
+                    rowPrevious[i] = j;
+                }
+            }
+        }
+        
+        /**
+         * Update the potentials after a search, so that the reduced costs stay non-negative and 
+         * become zero along the shortest path.
+         * @param targetDistance distance of the column ending the path.
+         */
+        private void updatePotentials(long targetDistance){
+            for (int i = 0; i < nRows; i++){
+                rowPotentials[i] += targetDistance - Math.min(rowDistances[i], targetDistance);
+            }
+            for (int j = 0; j < nCols; j++){
+                colPotentials[j] -= targetDistance - Math.min(colDistances[j], targetDistance);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package assignmentproblem.cli;
+
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import assignmentproblem.hungariansolver.HungarianCostMatrix;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Command-line entry point solving a stream of assignment problems.
+ * 
+ * <p>Problems are read from a file or from the standard input in one of the 
+ * {@link ProblemFormat formats}, solved concurrently by a pool of threads sharing a single
+ * {@link HungarianSolver} and their results are written in the same format and in the same order 
+ * to a file or to the standard output. Once the stream is exhausted, the throughput and the 
+ * latency percentiles of the solves are reported on the standard error.
+ * 
+ * <p>Only a bounded number of problems is held in memory at any time, so arbitrarily long streams 
+ * can be processed.
+ */
+public final class BatchRunner {
+    static final String USAGE = "usage: BatchRunner [--format csv|binary] [--threads N] "
+        + "[--input FILE] [--output FILE]";
+    /** Exit status of a successful run. */
+    static final int SUCCESS = 0;
+    /** Exit status of a run whose input could not be read or solved. */
+    static final int FAILURE = 1;
+    /** Exit status of a run with invalid arguments. */
+    static final int INVALID_ARGUMENTS = 2;
+    /** Number of problems in flight per thread. */
+    private static final int PROBLEMS_PER_THREAD = 2;
+    
+    private BatchRunner(){}
+    
+    /**
+     * Run a batch.
+     * @param args Command-line arguments, see {@link #USAGE}.
+     */
+    public static void main(String[] args){
+        int status = run(args, System.in, System.out, System.err);
+        if (status != SUCCESS){
+            System.exit(status);
+        }
+    }
+    
+    /**
+     * Run a batch on given streams.
+     * @param args Command-line arguments, see {@link #USAGE}.
+     * @param in Stream read if no input file is given. It is not closed.
+     * @param out Stream written if no output file is given. It is flushed but not closed.
+     * @param err Stream receiving the report and the error messages.
+     * @return the exit status of the run.
+     */
+    static int run(String[] args, InputStream in, OutputStream out, PrintStream err){
+        ProblemFormat format;
+        int threads;
+        String input;
+        String output;
+        try {
+            CommandLine commandLine = new CommandLine(args, "format", "threads", "input", 
+                "output");
+            format = ProblemFormat.valueOf(
+                commandLine.getString("format", "csv").toUpperCase(Locale.ROOT));
+            threads = commandLine.getInt("threads", Runtime.getRuntime().availableProcessors(), 1);
+            input = commandLine.getString("input", null);
+            output = commandLine.getString("output", null);
+        } catch (IllegalArgumentException e){
+            err.println("error: " + e.getMessage());
+            err.println(USAGE);
+            return INVALID_ARGUMENTS;
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        //only the files opened here are closed: the caller's streams are only flushed
+        try (InputStream inputFile = input == null ? null
+                    : new BufferedInputStream(new FileInputStream(input));
+                OutputStream outputFile = output == null ? null
+                    : new BufferedOutputStream(new FileOutputStream(output))){
+            LatencyStatistics statistics = new LatencyStatistics();
+            runBatch(format.reader(inputFile == null ? in : inputFile), 
+                format.writer(outputFile == null ? out : outputFile), new HungarianSolver(-1), 
+                pool, threads * PROBLEMS_PER_THREAD, statistics);
+            err.println(statistics.summary("problems"));
+            return SUCCESS;
+        } catch (IOException | IllegalArgumentException e){
+            err.println("error: " + e.getMessage());
+            return FAILURE;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+    
+    /**
+     * Solve all the problems of a reader.
+     * @param reader Source of the problems.
+     * @param writer Sink of the results, written in the order of the problems.
+     * @param solver Thread-safe solver shared by all the solves.
+     * @param pool Executor running the solves.
+     * @param window Maximum number of problems read but whose result is not written yet.
+     * @param statistics Recorder of the latency of each solve.
+     * @throws IOException if a stream cannot be read or written.
+     * @throws IllegalArgumentException if a problem is not a valid cost matrix.
+     */
+    static void runBatch(ProblemFormat.ProblemReader reader, ProblemFormat.ResultWriter writer,
+            Solver<HungarianCostMatrix> solver, ExecutorService pool, int window, 
+            LatencyStatistics statistics) throws IOException {
+        Queue<CompletableFuture<int[]>> inFlight = new ArrayDeque<>();
+        int[][] costs;
+        int index = 0;
+        while ((costs = reader.next()) != null){
+            HungarianCostMatrix costMatrix;
+            try {
+                costMatrix = new HungarianCostMatrix(costs);
+            } catch (IllegalArgumentException e){
+                throw new IllegalArgumentException("problem " + index + ": " + e.getMessage(), e);
+            }
+            inFlight.add(CompletableFuture.supplyAsync(() -> {
+                long start = System.nanoTime();
+                Result result = solver.solve(costMatrix);
+                statistics.record(System.nanoTime() - start);
+                return toArray(result);
+            }, pool));
+            index++;
+            if (inFlight.size() >= window){
+                writer.write(join(inFlight.remove()));
+            }
+        }
+        while (!inFlight.isEmpty()){
+            writer.write(join(inFlight.remove()));
+        }
+        writer.flush();
+    }
+    
+    private static int[] toArray(Result result){
+        int[] assignments = new int[result.getRowAssignments().size()];
+        for (int i = 0; i < assignments.length; i++){
+            Integer assignment = result.getRowAssignments().get(i);
+            assignments[i] = Objects.equals(assignment, result.unassigned) ? -1 : assignment;
+        }
+        return assignments;
+    }
+    
+    private static int[] join(CompletableFuture<int[]> future){
+        try {
+            return future.join();
+        } catch (CompletionException e){
+            if (e.getCause() instanceof RuntimeException){
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
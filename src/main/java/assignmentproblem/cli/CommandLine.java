@@ -0,0 +1,69 @@
+package assignmentproblem.cli;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parser of command-line arguments made of {@code --option value} pairs, shared by the 
+ * command-line entry points of the library.
+ */
+public final class CommandLine {
+    private final Map<String, String> values = new HashMap<>();
+    
+    /**
+     * Parse command-line arguments.
+     * @param args Arguments to parse.
+     * @param options Accepted options, without their leading dashes.
+     * @throws IllegalArgumentException if an option is unknown or has no value.
+     */
+    public CommandLine(String[] args, String... options){
+        List<String> accepted = Arrays.asList(options);
+        for (int k = 0; k < args.length; k += 2){
+            if (!args[k].startsWith("--") || !accepted.contains(args[k].substring(2))){
+                throw new IllegalArgumentException("unknown option " + args[k]);
+            }
+            if (k + 1 == args.length){
+                throw new IllegalArgumentException("missing value for " + args[k]);
+            }
+            values.put(args[k].substring(2), args[k + 1]);
+        }
+    }
+    
+    /**
+     * Get the value of an option.
+     * @param option Option name, without its leading dashes.
+     * @param defaultValue Value of the option if it was not given.
+     * @return the value of the option.
+     */
+    public String getString(String option, String defaultValue){
+        return values.getOrDefault(option, defaultValue);
+    }
+    
+    /**
+     * Get the value of an integer option.
+     * @param option Option name, without its leading dashes.
+     * @param defaultValue Value of the option if it was not given.
+     * @param min Minimum value of the option.
+     * @return the value of the option.
+     * @throws IllegalArgumentException if the value is not an integer or is lower than 
+     *     {@code min}.
+     */
+    public int getInt(String option, int defaultValue, int min){
+        String value = values.get(option);
+        if (value == null){
+            return defaultValue;
+        }
+        int result;
+        try {
+            result = Integer.parseInt(value);
+        } catch (NumberFormatException e){
+            throw new IllegalArgumentException("invalid value for --" + option + ": " + value, e);
+        }
+        if (result < min){
+            throw new IllegalArgumentException("invalid value for --" + option + ": " + value);
+        }
+        return result;
+    }
+}
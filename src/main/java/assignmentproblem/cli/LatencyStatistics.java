@@ -0,0 +1,74 @@
+package assignmentproblem.cli;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Thread-safe recorder of operation latencies, reporting throughput and percentiles.
+ */
+public class LatencyStatistics {
+    private long[] latencies = new long[1024];
+    private int count = 0;
+    private final long start;
+
+    /**
+     * Initialise an empty recorder. The throughput is measured from this call.
+     */
+    public LatencyStatistics(){
+        start = System.nanoTime();
+    }
+
+    /**
+     * Record the latency of an operation.
+     * @param nanos Latency of the operation, in nanoseconds.
+     */
+    public synchronized void record(long nanos){
+        if (count == latencies.length){
+            latencies = Arrays.copyOf(latencies, 2 * count);
+        }
+        latencies[count++] = nanos;
+    }
+
+    /**
+     * Get the number of recorded operations.
+     * @return the number of calls to {@link #record(long)}.
+     */
+    public synchronized int getCount(){
+        return count;
+    }
+
+    /**
+     * Compute a percentile of the recorded latencies with the nearest-rank method.
+     * @param percentile Percentile to compute, between 0 exclusive and 100 inclusive.
+     * @return the latency in nanoseconds such that {@code percentile} percent of the recorded 
+     *     latencies are not greater, or 0 if no latency was recorded.
+     */
+    public synchronized long getPercentile(double percentile){
+        if (!(percentile > 0 && percentile <= 100)){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to compute the " + percentile 
+                + "th percentile");
+        }
+        if (count == 0){
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    /**
+     * Summarise the recorded operations.
+     * @param operation Name of the recorded operations, in the plural.
+     * @return a one-line summary with the throughput since the creation of the recorder and the 
+     *     main latency percentiles.
+     */
+    public synchronized String summary(String operation){
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return String.format(Locale.ROOT, "%d %s in %.3f s (%.1f/s), latency p50 %.3f ms, "
+            + "p90 %.3f ms, p99 %.3f ms, max %.3f ms", count, operation, seconds, count / seconds,
+            getPercentile(50) / 1e6, getPercentile(90) / 1e6, getPercentile(99) / 1e6, 
+            getPercentile(100) / 1e6);
+    }
+}
@@ -0,0 +1,179 @@
+package assignmentproblem.cli;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Formats of the streams of problems read and of results written by the {@link BatchRunner}.
+ * 
+ * <p>In both formats, the result of a problem is the column assigned to each of its rows, or -1 if
+ * the row is not assigned.
+ */
+public enum ProblemFormat {
+    /**
+     * Text format. Each line of a problem is a row of comma-separated costs, and problems are 
+     * separated by blank lines. Lines starting with {@code #} are ignored. Each result is written
+     * on its own line as comma-separated column indices.
+     */
+    CSV {
+        @Override
+        ProblemReader reader(InputStream input) {
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8));
+            return () -> {
+                List<int[]> rows = new ArrayList<>();
+                String line;
+                while ((line = reader.readLine()) != null){
+                    line = line.trim();
+                    if (line.startsWith("#")){
+                        continue;
+                    }
+                    if (line.isEmpty()){
+                        if (rows.isEmpty()){
+                            continue;
+                        }
+                        break;
+                    }
+                    String[] cells = line.split(",");
+                    int[] row = new int[cells.length];
+                    for (int j = 0; j < cells.length; j++){
+                        try {
+                            row[j] = Integer.parseInt(cells[j].trim());
+                        } catch (NumberFormatException e){
+                            throw new IOException("Invalid cost \"" + cells[j].trim() + "\"", e);
+                        }
+                    }
+                    rows.add(row);
+                }
+                return rows.isEmpty() ? null : rows.toArray(new int[0][]);
+            };
+        }
+
+        @Override
+        ResultWriter writer(OutputStream output) {
+            Writer writer = new BufferedWriter(
+                new OutputStreamWriter(output, StandardCharsets.UTF_8));
+            return new ResultWriter(){
+                @Override
+                public void write(int[] assignments) throws IOException {
+                    for (int i = 0; i < assignments.length; i++){
+                        if (i > 0){
+                            writer.write(',');
+                        }
+                        writer.write(Integer.toString(assignments[i]));
+                    }
+                    writer.write('\n');
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    writer.flush();
+                }
+            };
+        }
+    },
+    /**
+     * Binary format made of big-endian 32-bit integers. Each problem is its number of rows and of
+     * columns followed by its costs, row by row, of at most {@link #MAX_CELLS} cells. Each result 
+     * is its number of rows followed by the column indices.
+     */
+    BINARY {
+        @Override
+        ProblemReader reader(InputStream input) {
+            DataInputStream data = new DataInputStream(input);
+            return () -> {
+                int nRows;
+                try {
+                    nRows = data.readInt();
+                } catch (EOFException e){
+                    return null;
+                }
+                int nCols = data.readInt();
+                if (nRows <= 0 || nCols <= 0 || (long) nRows * nCols > MAX_CELLS){
+                    throw new IOException("Invalid problem size " + nRows + "*" + nCols);
+                }
+                int[][] costs = new int[nRows][nCols];
+                for (int[] row : costs){
+                    for (int j = 0; j < nCols; j++){
+                        row[j] = data.readInt();
+                    }
+                }
+                return costs;
+            };
+        }
+
+        @Override
+        ResultWriter writer(OutputStream output) {
+            DataOutputStream data = new DataOutputStream(output);
+            return new ResultWriter(){
+                @Override
+                public void write(int[] assignments) throws IOException {
+                    data.writeInt(assignments.length);
+                    for (int assignment : assignments){
+                        data.writeInt(assignment);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    data.flush();
+                }
+            };
+        }
+    };
+
+    /** Maximum number of cells of a binary problem, checked before allocating its matrix. */
+    static final int MAX_CELLS = 1 << 24;
+
+    /**
+     * Create a reader of problems in this format.
+     * @param input Stream to read the problems from.
+     * @return a reader of the problems of the stream.
+     */
+    abstract ProblemReader reader(InputStream input);
+
+    /**
+     * Create a writer of results in this format.
+     * @param output Stream to write the results to.
+     * @return a writer of results to the stream.
+     */
+    abstract ResultWriter writer(OutputStream output);
+
+    /** Source of problems. */
+    interface ProblemReader {
+        /**
+         * Read the next problem.
+         * @return the cost matrix of the next problem, or null if there is none left.
+         * @throws IOException if the stream cannot be read or does not follow the format.
+         */
+        int[][] next() throws IOException;
+    }
+
+    /** Sink of results. */
+    interface ResultWriter {
+        /**
+         * Write the result of a problem.
+         * @param assignments column assigned to each row of the problem, or -1.
+         * @throws IOException if the stream cannot be written.
+         */
+        void write(int[] assignments) throws IOException;
+
+        /**
+         * Flush the written results to the stream.
+         * @throws IOException if the stream cannot be written.
+         */
+        void flush() throws IOException;
+    }
+}
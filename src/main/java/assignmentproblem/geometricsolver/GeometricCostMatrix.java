@@ -0,0 +1,114 @@
+package assignmentproblem.geometricsolver;
+
+import assignmentproblem.CostMatrix;
+import java.util.Arrays;
+
+/**
+ * Cost matrix defined by two sets of points: cell [i][j] is the distance between the i-th row 
+ * point and the j-th column point, for a given {@link Metric}.
+ * 
+ * <p>The cells are never stored. The points are not copied: they MUST NOT be modified while the 
+ * matrix is being solved.
+ */
+public class GeometricCostMatrix extends CostMatrix {
+    final int[][] rowPoints;
+    final int[][] colPoints;
+    final Metric metric;
+    final int nRows;
+    final int nCols;
+    
+    /**
+     * Initialise a geometric cost matrix.
+     * 
+     * @param rowPoints coordinates of the points assigned as rows.
+     * @param colPoints coordinates of the points assigned as columns.
+     * @param metric distance between a row point and a column point.
+     * @throws IllegalArgumentException if a set of points is null or empty, if the points do not 
+     *     all have the same positive number of coordinates, or if the distance between two points 
+     *     may exceed {@link Integer#MAX_VALUE}.
+     */
+    public GeometricCostMatrix(int[][] rowPoints, int[][] colPoints, Metric metric){
+        super(countPoints(rowPoints, "row"), countPoints(colPoints, "column"));
+        if (metric == null){
+            //TODO log this properly
+            throw new NullPointerException("Tried to initialise a geometric cost matrix with a "
+                + "null metric");
+        }
+        this.rowPoints = rowPoints;
+        this.colPoints = colPoints;
+        this.metric = metric;
+        nRows = rowPoints.length;
+        nCols = colPoints.length;
+        checkExtent();
+    }
+    
+    /**
+     * Count a set of points.
+     * @param points set of points.
+     * @param name name of the set, used in error messages.
+     * @return the number of points.
+     */
+    private static int countPoints(int[][] points, String name){
+        if (points == null){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a geometric cost matrix with "
+                + "null " + name + " points");
+        }
+        return points.length;
+    }
+    
+    /**
+     * Check that all points have the same number of coordinates and that the distance between 
+     * the farthest corners of their bounding box is a valid cost.
+     */
+    private void checkExtent(){
+        int dimensions = rowPoints[0] == null ? 0 : rowPoints[0].length;
+        long[] mins = new long[dimensions];
+        long[] maxs = new long[dimensions];
+        Arrays.fill(mins, Long.MAX_VALUE);
+        Arrays.fill(maxs, Long.MIN_VALUE);
+        for (int[][] points : new int[][][]{rowPoints, colPoints}){
+            for (int p = 0; p < points.length; p++){
+                if (points[p] == null || points[p].length != dimensions || dimensions == 0){
+                    //TODO log this properly
+                    throw new IllegalArgumentException("Tried to initialise a geometric cost "
+                        + "matrix where point " + p + " does not have " + dimensions 
+                        + " coordinates");
+                }
+                for (int k = 0; k < dimensions; k++){
+                    mins[k] = Math.min(mins[k], points[p][k]);
+                    maxs[k] = Math.max(maxs[k], points[p][k]);
+                }
+            }
+        }
+        double total = 0;
+        for (int k = 0; k < dimensions; k++){
+            double extent = maxs[k] - mins[k];
+            total += metric == Metric.MANHATTAN ? extent : extent * extent;
+        }
+        if ((metric == Metric.MANHATTAN ? total : Math.sqrt(total)) > Integer.MAX_VALUE){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a geometric cost matrix where "
+                + "distances may exceed " + Integer.MAX_VALUE);
+        }
+    }
+    
+    /**
+     * Compute the cost of a cell.
+     * @param i index of the row point.
+     * @param j index of the column point.
+     * @return the distance between the two points.
+     */
+    public int getCost(int i, int j){
+        return metric.cost(rowPoints[i], colPoints[j]);
+    }
+    
+    /**
+     * Create a transposed view of the cost matrix, sharing its points.
+     * Cell [i][j] of the first corresponds to cell [j][i] of the second.
+     * @return A new cost matrix where the rows and columns have been switched.
+     */
+    GeometricCostMatrix transpose(){
+        return new GeometricCostMatrix(colPoints, rowPoints, metric);
+    }
+}
@@ -0,0 +1,399 @@
+package assignmentproblem.geometricsolver;
+
+import assignmentproblem.ArrayResult;
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implementation of the {@link Solver} interface for assignment problems whose costs are the 
+ * distances between two sets of points, see {@link GeometricCostMatrix}.
+ * 
+ * <p>Far apart points are rarely assigned to one another, so the solver only considers candidate 
+ * edges: each row point starts with its nearest column points, found with a {@link KdTree} over 
+ * the larger set. Rows are assigned with shortest augmenting paths (Dijkstra's algorithm on the 
+ * reduced costs defined by row and column potentials) through the candidate edges. The potentials 
+ * are a feasible dual solution of the complete problem throughout the solve: a lower bound of the 
+ * reduced costs of the edges outside the candidates of each row is checked by every search 
+ * reaching the row, and the row only gets more nearest column points when this bound could be on 
+ * a shortest path. The assignment is thus provably optimal, and memory is O(n+m) plus the 
+ * candidate edges instead of the O(n*m) of a dense cost matrix.
+ * 
+ * <p>This class is thread-safe.
+ */
+public class GeometricSolver implements Solver<GeometricCostMatrix> {
+    /** Number of nearest column points initially given to each row point by default. */
+    public static final int DEFAULT_CANDIDATES = 8;
+    private final Integer unassigned;
+    private final int candidates;
+    
+    /**
+     * Initialise a GeometricSolver ready to solve assignment problems, with 
+     * {@value #DEFAULT_CANDIDATES} initial candidates per row.
+     * @param unassigned Default value for unassigned rows and columns.
+     */
+    public GeometricSolver(Integer unassigned){
+        this(unassigned, DEFAULT_CANDIDATES);
+    }
+    
+    /**
+     * Initialise a GeometricSolver ready to solve assignment problems.
+     * @param unassigned Default value for unassigned rows and columns.
+     * @param candidates Number of nearest column points initially given to each row point. 
+     *     Larger values make extra rounds less likely but each round slower.
+     * @throws IllegalArgumentException if the number of candidates is not positive.
+     */
+    public GeometricSolver(Integer unassigned, int candidates){
+        if (candidates <= 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a geometric solver with " 
+                + candidates + " candidates per row");
+        }
+        this.unassigned = unassigned;
+        this.candidates = candidates;
+    }
+
+    @Override
+    public Result solve(GeometricCostMatrix costMatrix) {
+        return solve(costMatrix, () -> false);
+    }
+
+    @Override
+    public Result solve(GeometricCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        //match every row of a horizontal matrix
+        boolean transpose = costMatrix.nRows > costMatrix.nCols;
+        GeometricCostMatrix toSolve = transpose ? costMatrix.transpose() : costMatrix;
+        int[] rowMatches = new SparseSolver(toSolve, candidates, cancelled).solve();
+        Integer[] rows = new Integer[toSolve.nRows];
+        Integer[] cols = new Integer[toSolve.nCols];
+        Arrays.fill(cols, unassigned);
+        for (int i = 0; i < rows.length; i++){
+            rows[i] = rowMatches[i];
+            cols[rowMatches[i]] = i;
+        }
+        return transpose ? new ArrayResult(cols, rows, unassigned)
+            : new ArrayResult(rows, cols, unassigned);
+    }
+
+    /**
+     * Solves an assignment problem with a cost matrix already stored in memory, with a 
+     * {@link HungarianSolver} since there are no points to index.
+     * @param costMatrix Cost matrix representing to problem to solve.
+     * @return the {@link Result} object wrapping the solution to the problem.
+     * @throws IllegalArgumentException If the cost matrix is invalid.
+     */
+    @Override
+    public Result solve(int[][] costMatrix) {
+        return new HungarianSolver(unassigned).solve(costMatrix);
+    }
+    
+    /**
+     * State of the solve of a single horizontal geometric cost matrix.
+     * 
+     * <p>The reduced costs of all edges, candidate or not, are kept non-negative. The potential of 
+     * column j is stored as a price, its opposite, so that the reduced cost of edge (i, j) is its 
+     * cost minus the potential of row i plus the price of column j. Prices start at 0 and only 
+     * increase. The candidates of each row include its k nearest column points by cost plus 
+     * price, so the cost plus price of the other columns is at least the largest one among these 
+     * k when they were found. When a search reaches a row, the bound it gives on the reduced costs 
+     * of the edges outside the candidates is queued as a growth event of the row: if it is 
+     * dequeued before a free column, some of these edges may lie on the shortest augmenting path: 
+     * the nearest column points of the row are found again with the current prices, twice as many 
+     * if the new bound is still reached, and the row is scanned again. Otherwise the augmentation 
+     * keeps the bound non-negative.
+     */
+    private static final class SparseSolver {
+        private static final int NONE = -1;
+        private final GeometricCostMatrix costMatrix;
+        private final int nRows;
+        private final int nCols;
+        private final KdTree tree;
+        private final BooleanSupplier cancelled;
+        /** Number of nearest column points among the candidates of each row. */
+        private final int[] nearestCounts;
+        /** Lower bound of the cost plus price of the columns outside the candidates of each row. */
+        private final long[] nearestBounds;
+        private final int[][] candidateCols;
+        private final int[][] candidateCosts;
+        private final long[] rowPotentials;
+        private final long[] colPrices;
+        private final int[] rowMatches;
+        private final int[] colMatches;
+        /** Distance of each column from the root of the current search. */
+        private final long[] distances;
+        /** Distance of each row scanned by the current search from its root. */
+        private final long[] rowDistances;
+        /** Row from which each column was reached in the current search. */
+        private final int[] previousRows;
+        /** Search in which the distance of each column was last set. */
+        private final int[] reached;
+        /** Search in which each column was last settled. */
+        private final int[] settled;
+        private final int[] settledCols;
+        /** Stamp of the last candidate merge in which each column was seen. */
+        private final int[] seen;
+        private final ColumnQueue queue = new ColumnQueue();
+        private int search = 0;
+        private int merge = 0;
+        private int settledCount;
+        /** Number of price increases since the offsets of the tree were last updated. */
+        private int priceIncreases = 0;
+        
+        SparseSolver(GeometricCostMatrix costMatrix, int candidates, BooleanSupplier cancelled){
+            this.costMatrix = costMatrix;
+            nRows = costMatrix.nRows;
+            nCols = costMatrix.nCols;
+            tree = new KdTree(costMatrix.colPoints, costMatrix.metric);
+            this.cancelled = cancelled;
+            nearestCounts = new int[nRows];
+            nearestBounds = new long[nRows];
+            candidateCols = new int[nRows][];
+            candidateCosts = new int[nRows][];
+            rowPotentials = new long[nRows];
+            colPrices = new long[nCols];
+            rowMatches = new int[nRows];
+            colMatches = new int[nCols];
+            distances = new long[nCols];
+            rowDistances = new long[nRows];
+            previousRows = new int[nCols];
+            reached = new int[nCols];
+            settled = new int[nCols];
+            settledCols = new int[nCols];
+            seen = new int[nCols];
+            Arrays.fill(rowMatches, NONE);
+            Arrays.fill(colMatches, NONE);
+            for (int i = 0; i < nRows; i++){
+                candidateCols[i] = new int[0];
+                candidateCosts[i] = new int[0];
+                growNearest(i, Math.min(candidates, nCols));
+            }
+        }
+        
+        /**
+         * Find an optimal assignment of all rows.
+         * @return the column assigned to each row.
+         */
+        int[] solve(){
+            //row reduction: the potential of each row is the cost of its nearest column point, 
+            //which is then assigned if it is still free
+            for (int i = 0; i < nRows; i++){
+                int nearest = 0;
+                for (int c = 1; c < candidateCosts[i].length; c++){
+                    if (candidateCosts[i][c] < candidateCosts[i][nearest]){
+                        nearest = c;
+                    }
+                }
+                rowPotentials[i] = candidateCosts[i][nearest];
+                int j = candidateCols[i][nearest];
+                if (colMatches[j] == NONE){
+                    rowMatches[i] = j;
+                    colMatches[j] = i;
+                }
+            }
+            for (int root = 0; root < nRows; root++){
+                if (rowMatches[root] != NONE){
+                    continue;
+                }
+                if (cancelled.getAsBoolean()){
+                    throw new SolverCancelledException("solve cancelled after " + root + " of " 
+                        + nRows + " rows");
+                }
+                augment(root);
+            }
+            return rowMatches;
+        }
+        
+        /**
+         * Assign a row along a shortest augmenting path, keeping the reduced costs of all edges 
+         * non-negative and zero on the assigned edges.
+         * @param root unassigned row.
+         */
+        private void augment(int root){
+            search++;
+            queue.clear();
+            settledCount = 0;
+            scan(root, 0);
+            int free = NONE;
+            long freeDistance = 0;
+            while (free == NONE){
+                long distance = queue.peekDistance();
+                int entry = queue.poll();
+                if (entry < 0){
+                    //growth event: the edges of the row outside its candidates may be reached
+                    int i = -1 - entry;
+                    //prices may have increased since the nearest columns were found
+                    growNearest(i, nearestCounts[i]);
+                    if (rowDistances[i] - rowPotentials[i] + nearestBounds[i] <= distance){
+                        growNearest(i, (int) Math.min(nCols, 2L * nearestCounts[i]));
+                    }
+                    scan(i, rowDistances[i]);
+                    continue;
+                }
+                int j = entry;
+                if (settled[j] == search){
+                    continue;
+                }
+                settled[j] = search;
+                settledCols[settledCount++] = j;
+                if (colMatches[j] == NONE){
+                    free = j;
+                    freeDistance = distance;
+                } else {
+                    scan(colMatches[j], distance);
+                }
+            }
+            rowPotentials[root] += freeDistance;
+            for (int s = 0; s < settledCount - 1; s++){
+                int j = settledCols[s];
+                long shift = freeDistance - distances[j];
+                colPrices[j] += shift;
+                rowPotentials[colMatches[j]] += shift;
+            }
+            priceIncreases += settledCount - 1;
+            if (priceIncreases >= nCols){
+                //tighten the bounds of the nearest column searches, in amortised O(1) time
+                tree.updateOffsets(colPrices);
+                priceIncreases = 0;
+            }
+            //shift the matches along the path
+            int j = free;
+            while (true){
+                int i = previousRows[j];
+                int previous = rowMatches[i];
+                rowMatches[i] = j;
+                colMatches[j] = i;
+                if (i == root){
+                    return;
+                }
+                j = previous;
+            }
+        }
+        
+        /**
+         * Relax the candidate edges of a row reached by the current search, and queue the growth 
+         * event of the row.
+         * @param i row.
+         * @param distance distance of the row from the root.
+         */
+        private void scan(int i, long distance){
+            rowDistances[i] = distance;
+            int[] cols = candidateCols[i];
+            int[] costs = candidateCosts[i];
+            long base = distance - rowPotentials[i];
+            for (int c = 0; c < cols.length; c++){
+                int j = cols[c];
+                if (settled[j] == search){
+                    continue;
+                }
+                long candidate = base + costs[c] + colPrices[j];
+                if (reached[j] != search || candidate < distances[j]){
+                    reached[j] = search;
+                    distances[j] = candidate;
+                    previousRows[j] = i;
+                    queue.add(candidate, j);
+                }
+            }
+            if (nearestCounts[i] < nCols){
+                queue.add(base + nearestBounds[i], -1 - i);
+            }
+        }
+        
+        /**
+         * Add the nearest column points of a row by cost plus price to its candidates.
+         * @param i row.
+         * @param count number of nearest column points to add, at least the current one.
+         */
+        private void growNearest(int i, int count){
+            merge++;
+            for (int j : candidateCols[i]){
+                seen[j] = merge;
+            }
+            int[] nearest = tree.nearest(costMatrix.rowPoints[i], count, colPrices);
+            int size = candidateCols[i].length;
+            int[] cols = Arrays.copyOf(candidateCols[i], size + count);
+            int[] costs = Arrays.copyOf(candidateCosts[i], size + count);
+            long bound = 0;
+            for (int j : nearest){
+                int cost = costMatrix.getCost(i, j);
+                bound = Math.max(bound, cost + colPrices[j]);
+                if (seen[j] != merge){
+                    cols[size] = j;
+                    costs[size++] = cost;
+                }
+            }
+            candidateCols[i] = Arrays.copyOf(cols, size);
+            candidateCosts[i] = Arrays.copyOf(costs, size);
+            nearestCounts[i] = count;
+            nearestBounds[i] = bound;
+        }
+    }
+    
+    /**
+     * Binary min-heap of columns keyed by their distance, where a column may appear several 
+     * times: the outdated entries are skipped by the search.
+     */
+    private static final class ColumnQueue {
+        private long[] distances = new long[16];
+        private int[] cols = new int[16];
+        private int size = 0;
+        
+        void clear(){
+            size = 0;
+        }
+        
+        boolean isEmpty(){
+            return size == 0;
+        }
+        
+        long peekDistance(){
+            return distances[0];
+        }
+        
+        void add(long distance, int col){
+            if (size == cols.length){
+                distances = Arrays.copyOf(distances, 2 * size);
+                cols = Arrays.copyOf(cols, 2 * size);
+            }
+            int n = size++;
+            while (n > 0 && distances[(n - 1) / 2] > distance){
+                distances[n] = distances[(n - 1) / 2];
+                cols[n] = cols[(n - 1) / 2];
+                n = (n - 1) / 2;
+            }
+            distances[n] = distance;
+            cols[n] = col;
+        }
+        
+        int poll(){
+            int result = cols[0];
+            long distance = distances[--size];
+            int col = cols[size];
+            int n = 0;
+            while (true){
+                int child = 2 * n + 1;
+                if (child >= size){
+                    break;
+                }
+                if (child + 1 < size && distances[child + 1] < distances[child]){
+                    child++;
+                }
+                if (distances[child] >= distance){
+                    break;
+                }
+                distances[n] = distances[child];
+                cols[n] = cols[child];
+                n = child;
+            }
+            distances[n] = distance;
+            cols[n] = col;
+            return result;
+        }
+    }
+}
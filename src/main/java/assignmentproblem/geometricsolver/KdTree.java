@@ -0,0 +1,221 @@
+package assignmentproblem.geometricsolver;
+
+/**
+ * Static k-d tree over a set of points, answering weighted nearest neighbour queries for a 
+ * {@link Metric}. See {@link https://en.wikipedia.org/wiki/K-d_tree}.
+ * 
+ * <p>The tree is implicit: the points are ordered so that the median of each range splits it 
+ * along the axis of its depth, the lower half holding the smaller coordinates. Building it takes 
+ * O(n*log(n)) expected time and O(n) memory.
+ * 
+ * <p>Each point has a non-negative offset added to its distance by the queries. The smallest 
+ * offset of each subtree is only updated by {@link #updateOffsets(long[])}: offsets may grow 
+ * between two updates, which only makes the queries prune fewer subtrees.
+ */
+final class KdTree {
+    private final int[][] points;
+    private final Metric metric;
+    private final int dimensions;
+    /** Indices of the points in tree order. */
+    private final int[] nodes;
+    /** Smallest offset of the points of each subtree, at the position of its root. */
+    private final long[] subtreeOffsets;
+    
+    /**
+     * Initialise a tree where all offsets are 0.
+     * @param points points to index, all with the same number of coordinates. They are not copied.
+     * @param metric distance used by the queries.
+     */
+    KdTree(int[][] points, Metric metric){
+        this.points = points;
+        this.metric = metric;
+        dimensions = points[0].length;
+        nodes = new int[points.length];
+        for (int p = 0; p < nodes.length; p++){
+            nodes[p] = p;
+        }
+        subtreeOffsets = new long[points.length];
+        build(0, nodes.length, 0);
+    }
+    
+    /**
+     * Order a range of nodes around its median along the axis of its depth, then its halves.
+     * @param low first node of the range.
+     * @param high node after the last one of the range.
+     * @param depth depth of the range in the tree.
+     */
+    private void build(int low, int high, int depth){
+        while (high - low > 1){
+            int middle = (low + high) >>> 1;
+            select(low, high, middle, depth % dimensions);
+            build(low, middle, depth + 1);
+            //iterate on the upper half instead of recursing
+            low = middle + 1;
+            depth++;
+        }
+    }
+    
+    /**
+     * Quickselect: move the node of given rank along an axis to its position in a range, with 
+     * smaller nodes before it and larger ones after it.
+     * @param low first node of the range.
+     * @param high node after the last one of the range.
+     * @param rank position of the node to place.
+     * @param axis axis along which the nodes are compared.
+     */
+    private void select(int low, int high, int rank, int axis){
+        int left = low;
+        int right = high - 1;
+        while (left < right){
+            int pivot = points[nodes[(left + right) >>> 1]][axis];
+            int i = left;
+            int j = right;
+            while (i <= j){
+                while (points[nodes[i]][axis] < pivot){
+                    i++;
+                }
+                while (points[nodes[j]][axis] > pivot){
+                    j--;
+                }
+                if (i <= j){
+                    int swap = nodes[i];
+                    nodes[i++] = nodes[j];
+                    nodes[j--] = swap;
+                }
+            }
+            if (rank <= j){
+                right = j;
+            } else if (rank >= i){
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Update the smallest offset of each subtree. Takes O(n) time.
+     * @param offsets current offset of each point.
+     */
+    void updateOffsets(long[] offsets){
+        updateOffsets(offsets, 0, nodes.length);
+    }
+    
+    private long updateOffsets(long[] offsets, int low, int high){
+        if (low >= high){
+            return Long.MAX_VALUE;
+        }
+        int middle = (low + high) >>> 1;
+        long min = Math.min(offsets[nodes[middle]], Math.min(updateOffsets(offsets, low, middle), 
+            updateOffsets(offsets, middle + 1, high)));
+        subtreeOffsets[middle] = min;
+        return min;
+    }
+    
+    /**
+     * Find the points minimising their distance to a query point plus their offset.
+     * @param query coordinates of the query point.
+     * @param k number of points to find, at most the number of points in the tree.
+     * @param offsets current offset of each point, not lower than at the last update.
+     * @return the indices of the k points with the smallest distance plus offset.
+     */
+    int[] nearest(int[] query, int k, long[] offsets){
+        NearestSearch search = new NearestSearch(query, k, offsets);
+        search.visit(0, nodes.length, 0, 0);
+        return search.indices;
+    }
+    
+    /**
+     * State of a k nearest neighbours query: a bounded max-heap of the best points found so far.
+     */
+    private final class NearestSearch {
+        private final int[] query;
+        private final int k;
+        private final long[] offsets;
+        private final long[] keys;
+        private final int[] indices;
+        /** Difference between the query and the cell being visited along each axis. */
+        private final long[] cellDeltas;
+        private int size = 0;
+        
+        NearestSearch(int[] query, int k, long[] offsets){
+            this.query = query;
+            this.k = k;
+            this.offsets = offsets;
+            keys = new long[k];
+            indices = new int[k];
+            cellDeltas = new long[dimensions];
+        }
+        
+        /**
+         * Visit a subtree.
+         * @param low first node of the subtree.
+         * @param high node after the last one of the subtree.
+         * @param depth depth of the subtree.
+         * @param total distance from the query to the cell of the subtree, accumulated over the 
+         *     differences in {@link #cellDeltas}. It is a lower bound of the distance from the 
+         *     query to the points of the subtree.
+         */
+        void visit(int low, int high, int depth, long total){
+            if (low >= high){
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            if (size == k && metric.toCost(total) + subtreeOffsets[middle] >= keys[0]){
+                return;
+            }
+            int point = nodes[middle];
+            offer(metric.cost(query, points[point]) + offsets[point], point);
+            int axis = depth % dimensions;
+            long delta = (long) query[axis] - points[point][axis];
+            //visit the near side first, then the far side with its larger distance
+            if (delta < 0){
+                visit(low, middle, depth + 1, total);
+            } else {
+                visit(middle + 1, high, depth + 1, total);
+            }
+            long previous = cellDeltas[axis];
+            long far = Math.max(previous, Math.abs(delta));
+            cellDeltas[axis] = far;
+            long farTotal = total - metric.accumulate(0, previous) + metric.accumulate(0, far);
+            if (delta < 0){
+                visit(middle + 1, high, depth + 1, farTotal);
+            } else {
+                visit(low, middle, depth + 1, farTotal);
+            }
+            cellDeltas[axis] = previous;
+        }
+        
+        private void offer(long key, int index){
+            if (size < k){
+                int n = size++;
+                while (n > 0 && keys[(n - 1) / 2] < key){
+                    keys[n] = keys[(n - 1) / 2];
+                    indices[n] = indices[(n - 1) / 2];
+                    n = (n - 1) / 2;
+                }
+                keys[n] = key;
+                indices[n] = index;
+            } else if (key < keys[0]){
+                int n = 0;
+                while (true){
+                    int child = 2 * n + 1;
+                    if (child >= k){
+                        break;
+                    }
+                    if (child + 1 < k && keys[child + 1] > keys[child]){
+                        child++;
+                    }
+                    if (keys[child] <= key){
+                        break;
+                    }
+                    keys[n] = keys[child];
+                    indices[n] = indices[child];
+                    n = child;
+                }
+                keys[n] = key;
+                indices[n] = index;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package assignmentproblem.geometricsolver;
+
+/**
+ * Distance between two points, used as the cost of assigning one to the other.
+ * 
+ * <p>Costs are integers: Euclidean distances are rounded to the nearest integer. The distance 
+ * accumulated over the axes never decreases when the difference along an axis grows, which lets 
+ * spatial indexes bound the cost of the points of a cell from the differences between the query 
+ * point and the cell along each axis.
+ */
+public enum Metric {
+    /** Sum of the absolute differences of the coordinates. */
+    MANHATTAN {
+        @Override
+        long accumulate(long total, long delta){
+            return total + Math.abs(delta);
+        }
+        
+        @Override
+        int toCost(long total){
+            return (int) total;
+        }
+    },
+    /** Square root of the sum of the squared differences of the coordinates, rounded. */
+    EUCLIDEAN {
+        @Override
+        long accumulate(long total, long delta){
+            return total + delta * delta;
+        }
+        
+        @Override
+        int toCost(long total){
+            return (int) Math.round(Math.sqrt((double) total));
+        }
+    };
+    
+    /**
+     * Add the difference along one axis to a partial distance.
+     * @param total partial distance over the previous axes, 0 for the first one.
+     * @param delta difference of the coordinates along the axis.
+     * @return the partial distance including the axis.
+     */
+    abstract long accumulate(long total, long delta);
+    
+    /**
+     * Convert a distance accumulated over all axes into a cost.
+     * @param total distance accumulated by {@link #accumulate(long, long)}.
+     * @return the cost.
+     */
+    abstract int toCost(long total);
+    
+    /**
+     * Compute the cost between two points.
+     * @param a first point.
+     * @param b second point, with the same number of coordinates.
+     * @return the distance between the points.
+     */
+    int cost(int[] a, int[] b){
+        long total = 0;
+        for (int k = 0; k < a.length; k++){
+            total = accumulate(total, (long) a[k] - b[k]);
+        }
+        return toCost(total);
+    }
+}
@@ -1,8 +1,12 @@
 package assignmentproblem.hungariansolver;
 
+import assignmentproblem.SolverCancelledException;
 import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BooleanSupplier;
 /**
  * Hungarian solver for reduced cost matrices.
  * 
@@ -11,24 +15,69 @@ import java.util.Queue;
  * The described algorithm works for horizontally rectangular matrices but this implementation is 
  * modified to rotate the matrix itself if necessary. The behaviour of the algorithm is undefined
  * if the input matrix has not been reduced before hand.
+ * 
+ * <p>The positions of the zeros of each row are indexed so that step 4 does not have to scan the 
+ * whole matrix: zeros only appear or disappear in step 6, which updates the index.
+ * 
+ * <p>The cells are altered in a working storage as narrow as their values allow, see 
+ * {@link CostRows}: the input matrix is only modified in-place when its values need 32 bits.
+ * Otherwise the narrow copy is held on top of the matrix, which trades up to 2 extra bytes per
+ * cell for faster step 6 sweeps.
+ * 
+ * <p>Step 6 handles each row independently: on large matrices, it splits the rows into tasks run
+ * by the common fork-join pool. The minimum is reduced exactly and each row is altered as it would
+ * be sequentially, so the result does not depend on the number of threads.
  */
 final class Brc2HungarianSolver extends HungarianCoreSolver {
+    /**
+     * Number of cells of a matrix from which step 6 runs in parallel, when the common fork-join
+     * pool has several threads.
+     */
+    static final int PARALLEL_THRESHOLD = 1 << 18;
+    /** Number of cells of the rows altered by a parallel task of step 6. */
+    private static final int TASK_CELLS = 1 << 15;
+    private static final int INITIAL_ZERO_CAPACITY = 4;
     private final Integer unassigned;
+    private final int parallelThreshold;
     private boolean[] coveredRows;
     private boolean[] coveredCols;
+    /** Column masks used by {@link MatrixKernels} in step 6, see {@link #alterMatrix()}. */
+    private int[] uncoveredColMasks;
+    private int[] coveredColExclusions;
+    /** Smallest uncovered value of each uncovered row, computed in step 6. */
+    private int[] rowMins;
+    /** Columns of the zeros of each row, unordered. Only the first zeroCounts[i] are valid. */
+    private int[][] zeroCols;
+    private int[] zeroCounts;
     private Integer[] starredRows;
     private Integer[] starredCols;
     private Integer[] primedRows;
     private Integer[] primedCols;
     private int numberCoveredCols;
     private HungarianCostMatrix costMatrix;
+    /** Working storage of the cells of the matrix, see {@link CostRows}. */
+    private CostRows rows;
+    /** Buffer receiving the zeros found in a row. */
+    private int[] foundZeroes;
     
     /**
      * Initialise a solver.
      * @param unassigned value used to mark unassigned rows and columns in the results.
      */
     public Brc2HungarianSolver(Integer unassigned) {
+        //a single thread would only pay for the tasks
+        this(unassigned, ForkJoinPool.getCommonPoolParallelism() > 1 
+            ? PARALLEL_THRESHOLD : Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Initialise a solver with a given threshold for running step 6 in parallel.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @param parallelThreshold number of cells of a matrix from which step 6 runs in parallel.
+     */
+    Brc2HungarianSolver(Integer unassigned, int parallelThreshold) {
         this.unassigned = unassigned;
+        this.parallelThreshold = parallelThreshold;
     }
     private Integer[] initialiseIntArray(int size, Integer value){
         Integer[] result = new Integer[size];
@@ -45,18 +94,31 @@ final class Brc2HungarianSolver extends HungarianCoreSolver {
         //assumed to have been done in preprocessing.
         //step 1 is the matrix reduction. It is assumed to have been done in preprocessing.
         this.costMatrix = costMatrix;
+        rows = CostRows.of(costMatrix);
+        foundZeroes = new int[this.costMatrix.nCols];
         coveredRows = new boolean[this.costMatrix.nRows];
         starredRows = initialiseIntArray(this.costMatrix.nRows, unassigned);
         primedRows = initialiseIntArray(this.costMatrix.nRows, unassigned);
         coveredCols = new boolean[this.costMatrix.nCols];
+        uncoveredColMasks = new int[this.costMatrix.nCols];
+        coveredColExclusions = new int[this.costMatrix.nCols];
+        rowMins = new int[this.costMatrix.nRows];
+        zeroCols = new int[this.costMatrix.nRows][];
+        zeroCounts = new int[this.costMatrix.nRows];
         starredCols = initialiseIntArray(this.costMatrix.nCols, unassigned);
         primedCols = initialiseIntArray(this.costMatrix.nCols, unassigned);
         numberCoveredCols = 0;
+        //no column is covered yet: all zeros are indexed
+        for (int i = 0; i < this.costMatrix.nRows; i++) {
+            zeroCols[i] = new int[INITIAL_ZERO_CAPACITY];
+            indexZeroes(i);
+        }
         //Step 2 : initial zero starring
         //Perform the first occurrence of step 3 along the way: cover the columns.
         for (int i = 0; i < this.costMatrix.nRows; i++) {
-            for (int j = 0; j < this.costMatrix.nCols; j++) {
-                if (this.costMatrix.costMatrix[i][j] == 0 && starredCols[j] == unassigned) {
+            for (int k = 0; k < zeroCounts[i]; k++) {
+                int j = zeroCols[i][k];
+                if (starredCols[j] == unassigned) {
                     coveredCols[j] = true;
                     numberCoveredCols++;
                     starredRows[i] = j;
@@ -66,6 +128,41 @@ final class Brc2HungarianSolver extends HungarianCoreSolver {
             }
         }
     }
+    /**
+     * Add the zeros of a row located in the uncovered columns to the zero index.
+     * @param i row to scan.
+     */
+    private void indexZeroes(int i){
+        indexZeroes(i, foundZeroes);
+    }
+    /**
+     * Add the zeros of a row located in the uncovered columns to the zero index.
+     * @param i row to scan.
+     * @param foundZeroes buffer receiving the zeros found in the row, as long as the rows.
+     */
+    private void indexZeroes(int i, int[] foundZeroes){
+        int found = rows.findZeroes(i, coveredCols, foundZeroes);
+        if (zeroCounts[i] + found > zeroCols[i].length) {
+            zeroCols[i] = Arrays.copyOf(zeroCols[i], 
+                Math.max(2 * zeroCols[i].length, zeroCounts[i] + found));
+        }
+        System.arraycopy(foundZeroes, 0, zeroCols[i], zeroCounts[i], found);
+        zeroCounts[i] += found;
+    }
+    /**
+     * Remove the zeros of a row located in the covered columns from the zero index.
+     * @param i row to filter.
+     */
+    private void unindexCoveredZeroes(int i){
+        int[] cols = zeroCols[i];
+        int kept = 0;
+        for (int k = 0; k < zeroCounts[i]; k++) {
+            if (!coveredCols[cols[k]]) {
+                cols[kept++] = cols[k];
+            }
+        }
+        zeroCounts[i] = kept;
+    }
     /**
      * Perform step 4 of the algorithm.
      * Find a noncovered zero and prime it.  If there is no starred zero in the row containing this 
@@ -82,24 +179,26 @@ final class Brc2HungarianSolver extends HungarianCoreSolver {
             if (coveredRows[i]) {
                 continue;
             }
-            for (int j = 0; j < costMatrix.nCols; j++) {
-                if (coveredCols[j] || costMatrix.costMatrix[i][j] > 0) {
-                    continue;
+            //pick the first non-covered zero of the row
+            int j = costMatrix.nCols;
+            for (int k = 0; k < zeroCounts[i]; k++) {
+                if (!coveredCols[zeroCols[i][k]]) {
+                    j = Math.min(j, zeroCols[i][k]);
                 }
+            }
+            if (j < costMatrix.nCols) {
                 //Found a non-covered zero
                 result = handleNoncoveredZero(uncoveredColumnQueue, i, j);
                 if (result != null){
                     return result;
-                } else {
-                    //row is not covered, go to next row
-                    break;
                 }
+                //otherwise the row is now covered, go to next row
             }
         }
         while (!uncoveredColumnQueue.isEmpty()){
             int j = uncoveredColumnQueue.remove();
             for (int i = 0; i < costMatrix.nRows; i++){
-                if(coveredRows[i] || costMatrix.costMatrix[i][j] > 0) {
+                if(coveredRows[i] || rows.get(i, j) > 0) {
                     continue;
                 }
                 //Found a non-covered zero
@@ -183,61 +282,147 @@ final class Brc2HungarianSolver extends HungarianCoreSolver {
      * Add the value found in Step 4 to every element of each covered row, and subtract it from 
      * every element of each uncovered column. Return to Step 4 without altering any stars, primes, 
      * or covered lines.
+     * Uncovered rows gain zeros in the uncovered columns where they reach the value, and covered 
+     * rows lose their zeros in the covered columns: the zero index is updated accordingly.
      */
     private void alterMatrix(){
+        //select the uncovered columns
+        for (int j = 0; j < costMatrix.nCols; j++){
+            uncoveredColMasks[j] = coveredCols[j] ? MatrixKernels.IGNORED : MatrixKernels.SELECTED;
+        }
+        MatrixKernels.exclusions(uncoveredColMasks, coveredColExclusions);
+        boolean parallel = (long) costMatrix.nRows * costMatrix.nCols >= parallelThreshold;
         //NB: value was not kept in step 4, we have to find it again.
+        forEachRow(parallel, (i, buffer) -> {
+            if (!coveredRows[i]) {
+                rowMins[i] = rows.maskedMin(i, coveredColExclusions);
+            }
+        });
         int min = Integer.MAX_VALUE;
-        for (int i = 0; i < costMatrix.nRows && min > 1; i++) {
-            if (coveredRows[i]) {
-                continue;
+        for (int i = 0; i < costMatrix.nRows; i++) {
+            if (!coveredRows[i]) {
+                min = Math.min(min, rowMins[i]);
             }
-            for (int j = 0; j < costMatrix.nCols; j++) {
-                if (!coveredCols[j] && costMatrix.costMatrix[i][j] < min) {
-                    min = costMatrix.costMatrix[i][j];
-                    if (min == 1){
-                        break;
-                    }
+        }
+        //covered cells grow by the minimum: widen the storage if they could overflow it
+        rows = rows.reserve(min);
+        int value = min;
+        //modify the matrix
+        forEachRow(parallel, (i, buffer) -> {
+            /* If the row is uncovered and the column is covered, or the other way around, then 
+            it's a no-op: add and subtract the same value.
+            */
+            if (!coveredRows[i]) {
+                rows.maskedSubtract(i, value, uncoveredColMasks);
+                if (rowMins[i] == value) {
+                    indexZeroes(i, buffer);
                 }
+            } else {
+                rows.invertedMaskedAdd(i, value, uncoveredColMasks);
+                unindexCoveredZeroes(i);
+            }
+        });
+    }
+    
+    /**
+     * Apply an action to every row, possibly in parallel.
+     * @param parallel true to split the rows into tasks of the common fork-join pool.
+     * @param action action to apply, which MUST only modify the state of its row.
+     */
+    private void forEachRow(boolean parallel, RowAction action){
+        if (!parallel) {
+            for (int i = 0; i < costMatrix.nRows; i++) {
+                action.apply(i, foundZeroes);
             }
+            return;
         }
-        //modify the matrix
-        for (int i = 0; i < costMatrix.nRows; i++) {
-            for (int j = 0; j < costMatrix.nCols; j++) {
-                if (!coveredRows[i]) {
-                    /* If the row is uncovered and the column is covered, 
-                then it's a no-op: add and subtract the same value.
-                     */
-                    if (!coveredCols[j]) {
-                        costMatrix.costMatrix[i][j] -= min;
-                    }
-                } else if (coveredCols[j]) {
-                    costMatrix.costMatrix[i][j] += min;
+        int grain = Math.max(1, TASK_CELLS / costMatrix.nCols);
+        ForkJoinPool.commonPool().invoke(new RowTask(action, 0, costMatrix.nRows, grain));
+    }
+    
+    /** Action of step 6 on a single row. */
+    private interface RowAction {
+        /**
+         * Apply the action to a row.
+         * @param i row to handle.
+         * @param buffer buffer for the zeros of the row, as long as the rows, owned by the caller.
+         */
+        void apply(int i, int[] buffer);
+    }
+    
+    /** Fork-join task applying a {@link RowAction} to a range of rows. */
+    private final class RowTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final transient RowAction action;
+        private final int start;
+        private final int end;
+        private final int grain;
+        
+        RowTask(RowAction action, int start, int end, int grain){
+            this.action = action;
+            this.start = start;
+            this.end = end;
+            this.grain = grain;
+        }
+        
+        @Override
+        protected void compute(){
+            if (end - start <= grain) {
+                int[] buffer = new int[costMatrix.nCols];
+                for (int i = start; i < end; i++) {
+                    action.apply(i, buffer);
                 }
+                return;
             }
+            int middle = (start + end) >>> 1;
+            invokeAll(new RowTask(action, start, middle, grain), 
+                new RowTask(action, middle, end, grain));
+        }
+    }
+    
+    /**
+     * Stop the solve if it has been cancelled.
+     * @param cancelled Cancellation token of the solve.
+     */
+    private void checkCancelled(BooleanSupplier cancelled){
+        if (cancelled.getAsBoolean()){
+            //protect internal state from accidental reuse.
+            starredRows = null;
+            starredCols = null;
+            rows = null;
+            throw new SolverCancelledException("solve cancelled with " + numberCoveredCols 
+                + " of " + costMatrix.nRows + " columns covered");
         }
     }
     
     @Override
-    public HungarianResult apply(HungarianCostMatrix inputMatrix) {
+    HungarianResult apply(HungarianCostMatrix inputMatrix, BooleanSupplier cancelled) {
         initialiseState(inputMatrix);
+        augmentations = 0;
+        matrixAlterations = 0;
         while (numberCoveredCols < costMatrix.nRows) {
             //This loop represents step 3
+            checkCancelled(cancelled);
             //First, perform step 4
             int[] position = primeZeroes();
             while (position == null){
                 //perform step 6 if a position could not be found
                 alterMatrix();
+                matrixAlterations++;
+                checkCancelled(cancelled);
                 //Then, go back to step 4
                 position = primeZeroes();
             }
             //When a satisfactory uncovered zero has been found, perform step 5
             invertPrimedAndStarred(position);
+            augmentations++;
         }
         //format result
         HungarianResult result = new HungarianResult(starredRows, starredCols, unassigned);
         //protect result from accidental modification.
         starredRows = null;
         starredCols = null;
+        rows = null;
         return result;
     }
 
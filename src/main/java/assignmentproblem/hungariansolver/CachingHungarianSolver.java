@@ -0,0 +1,224 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Caching layer in front of a {@link HungarianSolver}.
+ * 
+ * <p>Results are cached by content of the cost matrix, as it is before the solver reduces it 
+ * in-place, so that solving an identical matrix again returns the cached {@link Result} without
+ * solving it. The cache is bounded both by number of entries and by an estimation of the memory 
+ * they use; the least recently used entries are evicted first. Each entry keeps a copy of its 
+ * cost matrix so that a hash collision can never return the result of another problem.
+ * 
+ * <p>This class is thread-safe. Concurrent solves of the same matrix that all miss the cache are 
+ * all solved by the underlying solver.
+ */
+public class CachingHungarianSolver implements Solver<HungarianCostMatrix> {
+    /** Estimated memory overhead of a cache entry besides its matrix and its result. */
+    private static final long ENTRY_OVERHEAD = 128;
+    private final HungarianSolver solver;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<MatrixKey, CachedResult> cache = 
+        new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes = 0;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    /**
+     * Initialise a caching solver.
+     * @param solver Solver used on cache misses.
+     * @param maxEntries Maximum number of results kept in the cache.
+     * @param maxBytes Maximum estimated memory used by the cached matrices and results. A result 
+     *     larger than this limit on its own is not cached.
+     * @throws IllegalArgumentException if either limit is negative.
+     */
+    public CachingHungarianSolver(HungarianSolver solver, int maxEntries, long maxBytes){
+        if (solver == null){
+            throw new NullPointerException("tried to cache a null solver");
+        }
+        if (maxEntries < 0 || maxBytes < 0){
+            throw new IllegalArgumentException("Tried to initialise a cache with negative limits: "
+                + maxEntries + " entries and " + maxBytes + " bytes");
+        }
+        this.solver = solver;
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+    
+    @Override
+    public Result solve(HungarianCostMatrix costMatrix) {
+        return solve(costMatrix, HungarianCoreSolver.NEVER_CANCELLED);
+    }
+    
+    @Override
+    public Result solve(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        MatrixKey key = new MatrixKey(costMatrix.contentHash(), costMatrix.costMatrix);
+        synchronized (cache){
+            CachedResult cached = cache.get(key);
+            if (cached != null){
+                hits.increment();
+                return cached.result;
+            }
+        }
+        misses.increment();
+        //the solver reduces the matrix in-place: snapshot it first
+        MatrixKey snapshot = new MatrixKey(key.hash, copy(costMatrix));
+        Result result = solver.solve(costMatrix, cancelled);
+        store(snapshot, new CachedResult(result, estimateBytes(costMatrix)));
+        return result;
+    }
+
+    @Override
+    public Result solve(int[][] costMatrix) {
+        return this.solve(new HungarianCostMatrix(costMatrix));
+    }
+    
+    /**
+     * Add a result to the cache and evict the least recently used entries exceeding the limits.
+     * @param key Key of the result.
+     * @param value Result to cache.
+     */
+    private void store(MatrixKey key, CachedResult value){
+        if (value.bytes > maxBytes || maxEntries == 0){
+            return;
+        }
+        synchronized (cache){
+            CachedResult previous = cache.put(key, value);
+            usedBytes += value.bytes;
+            if (previous != null){
+                usedBytes -= previous.bytes;
+            }
+            Iterator<Map.Entry<MatrixKey, CachedResult>> iterator = cache.entrySet().iterator();
+            while (cache.size() > maxEntries || usedBytes > maxBytes){
+                usedBytes -= iterator.next().getValue().bytes;
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+    
+    private static int[][] copy(HungarianCostMatrix costMatrix){
+        int[][] copy = new int[costMatrix.nRows][];
+        for (int i = 0; i < costMatrix.nRows; i++){
+            copy[i] = costMatrix.costMatrix[i].clone();
+        }
+        return copy;
+    }
+    
+    /**
+     * Estimate the memory used by a cache entry.
+     * @param costMatrix Cost matrix of the entry.
+     * @return An estimation in bytes of the memory used by the copy of the matrix and the result.
+     */
+    private static long estimateBytes(HungarianCostMatrix costMatrix){
+        long matrixBytes = costMatrix.nRows * (16L + 4L * costMatrix.nCols);
+        //each assignment is a reference to a possibly boxed Integer
+        long resultBytes = 20L * (costMatrix.nRows + costMatrix.nCols);
+        return ENTRY_OVERHEAD + matrixBytes + resultBytes;
+    }
+    
+    /**
+     * Returns the number of solves answered from the cache.
+     * @return the number of cache hits since initialisation.
+     */
+    public long getHitCount(){
+        return hits.sum();
+    }
+    
+    /**
+     * Returns the number of solves delegated to the underlying solver.
+     * @return the number of cache misses since initialisation.
+     */
+    public long getMissCount(){
+        return misses.sum();
+    }
+    
+    /**
+     * Returns the number of results evicted from the cache to respect its limits.
+     * @return the number of evictions since initialisation.
+     */
+    public long getEvictionCount(){
+        return evictions.sum();
+    }
+    
+    /**
+     * Returns the number of results currently cached.
+     * @return the number of cache entries.
+     */
+    public int getSize(){
+        synchronized (cache){
+            return cache.size();
+        }
+    }
+    
+    /**
+     * Returns the estimated memory used by the cached matrices and results.
+     * @return an estimation in bytes, lower than or equal to the limit set at initialisation.
+     */
+    public long getEstimatedBytes(){
+        synchronized (cache){
+            return usedBytes;
+        }
+    }
+    
+    /** Empty the cache. The metrics are not reset. */
+    public void clear(){
+        synchronized (cache){
+            cache.clear();
+            usedBytes = 0;
+        }
+    }
+    
+    /** Key of the cache: content of a cost matrix with its precomputed hash. */
+    private static final class MatrixKey {
+        final long hash;
+        final int[][] cells;
+        
+        MatrixKey(long hash, int[][] cells){
+            this.hash = hash;
+            this.cells = cells;
+        }
+        
+        @Override
+        public int hashCode(){
+            return (int) (hash ^ (hash >>> 32));
+        }
+        
+        @Override
+        public boolean equals(Object other){
+            if (this == other){
+                return true;
+            }
+            if (!(other instanceof MatrixKey)){
+                return false;
+            }
+            MatrixKey key = (MatrixKey) other;
+            return hash == key.hash && Arrays.deepEquals(cells, key.cells);
+        }
+    }
+    
+    /** Value of the cache: a result with the estimated memory used by its entry. */
+    private static final class CachedResult {
+        final Result result;
+        final long bytes;
+        
+        CachedResult(Result result, long bytes){
+            this.result = result;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Preprocessing stage removing the columns that cannot be part of an optimal assignment.
+ *
+ * <p>In a matrix with k rows and more columns, each row is assigned to one of its k cheapest 
+ * columns in some optimal assignment: if a row is assigned elsewhere, at most k-1 other rows use 
+ * its k cheapest columns, so one of them is free and reassigning the row to it does not increase 
+ * the cost. The columns outside the union of these candidates are removed, the residual matrix of 
+ * at most k*k columns is solved with the wrapped core solver and its column indices are mapped 
+ * back to the original matrix.
+ *
+ * <p>The candidates of each row are selected with a bounded heap in O(m*log(k)) time. The stage is 
+ * skipped if the matrix does not have more than k*k columns, since the residual matrix could not be
+ * smaller.
+ */
+final class CandidateColumnHungarianSolver extends HungarianCoreSolver {
+    private final HungarianCoreSolver solver;
+    private final Integer unassigned;
+
+    /**
+     * Initialise a solver.
+     * @param solver core solver applied to the residual matrix.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    CandidateColumnHungarianSolver(HungarianCoreSolver solver, Integer unassigned){
+        this.solver = solver;
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if ((long) costMatrix.nRows * costMatrix.nRows >= costMatrix.nCols){
+            return solver.apply(costMatrix, cancelled);
+        }
+        int[] candidates = selectCandidates(costMatrix);
+        int[][] residual = new int[costMatrix.nRows][candidates.length];
+        for (int i = 0; i < costMatrix.nRows; i++){
+            int[] row = costMatrix.costMatrix[i];
+            for (int c = 0; c < candidates.length; c++){
+                residual[i][c] = row[candidates[c]];
+            }
+        }
+        HungarianResult result = solver.apply(HungarianCostMatrix.wrap(residual), cancelled);
+        Integer[] rows = new Integer[costMatrix.nRows];
+        Integer[] cols = new Integer[costMatrix.nCols];
+        Arrays.fill(cols, unassigned);
+        //there are fewer rows than columns: every row is assigned
+        for (int i = 0; i < rows.length; i++){
+            rows[i] = candidates[result.getRowAssignments().get(i)];
+        }
+        for (int c = 0; c < candidates.length; c++){
+            cols[candidates[c]] = result.getColumnAssignments().get(c);
+        }
+        return new HungarianResult(rows, cols, unassigned);
+    }
+
+    /**
+     * Select the k cheapest columns of each row.
+     * @param costMatrix cost matrix with k rows.
+     * @return the union of the candidate columns, in increasing order.
+     */
+    static int[] selectCandidates(HungarianCostMatrix costMatrix){
+        int k = costMatrix.nRows;
+        boolean[] selected = new boolean[costMatrix.nCols];
+        int[] heap = new int[k];
+        int count = 0;
+        for (int[] row : costMatrix.costMatrix){
+            //max-heap of the columns of the k cheapest cells, ties broken by column index
+            for (int j = 0; j < k; j++){
+                heap[j] = j;
+                siftUp(row, heap, j);
+            }
+            for (int j = k; j < row.length; j++){
+                if (row[j] < row[heap[0]]){
+                    heap[0] = j;
+                    siftDown(row, heap, k);
+                }
+            }
+            for (int col : heap){
+                if (!selected[col]){
+                    selected[col] = true;
+                    count++;
+                }
+            }
+        }
+        int[] candidates = new int[count];
+        int c = 0;
+        for (int j = 0; j < selected.length; j++){
+            if (selected[j]){
+                candidates[c++] = j;
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Compare two columns of a row.
+     * @return true if column {@code a} is worse than column {@code b}: more expensive, or as 
+     *     expensive with a greater index.
+     */
+    private static boolean isWorse(int[] row, int a, int b){
+        return row[a] > row[b] || (row[a] == row[b] && a > b);
+    }
+
+    private static void siftUp(int[] row, int[] heap, int position){
+        while (position > 0){
+            int parent = (position - 1) / 2;
+            if (!isWorse(row, heap[position], heap[parent])){
+                return;
+            }
+            int tmp = heap[parent];
+            heap[parent] = heap[position];
+            heap[position] = tmp;
+            position = parent;
+        }
+    }
+
+    private static void siftDown(int[] row, int[] heap, int size){
+        int position = 0;
+        while (true){
+            int worst = position;
+            int left = 2 * position + 1;
+            int right = left + 1;
+            if (left < size && isWorse(row, heap[left], heap[worst])){
+                worst = left;
+            }
+            if (right < size && isWorse(row, heap[right], heap[worst])){
+                worst = right;
+            }
+            if (worst == position){
+                return;
+            }
+            int tmp = heap[worst];
+            heap[worst] = heap[position];
+            heap[position] = tmp;
+            position = worst;
+        }
+    }
+
+    @Override
+    HandledMatrix getHandledMatrixType() {
+        return solver.getHandledMatrixType();
+    }
+}
@@ -0,0 +1,186 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Solver for the k-cardinality assignment problem: assign exactly k rows to k columns at the
+ * lowest total cost, any k of them.
+ *
+ * <p>Each augmentation follows the shortest augmenting path from any unassigned row to any
+ * unassigned column, computed with Dijkstra's algorithm on the reduced costs defined by row and
+ * column potentials, as in {@link ShortestPathHungarianSolver} but with all unassigned rows as
+ * roots. The unassigned rows thus share the same potential, at least that of any assigned row,
+ * and only assigned columns have a non-zero, negative potential: after k augmentations, the
+ * potentials prove that the k assignments are optimal among all the assignments of k pairs (see
+ * {@link https://en.wikipedia.org/wiki/Minimum-cost_flow_problem}, successive shortest paths).
+ * With n rows and m columns, the solve takes O(k*n*m) time and O(n+m) extra memory. The cheapest
+ * unassigned row of each column is kept between augmentations: the roots only cost O(m) per 
+ * augmentation plus O(n) per column whose cheapest row was just assigned.
+ *
+ * <p>Unlike the other core solvers, this solver MUST NOT be given a reduced matrix: subtracting a
+ * value from a row changes which rows are worth assigning.
+ */
+final class CardinalityHungarianSolver {
+    private static final int UNMATCHED = -1;
+    private final Integer unassigned;
+    /** Number of augmentations made by the last solve. */
+    long augmentations;
+    /** Number of potential updates made by the last solve. */
+    long matrixAlterations;
+
+    /**
+     * Initialise a solver.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    CardinalityHungarianSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    /**
+     * Assign a given number of rows at the lowest total cost.
+     * @param costMatrix cost matrix of any shape, not reduced.
+     * @param cardinality number of rows to assign, at most the number of rows and of columns.
+     * @param cancelled Cancellation token of the solve, polled before each augmentation.
+     * @return the optimal assignment of {@code cardinality} pairs.
+     * @throws SolverCancelledException If the token returned true before the solve completed.
+     */
+    HungarianResult apply(HungarianCostMatrix costMatrix, int cardinality,
+            BooleanSupplier cancelled){
+        int nRows = costMatrix.nRows;
+        int nCols = costMatrix.nCols;
+        int[][] costs = costMatrix.costMatrix;
+        //potential of the assigned rows, the unassigned rows all share freePotential
+        long[] rowPotentials = new long[nRows];
+        long freePotential = 0;
+        long[] colPotentials = new long[nCols];
+        int[] rowMatches = new int[nRows];
+        int[] colMatches = new int[nCols];
+        //cheapest unassigned row of each column, the first edge of any shortest path
+        int[] freeMinRows = new int[nCols];
+        //row from which the shortest path reaches each column
+        int[] way = new int[nCols];
+        long[] minSlacks = new long[nCols];
+        boolean[] visitedCols = new boolean[nCols];
+        int[] treeRows = new int[nRows];
+        Arrays.fill(rowMatches, UNMATCHED);
+        Arrays.fill(colMatches, UNMATCHED);
+        //all the rows are unassigned: scan them in memory order
+        int[] freeMins = costs[0].clone();
+        for (int i = 1; i < nRows; i++){
+            int[] row = costs[i];
+            for (int j = 0; j < nCols; j++){
+                if (row[j] < freeMins[j]){
+                    freeMins[j] = row[j];
+                    freeMinRows[j] = i;
+                }
+            }
+        }
+        augmentations = 0;
+        matrixAlterations = 0;
+        for (int assigned = 0; assigned < cardinality; assigned++){
+            if (cancelled.getAsBoolean()){
+                throw new SolverCancelledException("solve cancelled after " + assigned + " of "
+                    + cardinality + " assignments");
+            }
+            //all the unassigned rows are roots of the shortest path tree
+            for (int j = 0; j < nCols; j++){
+                way[j] = freeMinRows[j];
+                minSlacks[j] = costs[way[j]][j] - freePotential - colPotentials[j];
+            }
+            Arrays.fill(visitedCols, false);
+            int nTreeRows = 0;
+            int col;
+            //grow the shortest path tree until it reaches a free column
+            while (true){
+                long delta = Long.MAX_VALUE;
+                col = UNMATCHED;
+                for (int j = 0; j < nCols; j++){
+                    if (!visitedCols[j] && minSlacks[j] < delta){
+                        delta = minSlacks[j];
+                        col = j;
+                    }
+                }
+                freePotential += delta;
+                for (int r = 0; r < nTreeRows; r++){
+                    rowPotentials[treeRows[r]] += delta;
+                }
+                for (int j = 0; j < nCols; j++){
+                    if (visitedCols[j]){
+                        colPotentials[j] -= delta;
+                    } else {
+                        minSlacks[j] -= delta;
+                    }
+                }
+                matrixAlterations++;
+                if (colMatches[col] == UNMATCHED){
+                    break;
+                }
+                //continue from the row of the column
+                visitedCols[col] = true;
+                int i = colMatches[col];
+                treeRows[nTreeRows++] = i;
+                int[] row = costs[i];
+                long rowPotential = rowPotentials[i];
+                for (int j = 0; j < nCols; j++){
+                    if (visitedCols[j]){
+                        continue;
+                    }
+                    long slack = row[j] - rowPotential - colPotentials[j];
+                    if (slack < minSlacks[j]){
+                        minSlacks[j] = slack;
+                        way[j] = i;
+                    }
+                }
+            }
+            //shift the matches along the path, up to the unassigned row where it starts
+            int root = UNMATCHED;
+            while (col != UNMATCHED){
+                int i = way[col];
+                int previous = rowMatches[i];
+                rowMatches[i] = col;
+                colMatches[col] = i;
+                col = previous;
+                root = i;
+            }
+            rowPotentials[root] = freePotential;
+            for (int j = 0; j < nCols; j++){
+                if (freeMinRows[j] == root && assigned + 1 < nRows){
+                    freeMinRows[j] = cheapestFreeRow(costs, rowMatches, j);
+                }
+            }
+            augmentations++;
+        }
+        Integer[] rows = new Integer[nRows];
+        Integer[] cols = new Integer[nCols];
+        Arrays.fill(rows, unassigned);
+        Arrays.fill(cols, unassigned);
+        for (int i = 0; i < nRows; i++){
+            if (rowMatches[i] != UNMATCHED){
+                rows[i] = rowMatches[i];
+                cols[rowMatches[i]] = i;
+            }
+        }
+        return new HungarianResult(rows, cols, unassigned);
+    }
+
+    /**
+     * Find the unassigned row with the smallest cost in a column. Since the unassigned rows share 
+     * the same potential, it also has the smallest reduced cost.
+     * @param costs cost matrix.
+     * @param rowMatches column assigned to each row, or -1.
+     * @param col column to scan.
+     * @return the cheapest unassigned row. There MUST be one.
+     */
+    private static int cheapestFreeRow(int[][] costs, int[] rowMatches, int col){
+        int best = UNMATCHED;
+        for (int i = 0; i < costs.length; i++){
+            if (rowMatches[i] == UNMATCHED 
+                    && (best == UNMATCHED || costs[i][col] < costs[best][col])){
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,121 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.SolverPhaseEvent;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Solver saving its progress to a file, so that a long solve interrupted by a crash or a
+ * cancellation resumes where it stopped instead of starting over.
+ *
+ * <p>The matrix is solved with shortest augmenting paths, see
+ * {@link ShortestPathHungarianSolver}, whose state between two augmentations is the row and
+ * column potentials and the rows assigned so far. The state is checkpointed to a memory-mapped
+ * file at most once per interval, see {@link SolveCheckpoint}: each checkpoint only writes the
+ * potentials and matches changed since the previous ones, in O(n+m) time at worst against
+ * O(n*m) or more for the augmentations in between. A cancelled solve saves a checkpoint before
+ * throwing its {@link SolverCancelledException}.
+ *
+ * <p>A solve resumes from the checkpoint file if it exists, and deletes it once the matrix is
+ * solved. The file identifies its matrix by its dimensions and a hash of its costs: solving
+ * another matrix with the same file fails. An instance MUST NOT solve several matrices
+ * concurrently.
+ */
+public class CheckpointedHungarianSolver implements Solver<HungarianCostMatrix> {
+    /** Default minimum time between two checkpoints. */
+    public static final Duration DEFAULT_INTERVAL = Duration.ofSeconds(30);
+    private final Integer unassigned;
+    private final Path checkpoint;
+    private final long intervalNanos;
+
+    /**
+     * Initialise a solver saving a checkpoint every {@link #DEFAULT_INTERVAL}.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @param checkpoint file of the checkpoints.
+     */
+    public CheckpointedHungarianSolver(Integer unassigned, Path checkpoint){
+        this(unassigned, checkpoint, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * Initialise a solver.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @param checkpoint file of the checkpoints.
+     * @param interval minimum time between two checkpoints. With a zero interval, a checkpoint is
+     *     saved after every augmentation.
+     * @throws IllegalArgumentException if the interval is negative.
+     */
+    public CheckpointedHungarianSolver(Integer unassigned, Path checkpoint, Duration interval){
+        if (checkpoint == null || interval == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to initialise a checkpointed solver without a "
+                + "file or an interval");
+        }
+        if (interval.isNegative()){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a checkpointed solver with an "
+                + "interval of " + interval);
+        }
+        this.unassigned = unassigned;
+        this.checkpoint = checkpoint;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @Override
+    public Result solve(HungarianCostMatrix costMatrix){
+        return solve(costMatrix, HungarianCoreSolver.NEVER_CANCELLED);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>The matrix is not modified.
+     * @throws UncheckedIOException if the checkpoint file cannot be read or written.
+     * @throws IllegalArgumentException if the checkpoint file belongs to another matrix.
+     */
+    @Override
+    public Result solve(HungarianCostMatrix costMatrix, BooleanSupplier cancelled){
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        long hash = costMatrix.contentHash();
+        boolean transpose = costMatrix.nRows > costMatrix.nCols;
+        HungarianCostMatrix toSolve = transpose ? costMatrix.transpose() : costMatrix;
+        int[][] costs = toSolve.costMatrix;
+        ShortestPathHungarianSolver solver = new ShortestPathHungarianSolver(unassigned);
+        HungarianResult result;
+        try (SolveCheckpoint state = 
+                new SolveCheckpoint(checkpoint, toSolve.nRows, toSolve.nCols, hash, intervalNanos)){
+            SolverPhaseEvent main = 
+                SolverPhaseEvent.start(SolverPhaseEvent.CORE, toSolve.nRows, toSolve.nCols);
+            try {
+                result = solver.apply(i -> costs[i], toSolve.nRows, toSolve.nCols, cancelled, 
+                    state);
+            } catch (SolverCancelledException e){
+                state.save();
+                throw e;
+            }
+            main.finish(solver.getAugmentations(), solver.getMatrixAlterations());
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        try {
+            Files.delete(checkpoint);
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return transpose ? result.transpose() : result;
+    }
+
+    @Override
+    public Result solve(int[][] costMatrix){
+        return solve(new HungarianCostMatrix(costMatrix));
+    }
+}
@@ -0,0 +1,46 @@
+package assignmentproblem.hungariansolver;
+
+/**
+ * Core solvers available to solve a reduced cost matrix.
+ */
+public enum CoreSolverType {
+    /**
+     * Munkres' algorithm, see {@link Brc2HungarianSolver}. Efficient when the reduced matrix has 
+     * many zeros, i.e. when many costs are equal.
+     */
+    MUNKRES {
+        @Override
+        HungarianCoreSolver create(Integer unassigned) {
+            return new Brc2HungarianSolver(unassigned);
+        }
+    },
+    /**
+     * Shortest augmenting paths, see {@link ShortestPathHungarianSolver}. Efficient for matrices 
+     * with few equal costs and for highly rectangular matrices.
+     */
+    SHORTEST_PATH {
+        @Override
+        HungarianCoreSolver create(Integer unassigned) {
+            return new ShortestPathHungarianSolver(unassigned);
+        }
+    },
+    /**
+     * Cost-scaling assignment algorithm of Goldberg and Kennedy with double pushes, finishing each 
+     * phase with shortest augmenting paths, see {@link CostScalingHungarianSolver}. Its number of
+     * phases grows with the logarithm of the largest cost, which suits matrices with wide cost 
+     * ranges. It is never chosen by the default strategy.
+     */
+    COST_SCALING {
+        @Override
+        HungarianCoreSolver create(Integer unassigned) {
+            return new CostScalingHungarianSolver(unassigned);
+        }
+    };
+
+    /**
+     * Create a core solver for a single solve.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @return a new core solver.
+     */
+    abstract HungarianCoreSolver create(Integer unassigned);
+}
@@ -0,0 +1,329 @@
+package assignmentproblem.hungariansolver;
+
+/**
+ * Working storage of the rows of a reduced cost matrix altered by {@link Brc2HungarianSolver}.
+ *
+ * <p>Step 6 of Munkres' algorithm sweeps the whole matrix each time it runs, so its speed on large
+ * dense matrices is bound by memory bandwidth. Once reduced, most matrices only hold small values:
+ * {@link #of(HungarianCostMatrix)} then copies them into unsigned {@code byte} or {@code char}
+ * rows, which the sweeps of {@link MatrixKernels} read 4 or 2 times faster than {@code int} rows.
+ * Wider matrices are used in-place.
+ *
+ * <p>This trades memory for speed: the narrow rows are a copy and the {@code int} rows of the
+ * matrix stay live, since they belong to the caller and are left unmodified. The peak memory of a
+ * solve grows by 1 byte per cell for byte rows and 2 bytes per cell for char rows, that is by 25%
+ * or 50% of the matrix.
+ *
+ * <p>Step 6 adds to the covered cells, which may exceed the width of the storage:
+ * {@link #reserve(long)} promotes the rows to a wider storage before it happens.
+ */
+abstract class CostRows {
+    /** Largest value of an unsigned byte row. */
+    static final int BYTE_LIMIT = 0xFF;
+    /** Largest value of an unsigned char row. */
+    static final int CHAR_LIMIT = 0xFFFF;
+
+    final int nRows;
+    final int nCols;
+    /** Upper bound of the values of the rows. */
+    long upperBound;
+
+    private CostRows(int nRows, int nCols, long upperBound){
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.upperBound = upperBound;
+    }
+
+    /**
+     * Create the narrowest storage able to hold the values of a cost matrix.
+     * @param costMatrix reduced cost matrix.
+     * @return rows copied to a narrow storage, or rows of the matrix itself if its values are too
+     *     large.
+     */
+    static CostRows of(HungarianCostMatrix costMatrix){
+        int[][] costs = costMatrix.costMatrix;
+        int max = 0;
+        for (int[] row : costs){
+            max = Math.max(max, MatrixKernels.max(row));
+        }
+        return narrowest(costs, costMatrix.nRows, costMatrix.nCols, max);
+    }
+
+    /**
+     * Create the narrowest storage able to hold given values.
+     * @param costs values of the rows.
+     * @param nRows number of rows.
+     * @param nCols number of columns.
+     * @param max largest value the storage must hold.
+     * @return rows holding the values, {@code costs} itself if they do not fit in 16 bits.
+     */
+    private static CostRows narrowest(int[][] costs, int nRows, int nCols, long max){
+        if (max <= BYTE_LIMIT){
+            byte[][] rows = new byte[nRows][nCols];
+            for (int i = 0; i < nRows; i++){
+                for (int j = 0; j < nCols; j++){
+                    rows[i][j] = (byte) costs[i][j];
+                }
+            }
+            return new ByteRows(rows, nCols, max);
+        } else if (max <= CHAR_LIMIT){
+            char[][] rows = new char[nRows][nCols];
+            for (int i = 0; i < nRows; i++){
+                for (int j = 0; j < nCols; j++){
+                    rows[i][j] = (char) costs[i][j];
+                }
+            }
+            return new CharRows(rows, nCols, max);
+        }
+        return new IntRows(costs, nCols, max);
+    }
+
+    /**
+     * Ensure that the values can grow by a given amount, promoting them to a wider storage if
+     * need be. The upper bound of the values is raised by the amount.
+     * @param increase amount by which the values may grow.
+     * @return these rows if they can hold the grown values, or wider rows holding the same values.
+     */
+    CostRows reserve(long increase){
+        if (upperBound + increase > getLimit()){
+            //the bound may be loose: only promote if the values actually need it
+            upperBound = max();
+        }
+        upperBound += increase;
+        if (upperBound <= getLimit()){
+            return this;
+        }
+        return narrowest(toInts(), nRows, nCols, upperBound);
+    }
+
+    /**
+     * Compute the largest value of the rows.
+     * @return the largest value.
+     */
+    private long max(){
+        long max = 0;
+        for (int i = 0; i < nRows; i++){
+            for (int j = 0; j < nCols; j++){
+                max = Math.max(max, get(i, j));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Copy the values to {@code int} rows.
+     * @return the values as {@code int} rows.
+     */
+    int[][] toInts(){
+        int[][] ints = new int[nRows][nCols];
+        for (int i = 0; i < nRows; i++){
+            for (int j = 0; j < nCols; j++){
+                ints[i][j] = get(i, j);
+            }
+        }
+        return ints;
+    }
+
+    /**
+     * Get the largest value the storage can hold.
+     * @return the largest value.
+     */
+    abstract int getLimit();
+
+    /**
+     * Get the value of a cell.
+     * @param i row of the cell.
+     * @param j column of the cell.
+     * @return the value of the cell.
+     */
+    abstract int get(int i, int j);
+
+    /**
+     * Find the zeros of a row in the uncovered columns.
+     * @param i row to scan.
+     * @param coveredCols true for the covered columns.
+     * @param cols array receiving the columns of the zeros, as long as the rows.
+     * @return the number of zeros found.
+     */
+    abstract int findZeroes(int i, boolean[] coveredCols, int[] cols);
+
+    /**
+     * Compute the minimum of the selected cells of a row, see
+     * {@link MatrixKernels#maskedMin(int[], int[])}.
+     * @param i row to scan.
+     * @param exclusions exclusions of the columns to ignore.
+     * @return the smallest selected value, or {@link Integer#MAX_VALUE} if no column is selected.
+     */
+    abstract int maskedMin(int i, int[] exclusions);
+
+    /**
+     * Subtract a value from the selected cells of a row, see
+     * {@link MatrixKernels#maskedSubtract(int[], int, int[])}.
+     * @param i row to modify.
+     * @param value value to subtract, at most the selected cells.
+     * @param masks mask of the columns to modify.
+     */
+    abstract void maskedSubtract(int i, int value, int[] masks);
+
+    /**
+     * Add a value to the cells of a row that are NOT selected by a mask, see
+     * {@link MatrixKernels#invertedMaskedAdd(int[], int, int[])}. The growth MUST have been
+     * reserved with {@link #reserve(long)}.
+     * @param i row to modify.
+     * @param value value to add.
+     * @param masks mask of the columns to leave untouched.
+     */
+    abstract void invertedMaskedAdd(int i, int value, int[] masks);
+
+    /** Rows of a cost matrix used in-place. */
+    private static final class IntRows extends CostRows {
+        private final int[][] rows;
+
+        IntRows(int[][] rows, int nCols, long upperBound){
+            super(rows.length, nCols, upperBound);
+            this.rows = rows;
+        }
+
+        @Override
+        int getLimit(){
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        int get(int i, int j){
+            return rows[i][j];
+        }
+
+        @Override
+        int[][] toInts(){
+            return rows;
+        }
+
+        @Override
+        CostRows reserve(long increase){
+            //there is no wider storage: the values are assumed to fit in 32 bits
+            return this;
+        }
+
+        @Override
+        int findZeroes(int i, boolean[] coveredCols, int[] cols){
+            int[] row = rows[i];
+            int count = 0;
+            for (int j = 0; j < nCols; j++){
+                if (row[j] == 0 && !coveredCols[j]){
+                    cols[count++] = j;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        int maskedMin(int i, int[] exclusions){
+            return MatrixKernels.maskedMin(rows[i], exclusions);
+        }
+
+        @Override
+        void maskedSubtract(int i, int value, int[] masks){
+            MatrixKernels.maskedSubtract(rows[i], value, masks);
+        }
+
+        @Override
+        void invertedMaskedAdd(int i, int value, int[] masks){
+            MatrixKernels.invertedMaskedAdd(rows[i], value, masks);
+        }
+    }
+
+    /** Rows of unsigned 16-bit values. */
+    private static final class CharRows extends CostRows {
+        private final char[][] rows;
+
+        CharRows(char[][] rows, int nCols, long upperBound){
+            super(rows.length, nCols, upperBound);
+            this.rows = rows;
+        }
+
+        @Override
+        int getLimit(){
+            return CHAR_LIMIT;
+        }
+
+        @Override
+        int get(int i, int j){
+            return rows[i][j];
+        }
+
+        @Override
+        int findZeroes(int i, boolean[] coveredCols, int[] cols){
+            char[] row = rows[i];
+            int count = 0;
+            for (int j = 0; j < nCols; j++){
+                if (row[j] == 0 && !coveredCols[j]){
+                    cols[count++] = j;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        int maskedMin(int i, int[] exclusions){
+            return MatrixKernels.maskedMin(rows[i], exclusions);
+        }
+
+        @Override
+        void maskedSubtract(int i, int value, int[] masks){
+            MatrixKernels.maskedSubtract(rows[i], value, masks);
+        }
+
+        @Override
+        void invertedMaskedAdd(int i, int value, int[] masks){
+            MatrixKernels.invertedMaskedAdd(rows[i], value, masks);
+        }
+    }
+
+    /** Rows of unsigned 8-bit values. */
+    private static final class ByteRows extends CostRows {
+        private final byte[][] rows;
+
+        ByteRows(byte[][] rows, int nCols, long upperBound){
+            super(rows.length, nCols, upperBound);
+            this.rows = rows;
+        }
+
+        @Override
+        int getLimit(){
+            return BYTE_LIMIT;
+        }
+
+        @Override
+        int get(int i, int j){
+            return rows[i][j] & 0xFF;
+        }
+
+        @Override
+        int findZeroes(int i, boolean[] coveredCols, int[] cols){
+            byte[] row = rows[i];
+            int count = 0;
+            for (int j = 0; j < nCols; j++){
+                if (row[j] == 0 && !coveredCols[j]){
+                    cols[count++] = j;
+                }
+            }
+            return count;
+        }
+
+        @Override
+        int maskedMin(int i, int[] exclusions){
+            return MatrixKernels.maskedMin(rows[i], exclusions);
+        }
+
+        @Override
+        void maskedSubtract(int i, int value, int[] masks){
+            MatrixKernels.maskedSubtract(rows[i], value, masks);
+        }
+
+        @Override
+        void invertedMaskedAdd(int i, int value, int[] masks){
+            MatrixKernels.invertedMaskedAdd(rows[i], value, masks);
+        }
+    }
+}
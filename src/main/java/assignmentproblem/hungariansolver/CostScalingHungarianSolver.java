@@ -0,0 +1,298 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cost-scaling solver for cost matrices with wide cost ranges.
+ *
+ * <p>Implementation of the cost-scaling assignment algorithm (CSA) of Goldberg and Kennedy, see 
+ * {@link https://doi.org/10.1007/BF01585996}, in its double-push form. Costs are multiplied by the
+ * number of columns plus one and each scaling phase, or refine, turns the prices of the previous 
+ * phase into an epsilon-optimal assignment with an epsilon {@value #SCALING_FACTOR} times smaller,
+ * so that the assignment of the last phase, with epsilon equal to 1, is optimal. A refine starts 
+ * from an empty matching and the prices of the previous phase. A double push from an unassigned 
+ * row assigns it the column with the smallest cost plus price, evicting its previous owner, and 
+ * relabels the column so that the row is indifferent, up to epsilon, between it and its second 
+ * best column.
+ *
+ * <p>As in the refine of Orlin and Ahuja (Mathematical Programming, 1992), a row stops pushing 
+ * once the smallest cost plus price of its columns rose by more than {@value #RISE_FACTOR} times
+ * sqrt(n) times epsilon during the phase. Each price then rises by O(sqrt(n)*epsilon), which 
+ * bounds the pushes of a phase to O(n*sqrt(n)), and at most O(sqrt(n)) rows are left unassigned,
+ * as the disjoint augmenting paths between the assignments of the two phases show. Each of them 
+ * is assigned by a shortest augmenting path on the arc lengths of the epsilon-optimality 
+ * conditions, whose distances update the prices so that these conditions still hold. A phase 
+ * thus takes O(sqrt(n)*m) time for m cells, and a solve O(sqrt(n)*m*log(nC)) for a largest 
+ * cost C.
+ *
+ * <p>Rectangular matrices are made square with implicit dummy rows of zero costs, which take the
+ * columns left unassigned, so n is the number of columns. The dummy rows are not stored: their 
+ * pushes only read the prices.
+ */
+final class CostScalingHungarianSolver extends HungarianCoreSolver {
+    /** Factor by which epsilon is divided between two phases. */
+    static final int SCALING_FACTOR = 8;
+    private static final int NONE = -1;
+    /** Default rise of the best value of a row, in sqrt(n) times epsilon, before it stops. */
+    static final int RISE_FACTOR = SCALING_FACTOR + 1;
+    /** Number of pushes between two checks of the cancellation token. */
+    private static final int CANCELLATION_CHECK_PERIOD = 1 << 12;
+    private final Integer unassigned;
+    private final int riseFactor;
+    private int[][] costs;
+    private long scale;
+    private long[] prices;
+
+    /**
+     * Initialise a solver.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    CostScalingHungarianSolver(Integer unassigned){
+        this(unassigned, RISE_FACTOR);
+    }
+
+    /**
+     * Initialise a solver with a given limit on the pushes of a row.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @param riseFactor rise of the best value of a row, in sqrt(n) times epsilon, after which 
+     *     it is assigned by a shortest augmenting path. 0 assigns most rows with shortest paths.
+     */
+    CostScalingHungarianSolver(Integer unassigned, int riseFactor){
+        this.unassigned = unassigned;
+        this.riseFactor = riseFactor;
+    }
+
+    @Override
+    HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+        int nRows = costMatrix.nRows;
+        int nCols = costMatrix.nCols;
+        costs = costMatrix.costMatrix;
+        //bidders are the rows followed by the dummy rows
+        scale = nCols + 1L;
+        int maxCost = 0;
+        for (int[] row : costs){
+            for (int cost : row){
+                maxCost = Math.max(maxCost, cost);
+            }
+        }
+        prices = new long[nCols];
+        int[] colOwners = new int[nCols];
+        int[] bidderMatches = new int[nCols];
+        int[] activeBidders = new int[nCols];
+        int[] deferredBidders = new int[nCols];
+        long[] startValues = new long[nCols];
+        long[] distances = new long[nCols];
+        int[] way = new int[nCols];
+        boolean[] visitedCols = new boolean[nCols];
+        long root = (long) Math.ceil(Math.sqrt(nCols));
+        long epsilon = Math.max(1, maxCost * scale / SCALING_FACTOR);
+        int pushes = 0;
+        augmentations = 0;
+        matrixAlterations = 0;
+        try {
+            while (true){
+                checkCancelled(cancelled, epsilon);
+                //only price differences matter: keep them small
+                long minPrice = Long.MAX_VALUE;
+                for (long price : prices){
+                    minPrice = Math.min(minPrice, price);
+                }
+                for (int j = 0; j < nCols; j++){
+                    prices[j] -= minPrice;
+                }
+                for (int bidder = 0; bidder < nCols; bidder++){
+                    startValues[bidder] = bidder < nRows ? bestValue(bidder) : 0;
+                }
+                //largest rise of the best value of a row before it stops pushing
+                long maxRise = riseFactor * root * epsilon;
+                Arrays.fill(colOwners, NONE);
+                Arrays.fill(bidderMatches, NONE);
+                int active = 0;
+                int deferred = 0;
+                for (int bidder = nCols - 1; bidder >= 0; bidder--){
+                    activeBidders[active++] = bidder;
+                }
+                while (active > 0){
+                    int bidder = activeBidders[--active];
+                    //find the best and second best columns for the bidder
+                    int best = NONE;
+                    long bestValue = Long.MAX_VALUE;
+                    long secondValue = Long.MAX_VALUE;
+                    int[] row = bidder < nRows ? costs[bidder] : null;
+                    for (int j = 0; j < nCols; j++){
+                        long value = row == null ? prices[j] : row[j] * scale + prices[j];
+                        if (value < bestValue){
+                            secondValue = bestValue;
+                            bestValue = value;
+                            best = j;
+                        } else if (value < secondValue){
+                            secondValue = value;
+                        }
+                    }
+                    long limit = startValues[bidder] + maxRise;
+                    if (bestValue > limit){
+                        //left to the shortest augmenting paths
+                        deferredBidders[deferred++] = bidder;
+                        continue;
+                    }
+                    //double push: the column keeps the bidder within epsilon of its best value
+                    long target = Math.min(secondValue == Long.MAX_VALUE ? bestValue : secondValue,
+                        limit);
+                    prices[best] += target - bestValue + epsilon;
+                    int evicted = colOwners[best];
+                    colOwners[best] = bidder;
+                    bidderMatches[bidder] = best;
+                    if (evicted != NONE){
+                        bidderMatches[evicted] = NONE;
+                        activeBidders[active++] = evicted;
+                    }
+                    augmentations++;
+                    if (++pushes == CANCELLATION_CHECK_PERIOD){
+                        pushes = 0;
+                        checkCancelled(cancelled, epsilon);
+                    }
+                }
+                for (int k = 0; k < deferred; k++){
+                    checkCancelled(cancelled, epsilon);
+                    augment(deferredBidders[k], nRows, epsilon, colOwners, bidderMatches, 
+                        distances, way, visitedCols);
+                    augmentations++;
+                }
+                matrixAlterations++;
+                if (epsilon == 1){
+                    break;
+                }
+                epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+            }
+            Integer[] rows = new Integer[nRows];
+            Integer[] cols = new Integer[nCols];
+            Arrays.fill(cols, unassigned);
+            for (int i = 0; i < nRows; i++){
+                rows[i] = bidderMatches[i];
+                cols[bidderMatches[i]] = i;
+            }
+            return new HungarianResult(rows, cols, unassigned);
+        } finally {
+            costs = null;
+            prices = null;
+        }
+    }
+
+    /**
+     * Get the smallest cost plus price of the columns of a row.
+     * @param row Row of the cost matrix.
+     * @return the best value of the row at the current prices.
+     */
+    private long bestValue(int row){
+        int[] rowCosts = costs[row];
+        long best = Long.MAX_VALUE;
+        for (int j = 0; j < rowCosts.length; j++){
+            best = Math.min(best, rowCosts[j] * scale + prices[j]);
+        }
+        return best;
+    }
+
+    /**
+     * Get the cost plus price of a cell.
+     * @param bidder Row of the cost matrix, or dummy row.
+     * @param nRows Number of rows of the cost matrix.
+     * @param col Column of the cell.
+     * @return the value of the column for the bidder at the current prices.
+     */
+    private long value(int bidder, int nRows, int col){
+        return bidder < nRows ? costs[bidder][col] * scale + prices[col] : prices[col];
+    }
+
+    /**
+     * Assign an unassigned bidder with a shortest augmenting path, and raise the prices of the 
+     * columns closer than the free column reached so that every assigned bidder stays within 
+     * epsilon of its best value. The length of an arc from a bidder to a column is the value of 
+     * the column minus the value of the column of the bidder plus epsilon, non-negative by 
+     * epsilon-optimality; for the starting bidder, it is the value of the column minus its best 
+     * value.
+     * @param start Unassigned bidder.
+     * @param nRows Number of rows of the cost matrix, bidders beyond are dummy rows.
+     * @param epsilon Epsilon of the current phase.
+     * @param colOwners Bidder assigned to each column, or {@link #NONE}.
+     * @param bidderMatches Column assigned to each bidder, or {@link #NONE}.
+     * @param distances Buffer of the distance to each column.
+     * @param way Buffer of the bidder from which each column is reached.
+     * @param visitedCols Buffer of the columns whose distance is final.
+     */
+    private void augment(int start, int nRows, long epsilon, int[] colOwners, int[] bidderMatches,
+            long[] distances, int[] way, boolean[] visitedCols){
+        int nCols = colOwners.length;
+        long startValue = start < nRows ? bestValue(start) : Long.MAX_VALUE;
+        if (start >= nRows){
+            for (long price : prices){
+                startValue = Math.min(startValue, price);
+            }
+        }
+        for (int j = 0; j < nCols; j++){
+            distances[j] = value(start, nRows, j) - startValue;
+            way[j] = start;
+        }
+        Arrays.fill(visitedCols, false);
+        int free;
+        while (true){
+            int col = NONE;
+            for (int j = 0; j < nCols; j++){
+                if (!visitedCols[j] && (col == NONE || distances[j] < distances[col])){
+                    col = j;
+                }
+            }
+            if (colOwners[col] == NONE){
+                free = col;
+                break;
+            }
+            visitedCols[col] = true;
+            int owner = colOwners[col];
+            long base = distances[col] - value(owner, nRows, col) + epsilon;
+            for (int j = 0; j < nCols; j++){
+                if (!visitedCols[j]){
+                    long distance = base + value(owner, nRows, j);
+                    if (distance < distances[j]){
+                        distances[j] = distance;
+                        way[j] = owner;
+                    }
+                }
+            }
+        }
+        long length = distances[free];
+        for (int j = 0; j < nCols; j++){
+            if (visitedCols[j]){
+                prices[j] += length - distances[j];
+            }
+        }
+        int col = free;
+        while (true){
+            int bidder = way[col];
+            int previous = bidderMatches[bidder];
+            colOwners[col] = bidder;
+            bidderMatches[bidder] = col;
+            if (bidder == start){
+                return;
+            }
+            col = previous;
+        }
+    }
+
+    /**
+     * Stop the solve if it has been cancelled.
+     * @param cancelled Cancellation token of the solve.
+     * @param epsilon Epsilon of the current phase.
+     */
+    private static void checkCancelled(BooleanSupplier cancelled, long epsilon){
+        if (cancelled.getAsBoolean()){
+            throw new SolverCancelledException("solve cancelled in the scaling phase with epsilon "
+                + epsilon);
+        }
+    }
+
+    @Override
+    HandledMatrix getHandledMatrixType() {
+        return HandledMatrix.HORIZONTAL;
+    }
+}
@@ -1,5 +1,6 @@
 package assignmentproblem.hungariansolver;
 
+import java.util.Arrays;
 import java.util.function.Consumer;
 
 /**
@@ -10,21 +11,21 @@ import java.util.function.Consumer;
  * This reducer only performs the second step: it reduces the value of all columns. If the first
  * step is necessary, either a {@link G4gHungarianRowReducer} should be used before, or a
  * {@link G4gHungarianReducer} should be used instead.
+ * 
+ * <p>The matrix is swept row by row, accumulating the minimum of all columns at once, so that 
+ * memory is accessed sequentially.
  */
 final class G4gHungarianColumnReducer implements Consumer<HungarianCostMatrix> {
 
     @Override
     public void accept(HungarianCostMatrix matrix) {
-       for (int j = 0; j < matrix.nCols; j++){
-           int colMin = Integer.MAX_VALUE;
-           for (int i = 0; i < matrix.nRows; i++){
-               if (matrix.costMatrix[i][j] < colMin){
-                   colMin = matrix.costMatrix[i][j];
-               }
-           }
-           for (int i = 0; i < matrix.nRows; i++){
-               matrix.costMatrix[i][j] -= colMin;
-           }
+       int[] colMins = new int[matrix.nCols];
+       Arrays.fill(colMins, Integer.MAX_VALUE);
+       for (int i = 0; i < matrix.nRows; i++){
+           MatrixKernels.accumulateMin(matrix.costMatrix[i], colMins);
+       }
+       for (int i = 0; i < matrix.nRows; i++){
+           MatrixKernels.subtract(matrix.costMatrix[i], colMins);
        }
     }
 }
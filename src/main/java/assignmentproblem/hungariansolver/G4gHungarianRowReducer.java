@@ -13,15 +13,8 @@ final class G4gHungarianRowReducer implements Consumer<HungarianCostMatrix> {
     @Override
     public void accept(HungarianCostMatrix matrix) {
         for (int i = 0; i < matrix.nRows; i++){
-            int rowMin = Integer.MAX_VALUE;
-            for (int j = 0; j < matrix.nCols; j++){
-                if (matrix.costMatrix[i][j] < rowMin){
-                    rowMin = matrix.costMatrix[i][j];
-                }
-            }
-            for (int j = 0; j < matrix.nCols ; j++){
-                matrix.costMatrix[i][j] -= rowMin;
-            }
+            int[] row = matrix.costMatrix[i];
+            MatrixKernels.subtract(row, MatrixKernels.min(row));
         }
     }
 }
\ No newline at end of file
@@ -5,12 +5,14 @@
  */
 package assignmentproblem.hungariansolver;
 
+import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 
 /**
  * Base abstract class for core solvers.
  *<p>Some core solvers may have specific constraints on their cost matrices: they may need them to 
  * be horizontal, vertical, or square. This class defines a contract to state those constraints.
+ *<p>Core solvers MAY keep state while solving: an instance MUST NOT be used by concurrent solves.
  */
 abstract class HungarianCoreSolver implements Function<HungarianCostMatrix, HungarianResult>{
     static enum HandledMatrix{
@@ -19,6 +21,44 @@ abstract class HungarianCoreSolver implements Function<HungarianCostMatrix, Hung
         SQUARE,
         ALL
     }
+    /** Cancellation token that never cancels a solve. */
+    static final BooleanSupplier NEVER_CANCELLED = () -> false;
+    /** Number of augmentations made by the last solve, reported by solver phase events. */
+    long augmentations;
+    /** Number of matrix alterations made by the last solve, reported by solver phase events. */
+    long matrixAlterations;
+    
+    @Override
+    public HungarianResult apply(HungarianCostMatrix costMatrix){
+        return apply(costMatrix, NEVER_CANCELLED);
+    }
+    /**
+     * Solve a reduced cost matrix unless the solve is cancelled.
+     * @param costMatrix Reduced cost matrix satisfying the constraints stated by 
+     *     {@link #getHandledMatrixType()}.
+     * @param cancelled Cancellation token polled by the core solver between two steps of its main
+     *     loop.
+     * @return The assignments of the problem.
+     * @throws assignmentproblem.SolverCancelledException If the token returned true before the 
+     *     solve completed.
+     */
+    abstract HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled);
+    /**
+     * Get the number of augmentations made by the last solve: augmenting paths for Hungarian 
+     * solvers, bids for auction-like solvers.
+     * @return the number of augmentations, 0 if the solver does not count them.
+     */
+    long getAugmentations(){
+        return augmentations;
+    }
+    /**
+     * Get the number of matrix alterations made by the last solve: step 6 of Munkres' algorithm, 
+     * dual updates of shortest path solvers, or scaling phases.
+     * @return the number of matrix alterations, 0 if the solver does not count them.
+     */
+    long getMatrixAlterations(){
+        return matrixAlterations;
+    }
     /**
      * State the constraints imposed by the core solver on the cost matrix.
      * @return The type of cost matrix that the solver can handle: {@link HandledMatrix#HORIZONTAL}
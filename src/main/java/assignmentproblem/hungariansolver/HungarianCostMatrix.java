@@ -1,6 +1,8 @@
 package assignmentproblem.hungariansolver;
 
 import assignmentproblem.CostMatrix;
+import assignmentproblem.SolverPhaseEvent;
+import java.util.Arrays;
         
 /**
  * Wrapper for matrix representation of assignment costs for Hungarian solvers.
@@ -14,30 +16,45 @@ public class HungarianCostMatrix extends CostMatrix {
      * Initialise a Hungarian cost matrix.
      * 
      * @param costMatrix The input matrix must be a valid input for a 
-     *     {@link assignmentproblem.CostMatrix}.
-     * @param deepCopy true if the input matrix must be deep-copied, false otherwise.
+     *     {@link assignmentproblem.CostMatrix}. It is deep-copied.
      */
-    private HungarianCostMatrix(int[][] costMatrix, boolean deepCopy){
+    public HungarianCostMatrix(int[][] costMatrix){
         super(costMatrix);
-        if (deepCopy){
-            this.costMatrix = new int[costMatrix.length][costMatrix[0].length];
-            for (int i = 0; i < costMatrix.length; i++){
-                System.arraycopy(costMatrix[i], 0, this.costMatrix[i], 0, costMatrix[0].length);
-            }
-        } else {
-            this.costMatrix = costMatrix;
+        SolverPhaseEvent event = SolverPhaseEvent.start(SolverPhaseEvent.COPY, 
+            costMatrix.length, costMatrix[0].length);
+        this.costMatrix = new int[costMatrix.length][costMatrix[0].length];
+        for (int i = 0; i < costMatrix.length; i++){
+            System.arraycopy(costMatrix[i], 0, this.costMatrix[i], 0, costMatrix[0].length);
         }
+        event.finish();
         nRows = this.costMatrix.length;
         nCols = this.costMatrix[0].length;
     }
+    
     /**
-     * Initialise a Hungarian cost matrix.
+     * Initialise a Hungarian cost matrix around an array built by a solver, without validating or
+     * copying it.
      * 
-     * @param costMatrix The input matrix must be a valid input for a 
-     *     {@link assignmentproblem.CostMatrix}.
+     * @param costMatrix Rectangular matrix of non-negative costs, owned by the new instance.
+     * @param nRows Number of rows of the matrix.
+     * @param nCols Number of columns of the matrix.
      */
-    public HungarianCostMatrix(int[][] costMatrix){
-        this(costMatrix, true);
+    private HungarianCostMatrix(int[][] costMatrix, int nRows, int nCols){
+        super(nRows, nCols);
+        this.costMatrix = costMatrix;
+        this.nRows = nRows;
+        this.nCols = nCols;
+    }
+    
+    /**
+     * Wrap an array built by a solver, which is valid by construction, without validating or 
+     * copying it.
+     * @param costMatrix Rectangular matrix of non-negative costs, with at least one cell. It MUST 
+     *     NOT be used by the caller afterwards.
+     * @return a cost matrix backed by {@code costMatrix}.
+     */
+    static HungarianCostMatrix wrap(int[][] costMatrix){
+        return new HungarianCostMatrix(costMatrix, costMatrix.length, costMatrix[0].length);
     }
     
     /**
@@ -46,12 +63,31 @@ public class HungarianCostMatrix extends CostMatrix {
      * @return A new cost matrix where the rows and columns have been switched.
      */
     HungarianCostMatrix transpose(){
+        SolverPhaseEvent event = SolverPhaseEvent.start(SolverPhaseEvent.TRANSPOSE, nRows, nCols);
         int[][] transposed = new int[nCols][nRows];
         for (int i = 0; i < nRows; i++){
             for (int j = 0; j < nCols; j++){
                 transposed[j][i] = costMatrix[i][j];
             }
         }
-        return new HungarianCostMatrix(transposed, false);
+        event.finish();
+        return wrap(transposed);
+    }
+    
+    /**
+     * Compute a hash of the current content of the cost matrix.
+     * Two matrices with the same dimensions and the same cells have the same hash. The hash 
+     * reflects the current state of the matrix: it changes if the matrix is reduced in-place.
+     * @return A 64-bit hash of the dimensions and cells of the matrix.
+     */
+    long contentHash(){
+        long hash = nRows * 0x9E3779B97F4A7C15L + nCols;
+        for (int i = 0; i < nRows; i++){
+            hash = hash * 0xBF58476D1CE4E5B9L + Arrays.hashCode(costMatrix[i]);
+        }
+        //final avalanche so that close matrices spread over the whole range
+        hash ^= hash >>> 31;
+        hash *= 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 29);
     }
 }
@@ -1,17 +1,13 @@
 package assignmentproblem.hungariansolver;
 
-import assignmentproblem.Result;
-import java.util.Arrays;
-import java.util.Collections;
+import assignmentproblem.ArrayResult;
 import java.util.List;
 
 /**
  * Package-private implementation of the {@link assignmentproblem.Result} class used to report 
- * results in an unmodifiable way.
+ * results in an unmodifiable way, which core solvers can transpose.
  */
-class HungarianResult extends Result{
-    private final List<Integer> rows;
-    private final List<Integer> cols;
+class HungarianResult extends ArrayResult{
     /**
      * Initialise a result.
      * @param rows Row assignments to report through {@link #getRowAssignments()}.
@@ -19,9 +15,7 @@ class HungarianResult extends Result{
      * @param unassigned Default value of unassigned rows and columns.
      */
     HungarianResult(Integer[] rows, Integer[] cols, Integer unassigned){
-        super(unassigned);
-        this.rows = Collections.unmodifiableList(Arrays.asList(rows));
-        this.cols = Collections.unmodifiableList(Arrays.asList(cols));
+        super(rows, cols, unassigned);
     }
     /**
      * Private constructor used to transpose results.
@@ -30,23 +24,13 @@ class HungarianResult extends Result{
      * @param unassigned Default value of unassigned rows and columns.
      */
     private HungarianResult(List<Integer> rows, List<Integer> cols, Integer unassigned){
-        super(unassigned);
-        this.rows = rows;
-        this.cols = cols;
-    }
-    @Override
-    public List<Integer> getRowAssignments() {
-        return this.rows;
-    }
-    @Override
-    public List<Integer> getColumnAssignments() {
-        return this.cols;
+        super(rows, cols, unassigned);
     }
     /**
      * Transpose a result.
      * @return A result object whose rows are exchanged with its columns.
      */
     HungarianResult transpose(){
-        return new HungarianResult(cols, rows, unassigned);
+        return new HungarianResult(getColumnAssignments(), getRowAssignments(), unassigned);
     }
-}
\ No newline at end of file
+}
@@ -2,35 +2,80 @@ package assignmentproblem.hungariansolver;
 
 import assignmentproblem.Result;
 import assignmentproblem.Solver;
-import java.util.function.Consumer;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.SolverPhaseEvent;
+import java.time.Instant;
+import java.util.function.BooleanSupplier;
 
 /**
  * Implementation of the {@link Solver} interface based on the Hungarian algorithm. The
  * Hungarian algorithm is described here : 
  * {@link https://en.wikipedia.org/wiki/Hungarian_algorithm}.
+ * 
+ * <p>Each cost matrix is profiled to choose the reducer and the core solver applied to it, see 
+ * {@link SolverStrategy}. The default strategy solves highly rectangular matrices and matrices 
+ * with few equal costs with shortest augmenting paths or cost scaling, and other matrices with 
+ * Munkres' algorithm.
+ * If the larger dimension exceeds the square of the smaller one, the lines that cannot be part of 
+ * an optimal assignment are removed first, see {@link CandidateColumnHungarianSolver}.
+ * 
+ * <p>This class is thread-safe: a single instance can run several solves concurrently.
  */
 public class HungarianSolver implements Solver<HungarianCostMatrix>{
-    final Consumer<HungarianCostMatrix> reducer;
-    final HungarianCoreSolver solver;
+    final Integer unassigned;
+    final SolverStrategy strategy;
     
-    HungarianSolver(Consumer<HungarianCostMatrix> reducer, HungarianCoreSolver solver){
-        this.reducer = reducer;
-        this.solver = solver;
+    /**
+     * Initialise a HungarianSolver ready to solve assignment problems with the adaptive strategy.
+     * @param unassigned Default value for unassigned rows and columns.
+     */
+    public HungarianSolver(Integer unassigned){
+        this(unassigned, SolverStrategy.adaptive());
     }
+    
     /**
      * Initialise a HungarianSolver ready to solve assignment problems.
      * @param unassigned Default value for unassigned rows and columns.
+     * @param strategy Strategy choosing how to solve each cost matrix.
      */
-    public HungarianSolver(Integer unassigned){
-        this(new G4gHungarianRowReducer(), new Brc2HungarianSolver(unassigned));
+    public HungarianSolver(Integer unassigned, SolverStrategy strategy){
+        if (strategy == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to initialise a solver with a null strategy");
+        }
+        this.unassigned = unassigned;
+        this.strategy = strategy;
+    }
+    
+    /**
+     * Explain how a cost matrix would be solved.
+     * @param costMatrix Cost matrix to solve. It is not modified.
+     * @return the reducer and core solver chosen by the strategy of the solver for the matrix.
+     */
+    public SolverChoice explain(HungarianCostMatrix costMatrix){
+        return strategy.choose(MatrixProfile.of(costMatrix));
     }
 
     @Override
     public Result solve(HungarianCostMatrix costMatrix) {
+        return solve(costMatrix, HungarianCoreSolver.NEVER_CANCELLED);
+    }
+    
+    @Override
+    public Result solve(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
         if (costMatrix == null){
             //TODO log this properly
             throw new NullPointerException("tried to solve a null matrix");
         }
+        SolverChoice choice = explain(costMatrix);
+        if (choice.getReducer() == ReducerType.ROW_THEN_COLUMN 
+                && costMatrix.nRows != costMatrix.nCols){
+            //TODO log this properly
+            throw new IllegalStateException("Tried to reduce the columns of a non-square matrix");
+        }
+        HungarianCoreSolver core = choice.getCoreSolver().create(unassigned);
+        HungarianCoreSolver solver = new ZeroMatchingHungarianSolver(
+            new CandidateColumnHungarianSolver(core, unassigned), unassigned);
         HungarianCostMatrix toSolve;
         boolean transpose = false;
         switch(solver.getHandledMatrixType()){
@@ -65,8 +110,14 @@ public class HungarianSolver implements Solver<HungarianCostMatrix>{
             default:
                 throw new UnsupportedOperationException("Not implemented yet");
         }
-        reducer.accept(toSolve);
-        HungarianResult result = solver.apply(toSolve);
+        SolverPhaseEvent reduction = 
+            SolverPhaseEvent.start(SolverPhaseEvent.REDUCTION, toSolve.nRows, toSolve.nCols);
+        choice.getReducer().create().accept(toSolve);
+        reduction.finish();
+        SolverPhaseEvent main = 
+            SolverPhaseEvent.start(SolverPhaseEvent.CORE, toSolve.nRows, toSolve.nCols);
+        HungarianResult result = solver.apply(toSolve, cancelled);
+        main.finish(core.getAugmentations(), core.getMatrixAlterations());
         return transpose ? result.transpose() : result;
     }
     @Override
@@ -74,4 +125,90 @@ public class HungarianSolver implements Solver<HungarianCostMatrix>{
         return this.solve(new HungarianCostMatrix(costMatrix));
     }
     
+    /**
+     * Solves a k-cardinality assignment problem with a given cost matrix: assigns exactly
+     * {@code cardinality} rows to as many columns, choosing the rows and columns so that the total
+     * cost is minimal.
+     * <p>The matrix is solved with k shortest augmenting paths, each rooted at all the unassigned 
+     * rows at once, without reduction, see {@link CardinalityHungarianSolver}: for small k, this is
+     * far faster than a full solve. The matrix is not modified.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     * @param cardinality Number of assignments, at most the number of rows and of columns.
+     * @return the {@link Result} object wrapping the solution to the problem, where all the rows
+     *     but {@code cardinality} are unassigned.
+     * @throws IllegalArgumentException If the cardinality is negative or exceeds the number of 
+     *     rows or columns.
+     */
+    public Result solve(HungarianCostMatrix costMatrix, int cardinality){
+        return solve(costMatrix, cardinality, HungarianCoreSolver.NEVER_CANCELLED);
+    }
+    
+    /**
+     * Solve a k-cardinality problem unless the solve is cancelled, see 
+     * {@link #solve(HungarianCostMatrix, int)}. The token is polled before each augmentation, so a
+     * token that is already true stops the solve before any assignment is made.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     * @param cardinality Number of assignments, at most the number of rows and of columns.
+     * @param cancelled Cancellation token, polled by the solver: the solve is stopped as soon as it
+     *     returns true.
+     * @return the optimal assignment of {@code cardinality} pairs.
+     * @throws SolverCancelledException If the token returned true before the solve completed.
+     */
+    public Result solve(HungarianCostMatrix costMatrix, int cardinality, 
+        BooleanSupplier cancelled) throws SolverCancelledException {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        if (cardinality < 0 || cardinality > Math.min(costMatrix.nRows, costMatrix.nCols)){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to assign " + cardinality + " pairs in a "
+                + costMatrix.nRows + "x" + costMatrix.nCols + " matrix");
+        }
+        CardinalityHungarianSolver solver = new CardinalityHungarianSolver(unassigned);
+        SolverPhaseEvent main = 
+            SolverPhaseEvent.start(SolverPhaseEvent.CORE, costMatrix.nRows, costMatrix.nCols);
+        HungarianResult result = solver.apply(costMatrix, cardinality, cancelled);
+        main.finish(solver.augmentations, solver.matrixAlterations);
+        return result;
+    }
+    
+    /**
+     * Solve a k-cardinality problem unless a deadline is reached, see 
+     * {@link #solve(HungarianCostMatrix, int)}.
+     * @param costMatrix Valid cost matrix representing to problem to solve.
+     * @param cardinality Number of assignments, at most the number of rows and of columns.
+     * @param deadline Instant after which the solve is stopped.
+     * @return the optimal assignment of {@code cardinality} pairs.
+     * @throws SolverCancelledException If the deadline was reached before the solve completed.
+     */
+    public Result solve(HungarianCostMatrix costMatrix, int cardinality, Instant deadline) 
+        throws SolverCancelledException {
+        return solve(costMatrix, cardinality, () -> Instant.now().isAfter(deadline));
+    }
+    
+    /**
+     * Solve a k-cardinality problem, see {@link #solve(HungarianCostMatrix, int)}.
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}.
+     * @param cardinality Number of assignments, at most the number of rows and of columns.
+     * @return the optimal assignment of {@code cardinality} pairs.
+     */
+    public Result solve(int[][] costMatrix, int cardinality){
+        return solve(new HungarianCostMatrix(costMatrix), cardinality);
+    }
+    
+    /**
+     * Solve a cost matrix and analyse the sensitivity of its assignment to changes of its costs.
+     * The matrix is always solved with shortest augmenting paths, whose final potentials prove the
+     * optimality of the assignment, regardless of the strategy of the solver.
+     * @param costMatrix The input matrix must be a valid input for a 
+     *     {@link assignmentproblem.CostMatrix}. It is copied.
+     * @return the optimal assignment and the range of costs of each cell for which it stays 
+     *     optimal.
+     */
+    public SensitivityAnalysis analyse(int[][] costMatrix){
+        return new SensitivityAnalysis(costMatrix, unassigned);
+    }
+    
 }
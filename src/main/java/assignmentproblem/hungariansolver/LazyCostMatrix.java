@@ -0,0 +1,142 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.CostMatrix;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntBinaryOperator;
+
+/**
+ * Cost matrix whose cells are computed on demand by a cost function instead of being stored.
+ * 
+ * <p>Rows are computed whole when first read and kept in a bounded cache, from which the least 
+ * recently used row is evicted. The memory used by the matrix is thus bounded by the size of the 
+ * cache instead of growing with the number of cells. The cost function is called again for the 
+ * rows evicted from the cache: it MUST always return the same cost for the same cell, and the 
+ * costs MUST NOT be negative.
+ * 
+ * <p>A {@code LazyCostMatrix} is never modified by a solver. This class is thread-safe if the 
+ * cost function is.
+ */
+public class LazyCostMatrix extends CostMatrix {
+    /** Number of rows cached by default. */
+    public static final int DEFAULT_CACHED_ROWS = 64;
+    final int nRows;
+    final int nCols;
+    private final IntBinaryOperator costFunction;
+    private final int maxCachedRows;
+    private final LinkedHashMap<Integer, int[]> cache;
+    private long computedRows = 0;
+    
+    /**
+     * Initialise a lazy cost matrix caching {@value #DEFAULT_CACHED_ROWS} rows.
+     * @param nRows number of rows of the matrix.
+     * @param nCols number of columns of the matrix.
+     * @param costFunction function returning the cost of a cell from its row and column.
+     */
+    public LazyCostMatrix(int nRows, int nCols, IntBinaryOperator costFunction){
+        this(nRows, nCols, costFunction, DEFAULT_CACHED_ROWS);
+    }
+    
+    /**
+     * Initialise a lazy cost matrix.
+     * @param nRows number of rows of the matrix.
+     * @param nCols number of columns of the matrix.
+     * @param costFunction function returning the cost of a cell from its row and column.
+     * @param maxCachedRows maximum number of rows kept in the cache, 0 to disable the cache.
+     * @throws IllegalArgumentException if the matrix has no row or no column, or if the number of 
+     *     cached rows is negative.
+     */
+    public LazyCostMatrix(int nRows, int nCols, IntBinaryOperator costFunction, 
+            int maxCachedRows){
+        super(nRows, nCols);
+        if (costFunction == null){
+            //TODO log this properly
+            throw new NullPointerException("Tried to initialise a lazy cost matrix with a null "
+                + "cost function");
+        }
+        if (maxCachedRows < 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a lazy cost matrix caching " 
+                + maxCachedRows + " rows");
+        }
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.costFunction = costFunction;
+        this.maxCachedRows = maxCachedRows;
+        cache = new LinkedHashMap<Integer, int[]>(16, 0.75f, true){
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, int[]> eldest){
+                return size() > LazyCostMatrix.this.maxCachedRows;
+            }
+        };
+    }
+    
+    /**
+     * Get a row of the matrix, computing it if it is not cached.
+     * @param i index of the row.
+     * @return the costs of the row. The array MUST NOT be modified.
+     * @throws IllegalArgumentException if the cost function returns a negative cost.
+     */
+    int[] row(int i){
+        synchronized (cache){
+            int[] row = cache.get(i);
+            if (row == null){
+                row = computeRow(i);
+                computedRows++;
+                if (maxCachedRows > 0){
+                    cache.put(i, row);
+                }
+            }
+            return row;
+        }
+    }
+    
+    /**
+     * Compute a row of the matrix with the cost function.
+     * @param i index of the row.
+     * @return a new array with the costs of the row.
+     */
+    private int[] computeRow(int i){
+        int[] row = new int[nCols];
+        for (int j = 0; j < nCols; j++){
+            row[j] = costFunction.applyAsInt(i, j);
+            if (row[j] < 0){
+                //TODO log this properly
+                throw new IllegalArgumentException("Computed a negative cost for cell [" + i 
+                    + "][" + j + "]: " + row[j]);
+            }
+        }
+        return row;
+    }
+    
+    /**
+     * Create a transposed view of the cost matrix, with its own cache and the same cost function.
+     * Cell [i][j] of the first corresponds to cell [j][i] of the second.
+     * @return A new lazy cost matrix where the rows and columns have been switched.
+     */
+    LazyCostMatrix transpose(){
+        return new LazyCostMatrix(nCols, nRows, 
+            (i, j) -> costFunction.applyAsInt(j, i), maxCachedRows);
+    }
+    
+    /**
+     * Get the number of rows computed so far, including the rows computed again after their 
+     * eviction from the cache.
+     * @return the number of calls to the cost function divided by the number of columns.
+     */
+    public long getComputedRowCount(){
+        synchronized (cache){
+            return computedRows;
+        }
+    }
+    
+    /**
+     * Get the number of rows currently cached.
+     * @return the number of rows in the cache.
+     */
+    public int getCachedRowCount(){
+        synchronized (cache){
+            return cache.size();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implementation of the {@link Solver} interface for cost matrices computed on demand, see 
+ * {@link LazyCostMatrix}.
+ * 
+ * <p>The matrix is solved with shortest augmenting paths (see 
+ * {@link ShortestPathHungarianSolver}), which read one row at a time and never modify the matrix: 
+ * besides the row cache of the matrix, the solve only uses O(n+m) memory. Unlike 
+ * {@link HungarianSolver}, the matrix is neither reduced nor profiled, since both would compute 
+ * every cell.
+ * 
+ * <p>This class is thread-safe.
+ */
+public class LazyHungarianSolver implements Solver<LazyCostMatrix> {
+    private final Integer unassigned;
+    
+    /**
+     * Initialise a LazyHungarianSolver ready to solve assignment problems.
+     * @param unassigned Default value for unassigned rows and columns.
+     */
+    public LazyHungarianSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    public Result solve(LazyCostMatrix costMatrix) {
+        return solve(costMatrix, HungarianCoreSolver.NEVER_CANCELLED);
+    }
+
+    @Override
+    public Result solve(LazyCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to solve a null matrix");
+        }
+        //the solver assigns every row: solve horizontal matrices
+        boolean transpose = costMatrix.nRows > costMatrix.nCols;
+        LazyCostMatrix toSolve = transpose ? costMatrix.transpose() : costMatrix;
+        HungarianResult result = new ShortestPathHungarianSolver(unassigned)
+            .apply(toSolve::row, toSolve.nRows, toSolve.nCols, cancelled);
+        return transpose ? result.transpose() : result;
+    }
+
+    /**
+     * Solves an assignment problem with a cost matrix already stored in memory, with a 
+     * {@link HungarianSolver} since there is nothing to save by computing its cells lazily.
+     * @param costMatrix Cost matrix representing to problem to solve.
+     * @return the {@link Result} object wrapping the solution to the problem.
+     * @throws IllegalArgumentException If the cost matrix is invalid.
+     */
+    @Override
+    public Result solve(int[][] costMatrix) {
+        return new HungarianSolver(unassigned).solve(costMatrix);
+    }
+}
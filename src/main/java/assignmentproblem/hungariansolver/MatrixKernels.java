@@ -0,0 +1,213 @@
+package assignmentproblem.hungariansolver;
+
+/**
+ * Branch-free loops over rows of cost matrices.
+ * 
+ * <p>The reducers and core solvers spend most of their time in min, subtract and add sweeps over 
+ * {@code int} rows, some of them restricted to the columns that are (un)covered. Covered columns
+ * are selected with an integer mask instead of a branch so that each loop body is a straight
+ * sequence of arithmetic and bitwise operations, which the JIT compiler turns into SIMD 
+ * instructions (SSE, AVX2 or AVX-512 depending on the CPU).
+ * 
+ * <p>Masks contain {@link #SELECTED} for the columns an operation applies to and 
+ * {@link #IGNORED} for the others. All values of the rows MUST be greater than or equal to 0.
+ * 
+ * <p>Narrow rows of {@code byte} or {@code char} hold unsigned values, from 0 to 255 or 65535, 
+ * see {@link CostRows}: the kernels over them read and write half or a quarter of the memory. 
+ * Their callers MUST ensure that the results fit in the width of the row.
+ */
+final class MatrixKernels {
+    /** Mask value of the columns an operation applies to. */
+    static final int SELECTED = -1;
+    /** Mask value of the columns an operation ignores. */
+    static final int IGNORED = 0;
+    
+    private MatrixKernels(){}
+    
+    /**
+     * Compute the minimum of a row.
+     * @param row non-empty row.
+     * @return the smallest value of the row.
+     */
+    static int min(int[] row){
+        int min = Integer.MAX_VALUE;
+        for (int j = 0; j < row.length; j++){
+            min = Math.min(min, row[j]);
+        }
+        return min;
+    }
+    
+    /**
+     * Compute the maximum of a row.
+     * @param row non-empty row.
+     * @return the largest value of the row.
+     */
+    static int max(int[] row){
+        int max = Integer.MIN_VALUE;
+        for (int j = 0; j < row.length; j++){
+            max = Math.max(max, row[j]);
+        }
+        return max;
+    }
+    
+    /**
+     * Compute the exclusions matching a mask, for {@link #maskedMin(int[], int[])}.
+     * @param masks mask of the selected columns.
+     * @param exclusions array receiving 0 for the selected columns and {@link Integer#MAX_VALUE} 
+     *     for the ignored ones, as long as {@code masks}.
+     */
+    static void exclusions(int[] masks, int[] exclusions){
+        for (int j = 0; j < masks.length; j++){
+            exclusions[j] = ~masks[j] & Integer.MAX_VALUE;
+        }
+    }
+    
+    /**
+     * Compute the minimum of the selected cells of a row.
+     * @param row row of non-negative values.
+     * @param exclusions exclusions of the columns to ignore, as computed by 
+     *     {@link #exclusions(int[], int[])}. Ignored cells are raised to {@link Integer#MAX_VALUE}
+     *     since values are non-negative.
+     * @return the smallest selected value, or {@link Integer#MAX_VALUE} if no column is selected.
+     */
+    static int maskedMin(int[] row, int[] exclusions){
+        int min = Integer.MAX_VALUE;
+        for (int j = 0; j < row.length; j++){
+            min = Math.min(min, row[j] | exclusions[j]);
+        }
+        return min;
+    }
+    
+    /**
+     * Update the running minimum of each column with a row.
+     * @param row row of the matrix.
+     * @param mins running minima, as long as the row.
+     */
+    static void accumulateMin(int[] row, int[] mins){
+        for (int j = 0; j < row.length; j++){
+            mins[j] = Math.min(mins[j], row[j]);
+        }
+    }
+    
+    /**
+     * Subtract a value from all the cells of a row.
+     * @param row row to modify.
+     * @param value value to subtract.
+     */
+    static void subtract(int[] row, int value){
+        for (int j = 0; j < row.length; j++){
+            row[j] -= value;
+        }
+    }
+    
+    /**
+     * Subtract a value per column from a row.
+     * @param row row to modify.
+     * @param values values to subtract, as long as the row.
+     */
+    static void subtract(int[] row, int[] values){
+        for (int j = 0; j < row.length; j++){
+            row[j] -= values[j];
+        }
+    }
+    
+    /**
+     * Subtract a value from the selected cells of a row.
+     * @param row row to modify.
+     * @param value value to subtract.
+     * @param masks mask of the columns to modify, as long as the row.
+     */
+    static void maskedSubtract(int[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] -= value & masks[j];
+        }
+    }
+    
+    /**
+     * Add a value to the cells of a row that are NOT selected by a mask.
+     * @param row row to modify.
+     * @param value value to add.
+     * @param masks mask of the columns to leave untouched, as long as the row.
+     */
+    static void invertedMaskedAdd(int[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] += value & ~masks[j];
+        }
+    }
+    
+    /**
+     * Compute the minimum of the selected cells of an unsigned byte row.
+     * @param row row of unsigned values.
+     * @param exclusions exclusions of the columns to ignore, see {@link #maskedMin(int[], int[])}.
+     * @return the smallest selected value, or {@link Integer#MAX_VALUE} if no column is selected.
+     */
+    static int maskedMin(byte[] row, int[] exclusions){
+        int min = Integer.MAX_VALUE;
+        for (int j = 0; j < row.length; j++){
+            min = Math.min(min, (row[j] & 0xFF) | exclusions[j]);
+        }
+        return min;
+    }
+    
+    /**
+     * Compute the minimum of the selected cells of an unsigned char row.
+     * @param row row of unsigned values.
+     * @param exclusions exclusions of the columns to ignore, see {@link #maskedMin(int[], int[])}.
+     * @return the smallest selected value, or {@link Integer#MAX_VALUE} if no column is selected.
+     */
+    static int maskedMin(char[] row, int[] exclusions){
+        int min = Integer.MAX_VALUE;
+        for (int j = 0; j < row.length; j++){
+            min = Math.min(min, row[j] | exclusions[j]);
+        }
+        return min;
+    }
+    
+    /**
+     * Subtract a value from the selected cells of an unsigned byte row.
+     * @param row row to modify.
+     * @param value value to subtract, at most the selected cells.
+     * @param masks mask of the columns to modify, as long as the row.
+     */
+    static void maskedSubtract(byte[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] -= value & masks[j];
+        }
+    }
+    
+    /**
+     * Subtract a value from the selected cells of an unsigned char row.
+     * @param row row to modify.
+     * @param value value to subtract, at most the selected cells.
+     * @param masks mask of the columns to modify, as long as the row.
+     */
+    static void maskedSubtract(char[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] -= value & masks[j];
+        }
+    }
+    
+    /**
+     * Add a value to the cells of an unsigned byte row that are NOT selected by a mask.
+     * @param row row to modify.
+     * @param value value to add, such that the modified cells stay below 256.
+     * @param masks mask of the columns to leave untouched, as long as the row.
+     */
+    static void invertedMaskedAdd(byte[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] += value & ~masks[j];
+        }
+    }
+    
+    /**
+     * Add a value to the cells of an unsigned char row that are NOT selected by a mask.
+     * @param row row to modify.
+     * @param value value to add, such that the modified cells stay below 65536.
+     * @param masks mask of the columns to leave untouched, as long as the row.
+     */
+    static void invertedMaskedAdd(char[] row, int value, int[] masks){
+        for (int j = 0; j < row.length; j++){
+            row[j] += value & ~masks[j];
+        }
+    }
+}
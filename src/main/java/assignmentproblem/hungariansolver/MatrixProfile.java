@@ -0,0 +1,146 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Characteristics of a cost matrix, used by a {@link SolverStrategy} to choose how to solve it.
+ *
+ * <p>The dimensions are exact. The other characteristics are estimated on a sample of at most 
+ * {@value #MAX_SAMPLE_SIZE} cells spread evenly over the matrix, so that profiling a matrix costs
+ * much less than solving it.
+ */
+public final class MatrixProfile {
+    /** Maximum number of cells read to estimate the characteristics of a matrix. */
+    public static final int MAX_SAMPLE_SIZE = 4096;
+    /** Maximum number of rows of the sample. */
+    static final int MAX_SAMPLE_ROWS = 64;
+    private final int nRows;
+    private final int nCols;
+    private final int sampleSize;
+    private final int minCost;
+    private final int maxCost;
+    private final double zeroDensity;
+    private final double tieDensity;
+
+    private MatrixProfile(int nRows, int nCols, int sampleSize, int minCost, int maxCost, 
+            double zeroDensity, double tieDensity){
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.sampleSize = sampleSize;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.zeroDensity = zeroDensity;
+        this.tieDensity = tieDensity;
+    }
+
+    /**
+     * Profile a cost matrix.
+     * @param costMatrix Cost matrix to profile. It is not modified.
+     * @return the profile of the matrix.
+     */
+    public static MatrixProfile of(HungarianCostMatrix costMatrix){
+        int sampleRows = Math.min(costMatrix.nRows, MAX_SAMPLE_ROWS);
+        int sampleCols = Math.min(costMatrix.nCols, MAX_SAMPLE_SIZE / sampleRows);
+        int[] sample = new int[sampleRows * sampleCols];
+        int zeroes = 0;
+        int count = 0;
+        for (int r = 0; r < sampleRows; r++){
+            int[] row = costMatrix.costMatrix[(int) ((long) r * costMatrix.nRows / sampleRows)];
+            int start = count;
+            int rowMin = Integer.MAX_VALUE;
+            for (int c = 0; c < sampleCols; c++){
+                int cost = row[(int) ((long) c * costMatrix.nCols / sampleCols)];
+                sample[count++] = cost;
+                rowMin = Math.min(rowMin, cost);
+            }
+            for (int k = start; k < count; k++){
+                if (sample[k] == rowMin){
+                    zeroes++;
+                }
+            }
+        }
+        Arrays.sort(sample);
+        int distinct = 1;
+        for (int k = 1; k < count; k++){
+            if (sample[k] != sample[k - 1]){
+                distinct++;
+            }
+        }
+        return new MatrixProfile(costMatrix.nRows, costMatrix.nCols, count, sample[0], 
+            sample[count - 1], (double) zeroes / count, 1 - (double) distinct / count);
+    }
+
+    /**
+     * Get the number of rows of the matrix.
+     * @return the exact number of rows.
+     */
+    public int getRows(){
+        return nRows;
+    }
+
+    /**
+     * Get the number of columns of the matrix.
+     * @return the exact number of columns.
+     */
+    public int getCols(){
+        return nCols;
+    }
+
+    /**
+     * Get the aspect ratio of the matrix.
+     * @return the ratio of the larger dimension to the smaller one, at least 1.
+     */
+    public double getAspectRatio(){
+        return (double) Math.max(nRows, nCols) / Math.min(nRows, nCols);
+    }
+
+    /**
+     * Get the number of cells read to estimate the other characteristics.
+     * @return the size of the sample.
+     */
+    public int getSampleSize(){
+        return sampleSize;
+    }
+
+    /**
+     * Get the smallest sampled cost.
+     * @return the smallest cost of the sample.
+     */
+    public int getMinCost(){
+        return minCost;
+    }
+
+    /**
+     * Get the largest sampled cost.
+     * @return the largest cost of the sample.
+     */
+    public int getMaxCost(){
+        return maxCost;
+    }
+
+    /**
+     * Estimate the density of zeros after the rows are reduced.
+     * @return the fraction of the sampled cells equal to the smallest sampled cell of their row.
+     */
+    public double getZeroDensity(){
+        return zeroDensity;
+    }
+
+    /**
+     * Estimate how often costs are repeated.
+     * @return the fraction of the sampled cells whose cost also appears in another sampled cell 
+     *     and is not counted as a distinct value: 0 if all sampled costs are distinct, close to 1
+     *     if there are very few distinct costs.
+     */
+    public double getTieDensity(){
+        return tieDensity;
+    }
+
+    @Override
+    public String toString(){
+        return String.format(Locale.ROOT, "%d*%d matrix, costs in [%d, %d], "
+            + "zero density %.3f, tie density %.3f (%d sampled cells)", nRows, nCols, minCost, 
+            maxCost, zeroDensity, tieDensity, sampleSize);
+    }
+}
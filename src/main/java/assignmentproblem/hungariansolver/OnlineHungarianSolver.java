@@ -0,0 +1,309 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Solver maintaining an optimal assignment while rows arrive and rows or columns leave.
+ *
+ * <p>The solver keeps the current matching together with the row and column potentials of
+ * {@link ShortestPathHungarianSolver}: the reduced cost of every cell is non-negative, it is zero
+ * for the assigned cells, and only assigned columns have a negative potential. A new row is
+ * assigned with a single shortest augmenting path rooted at it, in O(n*m) time for n rows and m
+ * columns, instead of solving the whole matrix again. Removing a row frees its column: the rows
+ * whose potentials must then be lowered to keep the reduced costs non-negative are unassigned and
+ * assigned again the same way, and so is the row of a removed column.
+ *
+ * <p>There MUST always be at least as many columns as rows, so that every row is assigned.
+ * Rows are numbered in the order they are added and keep their number when other rows are removed.
+ * An instance MUST NOT be used by concurrent threads.
+ */
+public final class OnlineHungarianSolver {
+    private static final int UNMATCHED = -1;
+    private static final int INITIAL_ROW_CAPACITY = 16;
+    private final Integer unassigned;
+    private final int nCols;
+    /** Costs of each row, null for the removed rows. */
+    private int[][] rowCosts = new int[INITIAL_ROW_CAPACITY][];
+    private long[] rowPotentials = new long[INITIAL_ROW_CAPACITY];
+    private int[] rowMatches = new int[INITIAL_ROW_CAPACITY];
+    private int nRows = 0;
+    private int activeRows = 0;
+    private int activeCols;
+    /** Column nCols is a virtual column matched with the row being assigned. */
+    private final long[] colPotentials;
+    private final int[] colMatches;
+    private final boolean[] removedCols;
+    /** Previous column on the shortest path to each column. */
+    private final int[] way;
+    private final long[] minSlacks;
+    private final boolean[] visited;
+    private final Result result;
+
+    /**
+     * Initialise a solver without rows.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     * @param nCols number of columns rows can be assigned to.
+     * @throws IllegalArgumentException if there is no column.
+     */
+    public OnlineHungarianSolver(Integer unassigned, int nCols){
+        if (nCols <= 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise an online solver with " + nCols
+                + " cols");
+        }
+        this.unassigned = unassigned;
+        this.nCols = nCols;
+        activeCols = nCols;
+        colPotentials = new long[nCols + 1];
+        colMatches = new int[nCols + 1];
+        removedCols = new boolean[nCols];
+        way = new int[nCols + 1];
+        minSlacks = new long[nCols + 1];
+        visited = new boolean[nCols + 1];
+        Arrays.fill(colMatches, UNMATCHED);
+        result = new OnlineResult();
+    }
+
+    /**
+     * Add a row and update the assignment so that it stays optimal. Takes O(n*m) time.
+     * @param costs cost of assigning the row to each column, copied by the solver. The costs of
+     *     removed columns are ignored.
+     * @return the number of the new row in the results.
+     * @throws NullPointerException if the costs are null.
+     * @throws IllegalArgumentException if the costs do not have one value per column or if one of
+     *     them is negative.
+     * @throws IllegalStateException if every column is already assigned.
+     */
+    public int addRow(int[] costs){
+        if (costs == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to add a null row");
+        }
+        if (costs.length != nCols){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to add a row of length " + costs.length
+                + " to an online solver with " + nCols + " cols");
+        }
+        for (int j = 0; j < nCols; j++){
+            if (costs[j] < 0){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to add a row where cell [" + j
+                    + "] has negative value: " + costs[j]);
+            }
+        }
+        if (activeRows == activeCols){
+            //TODO log this properly
+            throw new IllegalStateException("Tried to add a row while all " + activeCols
+                + " cols are assigned");
+        }
+        if (nRows == rowCosts.length){
+            rowCosts = Arrays.copyOf(rowCosts, 2 * nRows);
+            rowPotentials = Arrays.copyOf(rowPotentials, 2 * nRows);
+            rowMatches = Arrays.copyOf(rowMatches, 2 * nRows);
+        }
+        int row = nRows++;
+        rowCosts[row] = costs.clone();
+        rowMatches[row] = UNMATCHED;
+        activeRows++;
+        assign(row);
+        return row;
+    }
+
+    /**
+     * Remove a row and update the assignment so that it stays optimal.
+     * @param row number of the row returned by {@link #addRow(int[])}.
+     * @throws IllegalArgumentException if the row does not exist or has already been removed.
+     */
+    public void removeRow(int row){
+        if (row < 0 || row >= nRows || rowCosts[row] == null){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to remove row " + row + " which is not in "
+                + "the online solver");
+        }
+        int col = rowMatches[row];
+        rowCosts[row] = null;
+        rowMatches[row] = UNMATCHED;
+        colMatches[col] = UNMATCHED;
+        activeRows--;
+        int[] pending = new int[activeRows];
+        int nPending = release(col, pending);
+        for (int k = 0; k < nPending; k++){
+            assign(pending[k]);
+        }
+    }
+
+    /**
+     * Remove a column and update the assignment so that it stays optimal. Its row, if any, is
+     * assigned to another column.
+     * @param col index of the column.
+     * @throws IllegalArgumentException if the column does not exist or has already been removed.
+     * @throws IllegalStateException if the remaining columns could not hold all the rows.
+     */
+    public void removeColumn(int col){
+        if (col < 0 || col >= nCols || removedCols[col]){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to remove col " + col + " which is not in "
+                + "the online solver");
+        }
+        int row = colMatches[col];
+        if (row != UNMATCHED && activeRows == activeCols){
+            //TODO log this properly
+            throw new IllegalStateException("Tried to remove col " + col + " while all "
+                + activeCols + " cols are assigned");
+        }
+        removedCols[col] = true;
+        activeCols--;
+        colMatches[col] = UNMATCHED;
+        if (row != UNMATCHED){
+            rowMatches[row] = UNMATCHED;
+            assign(row);
+        }
+    }
+
+    /**
+     * Get the current assignment. The result is a view of the state of the solver: it is not
+     * copied, and reflects the later changes of the assignment. Removed rows and columns are
+     * unassigned.
+     * @return the current assignment of the rows added so far.
+     */
+    public Result getResult(){
+        return result;
+    }
+
+    /**
+     * Free a column whose potential may be negative. Its potential is reset to 0; the rows whose
+     * reduced cost becomes negative in this column have their potential lowered, which unassigns
+     * them and frees their own column in turn.
+     * @param col column to free, unassigned.
+     * @param pending array receiving the rows unassigned by the operation.
+     * @return the number of unassigned rows.
+     */
+    private int release(int col, int[] pending){
+        int nPending = 0;
+        int[] freed = new int[activeRows + 1];
+        int nFreed = 0;
+        freed[nFreed++] = col;
+        while (nFreed > 0){
+            int j = freed[--nFreed];
+            if (colPotentials[j] == 0){
+                continue;
+            }
+            colPotentials[j] = 0;
+            for (int i = 0; i < nRows; i++){
+                if (rowCosts[i] == null || rowCosts[i][j] >= rowPotentials[i]){
+                    continue;
+                }
+                rowPotentials[i] = rowCosts[i][j];
+                int matched = rowMatches[i];
+                if (matched != UNMATCHED){
+                    rowMatches[i] = UNMATCHED;
+                    colMatches[matched] = UNMATCHED;
+                    pending[nPending++] = i;
+                    freed[nFreed++] = matched;
+                }
+            }
+        }
+        return nPending;
+    }
+
+    /**
+     * Assign a row along a shortest augmenting path, see {@link ShortestPathHungarianSolver}.
+     * @param root unassigned row. There MUST be a free column.
+     */
+    private void assign(int root){
+        colMatches[nCols] = root;
+        int col = nCols;
+        Arrays.fill(minSlacks, Long.MAX_VALUE);
+        Arrays.fill(visited, false);
+        //grow the shortest path tree until it reaches a free column
+        do {
+            visited[col] = true;
+            int i = colMatches[col];
+            int[] row = rowCosts[i];
+            long rowPotential = rowPotentials[i];
+            long delta = Long.MAX_VALUE;
+            int next = UNMATCHED;
+            for (int j = 0; j < nCols; j++){
+                if (visited[j] || removedCols[j]){
+                    continue;
+                }
+                long slack = row[j] - rowPotential - colPotentials[j];
+                if (slack < minSlacks[j]){
+                    minSlacks[j] = slack;
+                    way[j] = col;
+                }
+                if (minSlacks[j] < delta){
+                    delta = minSlacks[j];
+                    next = j;
+                }
+            }
+            for (int j = 0; j <= nCols; j++){
+                if (visited[j]){
+                    rowPotentials[colMatches[j]] += delta;
+                    colPotentials[j] -= delta;
+                } else if (j == nCols || !removedCols[j]){
+                    minSlacks[j] -= delta;
+                }
+            }
+            col = next;
+        } while (colMatches[col] != UNMATCHED);
+        //shift the matches along the path
+        do {
+            int previous = way[col];
+            colMatches[col] = colMatches[previous];
+            rowMatches[colMatches[col]] = col;
+            col = previous;
+        } while (col != nCols);
+    }
+
+    /** Live view of the assignment of an online solver. */
+    private final class OnlineResult extends Result {
+        private final List<Integer> rows = new AbstractList<Integer>(){
+            @Override
+            public Integer get(int index){
+                if (index < 0 || index >= nRows){
+                    throw new IndexOutOfBoundsException("row " + index + " of " + nRows);
+                }
+                return rowMatches[index] == UNMATCHED 
+                    ? unassigned : Integer.valueOf(rowMatches[index]);
+            }
+
+            @Override
+            public int size(){
+                return nRows;
+            }
+        };
+        private final List<Integer> cols = new AbstractList<Integer>(){
+            @Override
+            public Integer get(int index){
+                if (index < 0 || index >= nCols){
+                    throw new IndexOutOfBoundsException("col " + index + " of " + nCols);
+                }
+                return colMatches[index] == UNMATCHED 
+                    ? unassigned : Integer.valueOf(colMatches[index]);
+            }
+
+            @Override
+            public int size(){
+                return nCols;
+            }
+        };
+
+        OnlineResult(){
+            super(OnlineHungarianSolver.this.unassigned);
+        }
+
+        @Override
+        public List<Integer> getRowAssignments(){
+            return rows;
+        }
+
+        @Override
+        public List<Integer> getColumnAssignments(){
+            return cols;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.function.Consumer;
+
+/**
+ * Reducers available to preprocess a cost matrix before it is handed over to a core solver.
+ */
+public enum ReducerType {
+    /** Subtract the smallest cell of each row from the row. Valid for all matrices. */
+    ROW {
+        @Override
+        Consumer<HungarianCostMatrix> create() {
+            return new G4gHungarianRowReducer();
+        }
+    },
+    /**
+     * Reduce the rows, then subtract the smallest cell of each column from the column. Only valid
+     * for square matrices, where every column is assigned.
+     */
+    ROW_THEN_COLUMN {
+        @Override
+        Consumer<HungarianCostMatrix> create() {
+            return new G4gHungarianReducer();
+        }
+    };
+
+    /**
+     * Create the reducer.
+     * @return a stateless reducer.
+     */
+    abstract Consumer<HungarianCostMatrix> create();
+}
@@ -0,0 +1,245 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.Arrays;
+
+/**
+ * Optimal assignment of a cost matrix together with the range of costs of each cell for which it
+ * stays optimal, so that a change of a single cost can be checked in O(1) instead of solving the
+ * matrix again.
+ *
+ * <p>The matrix is solved with shortest augmenting paths, see {@link ShortestPathHungarianSolver},
+ * whose final potentials u and v give the reduced cost {@code r[i][j] = c[i][j] - u[i] - v[j]} of
+ * each cell: non-negative, and zero for the assigned cells. Changing the cost of a cell keeps the
+ * assignment optimal as long as no other assignment becomes cheaper, i.e. as long as the change
+ * does not exceed the cheapest alternating cycle or path through the cell, in reduced costs.
+ * With k assigned rows and m columns, these are computed with one Dijkstra search per row over
+ * the assigned columns, plus one for the cost of emptying each column, in O(k*k*k + k*m) time and
+ * O(k*k + k*m) memory on top of the solve.
+ *
+ * <p>A cost may reach the bound of its range: the assignment is then one of several optimal
+ * assignments. The ranges only hold for the change of a single cell.
+ */
+public final class SensitivityAnalysis {
+    private static final int UNMATCHED = -1;
+    private final Result result;
+    /** True if the analysed matrix is the transpose of the input matrix. */
+    private final boolean transposed;
+    /** Costs of the analysed matrix, with at most as many rows as columns. */
+    private final int[][] costs;
+    private final long[] rowPotentials;
+    private final long[] colPotentials;
+    private final int[] rowMatches;
+    private final int[] colMatches;
+    /**
+     * Cost of the cheapest alternating path from the column of row k to the column of row i or to
+     * a free column, in reduced costs, at [i][k]. See {@link #detours(int, long[])}.
+     */
+    private final long[][] detours;
+    /**
+     * Cost of the cheapest way to leave the column of each row empty, in reduced costs. See 
+     * {@link #releases()}.
+     */
+    private final long[] releases;
+    /** Largest increase of the cost of the assigned cell of each row. */
+    private final long[] upperTolerances;
+
+    /**
+     * Initialise the analysis of a cost matrix.
+     * @param costMatrix The input matrix must be a valid input for a
+     *     {@link assignmentproblem.CostMatrix}.
+     * @param unassigned value used to mark unassigned rows and columns in the result.
+     */
+    SensitivityAnalysis(int[][] costMatrix, Integer unassigned){
+        HungarianCostMatrix matrix = new HungarianCostMatrix(costMatrix);
+        transposed = matrix.nRows > matrix.nCols;
+        if (transposed){
+            matrix = matrix.transpose();
+        }
+        costs = matrix.costMatrix;
+        ShortestPathHungarianSolver solver = new ShortestPathHungarianSolver(unassigned);
+        HungarianResult solved = solver.apply(matrix);
+        result = transposed ? solved.transpose() : solved;
+        rowPotentials = solver.rowPotentials;
+        colPotentials = solver.colPotentials;
+        int nRows = matrix.nRows;
+        int nCols = matrix.nCols;
+        rowMatches = new int[nRows];
+        colMatches = new int[nCols];
+        Arrays.fill(colMatches, UNMATCHED);
+        for (int i = 0; i < nRows; i++){
+            rowMatches[i] = solved.getRowAssignments().get(i);
+            colMatches[rowMatches[i]] = i;
+        }
+        //cheapest free column of each row, in reduced costs
+        long[] freeSlacks = new long[nRows];
+        for (int k = 0; k < nRows; k++){
+            freeSlacks[k] = Long.MAX_VALUE;
+            for (int j = 0; j < nCols; j++){
+                if (colMatches[j] == UNMATCHED){
+                    freeSlacks[k] = Math.min(freeSlacks[k], reducedCost(k, j));
+                }
+            }
+        }
+        releases = releases();
+        detours = new long[nRows][];
+        upperTolerances = new long[nRows];
+        for (int i = 0; i < nRows; i++){
+            detours[i] = detours(i, freeSlacks);
+            long tolerance = Long.MAX_VALUE;
+            for (int j = 0; j < nCols; j++){
+                if (j != rowMatches[i]){
+                    tolerance = Math.min(tolerance, lowerTolerance(i, j));
+                }
+            }
+            upperTolerances[i] = tolerance;
+        }
+    }
+
+    /**
+     * Compute, for each row, the cheapest way to leave its column empty once it leaves it: either 
+     * the column stays empty, which costs the opposite of its potential, or another row moves to 
+     * it and leaves its own column empty in turn.
+     * @return the cost of emptying the column of each row, in reduced costs.
+     */
+    private long[] releases(){
+        int nRows = rowMatches.length;
+        long[] distances = new long[nRows];
+        boolean[] settled = new boolean[nRows];
+        for (int k = 0; k < nRows; k++){
+            distances[k] = -colPotentials[rowMatches[k]];
+        }
+        for (int step = 0; step < nRows; step++){
+            int next = UNMATCHED;
+            for (int k = 0; k < nRows; k++){
+                if (!settled[k] && (next == UNMATCHED || distances[k] < distances[next])){
+                    next = k;
+                }
+            }
+            settled[next] = true;
+            //row next may move to the column of row k, and empty its own column
+            for (int k = 0; k < nRows; k++){
+                if (!settled[k]){
+                    distances[k] = Math.min(distances[k], 
+                        reducedCost(next, rowMatches[k]) + distances[next]);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Compute, for each row k, the cheapest alternating path from the column of k, where k moves
+     * to another column, to either the column of row i or a free column. Reaching a free column
+     * requires the column of row i to be emptied, see {@link #releases()}.
+     * @param i row leaving its column.
+     * @param freeSlacks smallest reduced cost of each row in the free columns.
+     * @return the cost of the path of each row, in reduced costs, {@link Long#MAX_VALUE} for row i.
+     */
+    private long[] detours(int i, long[] freeSlacks){
+        int nRows = rowMatches.length;
+        int target = rowMatches[i];
+        long release = releases[i];
+        long[] distances = new long[nRows];
+        boolean[] settled = new boolean[nRows];
+        for (int k = 0; k < nRows; k++){
+            long viaFree = 
+                freeSlacks[k] == Long.MAX_VALUE ? Long.MAX_VALUE : freeSlacks[k] + release;
+            distances[k] = Math.min(reducedCost(k, target), viaFree);
+        }
+        distances[i] = Long.MAX_VALUE;
+        settled[i] = true;
+        for (int step = 1; step < nRows; step++){
+            int next = UNMATCHED;
+            for (int k = 0; k < nRows; k++){
+                if (!settled[k] && (next == UNMATCHED || distances[k] < distances[next])){
+                    next = k;
+                }
+            }
+            settled[next] = true;
+            //row k reaches the column of row next, which then continues along its own path
+            int col = rowMatches[next];
+            for (int k = 0; k < nRows; k++){
+                if (!settled[k]){
+                    distances[k] = Math.min(distances[k], reducedCost(k, col) + distances[next]);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Get the optimal assignment of the matrix.
+     * @return the assignment whose sensitivity is analysed.
+     */
+    public Result getResult(){
+        return result;
+    }
+
+    /**
+     * Get the reduced cost of a cell: how much more the cell costs than what the optimality proof
+     * allows for it. It is zero for the assigned cells.
+     * @param row row of the cell.
+     * @param col column of the cell.
+     * @return the non-negative reduced cost of the cell.
+     */
+    public long getReducedCost(int row, int col){
+        return transposed ? reducedCost(col, row) : reducedCost(row, col);
+    }
+
+    /**
+     * Get the largest decrease of the cost of a cell that keeps the assignment optimal.
+     * @param row row of the cell.
+     * @param col column of the cell.
+     * @return the largest decrease, {@link Long#MAX_VALUE} if the cell is assigned.
+     */
+    public long getLowerTolerance(int row, int col){
+        return transposed ? lowerTolerance(col, row) : lowerTolerance(row, col);
+    }
+
+    /**
+     * Get the largest increase of the cost of a cell that keeps the assignment optimal.
+     * @param row row of the cell.
+     * @param col column of the cell.
+     * @return the largest increase, {@link Long#MAX_VALUE} if the cell is not assigned or if its
+     *     row has no other column to take.
+     */
+    public long getUpperTolerance(int row, int col){
+        if (transposed){
+            return rowMatches[col] == row ? upperTolerances[col] : Long.MAX_VALUE;
+        }
+        return rowMatches[row] == col ? upperTolerances[row] : Long.MAX_VALUE;
+    }
+
+    /**
+     * Check whether the assignment stays optimal if the cost of a single cell changes.
+     * @param row row of the cell.
+     * @param col column of the cell.
+     * @param cost new cost of the cell.
+     * @return true if the assignment is still optimal with the new cost.
+     */
+    public boolean isStillOptimal(int row, int col, int cost){
+        long change = (long) cost - (transposed ? costs[col][row] : costs[row][col]);
+        return change >= 0 ? change <= getUpperTolerance(row, col)
+            : -change <= getLowerTolerance(row, col);
+    }
+
+    private long reducedCost(int i, int j){
+        return costs[i][j] - rowPotentials[i] - colPotentials[j];
+    }
+
+    /**
+     * Compute the largest decrease of the cost of a cell of the analysed matrix: its reduced cost
+     * plus the cheapest way to reassign the rest of the matrix once row i takes column j.
+     * @param i row of the cell.
+     * @param j column of the cell.
+     * @return the largest decrease, {@link Long#MAX_VALUE} if the cell is assigned.
+     */
+    private long lowerTolerance(int i, int j){
+        if (rowMatches[i] == j){
+            return Long.MAX_VALUE;
+        }
+        long detour = colMatches[j] == UNMATCHED ? releases[i] : detours[i][colMatches[j]];
+        return detour == Long.MAX_VALUE ? Long.MAX_VALUE : reducedCost(i, j) + detour;
+    }
+}
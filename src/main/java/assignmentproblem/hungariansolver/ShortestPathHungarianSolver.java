@@ -0,0 +1,163 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntFunction;
+
+/**
+ * Hungarian solver for cost matrices with far fewer rows than columns.
+ *
+ * <p>Rows are assigned one at a time along a shortest augmenting path rooted at the row, computed
+ * with Dijkstra's algorithm on the reduced costs defined by row and column potentials (see
+ * {@link https://en.wikipedia.org/wiki/Hungarian_algorithm#Matrix_interpretation}). With k rows
+ * and m columns, the solve takes O(k*k*m) time and O(m) extra memory, and the cost matrix is only
+ * read: unlike {@link Brc2HungarianSolver}, no step touches every cell of the matrix at once.
+ *
+ * <p>The solver does not need the matrix to be reduced: any non-negative matrix works. Since it 
+ * reads one row at a time, it can also solve a {@link LazyCostMatrix} without computing all its 
+ * cells at once.
+ *
+ * <p>At the end of a solve, the reduced cost {@code c[i][j] - rowPotentials[i] - colPotentials[j]}
+ * of every cell is non-negative and zero for the assigned cells, and only assigned columns have a 
+ * non-zero, negative potential: the potentials prove that the assignment is optimal. They are 
+ * kept for {@link SensitivityAnalysis}.
+ */
+final class ShortestPathHungarianSolver extends HungarianCoreSolver {
+    private static final int UNMATCHED = -1;
+    private final Integer unassigned;
+    /** Row potentials at the end of the last solve. */
+    long[] rowPotentials;
+    /** Column potentials at the end of the last solve, followed by the virtual column. */
+    long[] colPotentials;
+
+    /**
+     * Initialise a solver.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    ShortestPathHungarianSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+        int[][] costs = costMatrix.costMatrix;
+        return apply(i -> costs[i], costMatrix.nRows, costMatrix.nCols, cancelled);
+    }
+
+    /**
+     * Solve a horizontal or square cost matrix read one row at a time.
+     * @param rows function returning the costs of a row from its index. The arrays it returns are 
+     *     only read.
+     * @param nRows number of rows of the matrix.
+     * @param nCols number of columns of the matrix, at least equal to the number of rows.
+     * @param cancelled Cancellation token of the solve.
+     * @return the optimal assignment.
+     */
+    HungarianResult apply(IntFunction<int[]> rows, int nRows, int nCols, 
+            BooleanSupplier cancelled) {
+        return apply(rows, nRows, nCols, cancelled, null);
+    }
+
+    /**
+     * Solve a horizontal or square cost matrix read one row at a time, resuming from a checkpoint
+     * and saving checkpoints along the way.
+     * @param rows function returning the costs of a row from its index. The arrays it returns are 
+     *     only read.
+     * @param nRows number of rows of the matrix.
+     * @param nCols number of columns of the matrix, at least equal to the number of rows.
+     * @param cancelled Cancellation token of the solve.
+     * @param checkpoint checkpoint of the solve, or null.
+     * @return the optimal assignment.
+     */
+    HungarianResult apply(IntFunction<int[]> rows, int nRows, int nCols, 
+            BooleanSupplier cancelled, SolveCheckpoint checkpoint) {
+        //column nCols is a virtual column matched with the row being assigned
+        long[] rowPotentials = new long[nRows];
+        long[] colPotentials = new long[nCols + 1];
+        int[] colMatches = new int[nCols + 1];
+        //previous column on the shortest path to each column
+        int[] way = new int[nCols + 1];
+        long[] minSlacks = new long[nCols + 1];
+        boolean[] visited = new boolean[nCols + 1];
+        Arrays.fill(colMatches, UNMATCHED);
+        int firstRoot = checkpoint == null ? 0 
+            : checkpoint.restore(rowPotentials, colPotentials, colMatches);
+        augmentations = 0;
+        matrixAlterations = 0;
+        for (int root = firstRoot; root < nRows; root++){
+            if (cancelled.getAsBoolean()){
+                throw new SolverCancelledException("solve cancelled after " + root + " of " 
+                    + nRows + " assignments");
+            }
+            colMatches[nCols] = root;
+            int col = nCols;
+            Arrays.fill(minSlacks, Long.MAX_VALUE);
+            Arrays.fill(visited, false);
+            //grow the shortest path tree until it reaches a free column
+            do {
+                visited[col] = true;
+                int i = colMatches[col];
+                int[] row = rows.apply(i);
+                long rowPotential = rowPotentials[i];
+                long delta = Long.MAX_VALUE;
+                int next = UNMATCHED;
+                for (int j = 0; j < nCols; j++){
+                    if (visited[j]){
+                        continue;
+                    }
+                    long slack = row[j] - rowPotential - colPotentials[j];
+                    if (slack < minSlacks[j]){
+                        minSlacks[j] = slack;
+                        way[j] = col;
+                    }
+                    if (minSlacks[j] < delta){
+                        delta = minSlacks[j];
+                        next = j;
+                    }
+                }
+                for (int j = 0; j <= nCols; j++){
+                    if (visited[j]){
+                        rowPotentials[colMatches[j]] += delta;
+                        colPotentials[j] -= delta;
+                    } else {
+                        minSlacks[j] -= delta;
+                    }
+                }
+                matrixAlterations++;
+                col = next;
+            } while (colMatches[col] != UNMATCHED);
+            //shift the matches along the path
+            augmentations++;
+            if (checkpoint != null){
+                checkpoint.touch(visited, colMatches, col);
+            }
+            do {
+                int previous = way[col];
+                colMatches[col] = colMatches[previous];
+                col = previous;
+            } while (col != nCols);
+            if (checkpoint != null){
+                checkpoint.augmented(root + 1);
+            }
+        }
+        this.rowPotentials = rowPotentials;
+        this.colPotentials = colPotentials;
+        Integer[] rowAssignments = new Integer[nRows];
+        Integer[] colAssignments = new Integer[nCols];
+        Arrays.fill(rowAssignments, unassigned);
+        Arrays.fill(colAssignments, unassigned);
+        for (int j = 0; j < nCols; j++){
+            if (colMatches[j] != UNMATCHED){
+                colAssignments[j] = colMatches[j];
+                rowAssignments[colMatches[j]] = j;
+            }
+        }
+        return new HungarianResult(rowAssignments, colAssignments, unassigned);
+    }
+
+    @Override
+    HandledMatrix getHandledMatrixType() {
+        return HandledMatrix.HORIZONTAL;
+    }
+}
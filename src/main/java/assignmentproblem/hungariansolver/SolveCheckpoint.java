@@ -0,0 +1,233 @@
+package assignmentproblem.hungariansolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * File holding the state of a {@link ShortestPathHungarianSolver} between two augmentations, so
+ * that an interrupted solve can resume from it: the row and column potentials and the partial
+ * matching, which are equivalent to the reduced matrix and the starred zeros of Munkres' algorithm
+ * but take O(n+m) space instead of O(n*m).
+ *
+ * <p>The file is mapped in memory and holds two copies of the state. A checkpoint writes the
+ * entries changed since the older copy was last written over that copy, forces it to the disk,
+ * then marks it as the current one: an interruption in the middle of a checkpoint leaves the
+ * other copy intact. Since an augmentation only changes the potentials of the rows and columns of
+ * its shortest path tree, a checkpoint only writes those, however large the matrix.
+ */
+final class SolveCheckpoint implements Closeable {
+    private static final int MAGIC = 0x41504350;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 40;
+    private static final int ROWS_OFFSET = 8;
+    private static final int COLS_OFFSET = 12;
+    private static final int HASH_OFFSET = 16;
+    private static final int ACTIVE_OFFSET = 24;
+    /** Number of assigned rows of each copy, as two ints. */
+    private static final int COMPLETED_OFFSET = 28;
+    private static final int UNMATCHED = -1;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int nRows;
+    private final int nCols;
+    private final long slotBytes;
+    private final long intervalNanos;
+    /** Rows and columns changed since each copy was last written. */
+    private final boolean[][] dirtyRows = new boolean[2][];
+    private final boolean[][] dirtyCols = new boolean[2][];
+    private int active;
+    private int completed;
+    private long lastSave;
+    private long[] rowPotentials;
+    private long[] colPotentials;
+    private int[] colMatches;
+
+    /**
+     * Open the checkpoint of a solve, creating it if the file does not exist.
+     * @param path file of the checkpoint.
+     * @param nRows number of rows of the solved matrix.
+     * @param nCols number of columns of the solved matrix.
+     * @param hash content hash of the solved matrix, see {@link HungarianCostMatrix#contentHash()}.
+     * @param intervalNanos minimum time between two checkpoints, in nanoseconds.
+     * @throws IOException if the file cannot be read or written.
+     * @throws IllegalArgumentException if the file holds the checkpoint of another matrix.
+     */
+    SolveCheckpoint(Path path, int nRows, int nCols, long hash, long intervalNanos)
+            throws IOException {
+        this.nRows = nRows;
+        this.nCols = nCols;
+        this.intervalNanos = intervalNanos;
+        slotBytes = (long) Long.BYTES * (nRows + nCols) + (long) Integer.BYTES * nCols;
+        long fileBytes = HEADER_BYTES + 2 * slotBytes;
+        if (fileBytes > Integer.MAX_VALUE){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to checkpoint a " + nRows + "x" + nCols
+                + " matrix, whose state does not fit in a mapped file");
+        }
+        boolean exists = Files.exists(path) && Files.size(path) > 0;
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            if (exists && (channel.size() != fileBytes || !matches(channel, hash))){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to resume a " + nRows + "x" + nCols
+                    + " solve from " + path + ", which holds the checkpoint of another matrix");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+        } catch (IOException | RuntimeException e){
+            channel.close();
+            throw e;
+        }
+        for (int s = 0; s < 2; s++){
+            dirtyRows[s] = new boolean[nRows];
+            dirtyCols[s] = new boolean[nCols];
+        }
+        if (!exists){
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, VERSION);
+            buffer.putInt(ROWS_OFFSET, nRows);
+            buffer.putInt(COLS_OFFSET, nCols);
+            buffer.putLong(HASH_OFFSET, hash);
+            //the file starts zeroed: only the matches of both copies differ from 0
+            for (int s = 0; s < 2; s++){
+                for (int j = 0; j < nCols; j++){
+                    buffer.putInt(matchOffset(s, j), UNMATCHED);
+                }
+            }
+            buffer.force();
+        }
+        active = buffer.getInt(ACTIVE_OFFSET);
+        completed = buffer.getInt(COMPLETED_OFFSET + Integer.BYTES * active);
+    }
+
+    /**
+     * Check that a checkpoint file belongs to a matrix.
+     * @param channel channel of the file.
+     * @param hash content hash of the matrix.
+     * @return true if the header of the file matches the matrix.
+     * @throws IOException if the file cannot be read.
+     */
+    private boolean matches(FileChannel channel, long hash) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()){
+            if (channel.read(header, header.position()) < 0){
+                return false;
+            }
+        }
+        return header.getInt(0) == MAGIC && header.getInt(4) == VERSION 
+            && header.getInt(ROWS_OFFSET) == nRows && header.getInt(COLS_OFFSET) == nCols
+            && header.getLong(HASH_OFFSET) == hash;
+    }
+
+    /**
+     * Load the last checkpointed state into the arrays of the solver, which the next checkpoints
+     * save.
+     * @param rowPotentials row potentials of the solver.
+     * @param colPotentials column potentials of the solver, with at least one entry per column.
+     * @param colMatches row assigned to each column, with at least one entry per column.
+     * @return the number of rows assigned by the checkpointed state: the solve resumes from the
+     *     next row.
+     */
+    int restore(long[] rowPotentials, long[] colPotentials, int[] colMatches){
+        this.rowPotentials = rowPotentials;
+        this.colPotentials = colPotentials;
+        this.colMatches = colMatches;
+        for (int i = 0; i < nRows; i++){
+            rowPotentials[i] = buffer.getLong(rowOffset(active, i));
+        }
+        for (int j = 0; j < nCols; j++){
+            colPotentials[j] = buffer.getLong(colOffset(active, j));
+            colMatches[j] = buffer.getInt(matchOffset(active, j));
+        }
+        //the other copy may be older than the current one
+        Arrays.fill(dirtyRows[1 - active], true);
+        Arrays.fill(dirtyCols[1 - active], true);
+        lastSave = System.nanoTime();
+        return completed;
+    }
+
+    /**
+     * Record the rows and columns of the shortest path tree of an augmentation, before the
+     * matches are shifted along the path.
+     * @param visited columns of the tree, followed by the virtual column of the root.
+     * @param colMatches row assigned to each column, followed by the root.
+     * @param freeCol column reached by the path.
+     */
+    void touch(boolean[] visited, int[] colMatches, int freeCol){
+        for (int j = 0; j <= nCols; j++){
+            if (visited[j]){
+                int i = colMatches[j];
+                dirtyRows[0][i] = true;
+                dirtyRows[1][i] = true;
+                if (j < nCols){
+                    dirtyCols[0][j] = true;
+                    dirtyCols[1][j] = true;
+                }
+            }
+        }
+        dirtyCols[0][freeCol] = true;
+        dirtyCols[1][freeCol] = true;
+    }
+
+    /**
+     * Record the end of an augmentation and save a checkpoint if the last one is old enough.
+     * @param assigned number of rows assigned so far.
+     */
+    void augmented(int assigned){
+        completed = assigned;
+        if (System.nanoTime() - lastSave >= intervalNanos){
+            save();
+        }
+    }
+
+    /** Save a checkpoint of the current state. */
+    void save(){
+        int slot = 1 - active;
+        boolean[] rows = dirtyRows[slot];
+        boolean[] cols = dirtyCols[slot];
+        for (int i = 0; i < nRows; i++){
+            if (rows[i]){
+                buffer.putLong(rowOffset(slot, i), rowPotentials[i]);
+                rows[i] = false;
+            }
+        }
+        for (int j = 0; j < nCols; j++){
+            if (cols[j]){
+                buffer.putLong(colOffset(slot, j), colPotentials[j]);
+                buffer.putInt(matchOffset(slot, j), colMatches[j]);
+                cols[j] = false;
+            }
+        }
+        buffer.putInt(COMPLETED_OFFSET + Integer.BYTES * slot, completed);
+        buffer.force();
+        buffer.putInt(ACTIVE_OFFSET, slot);
+        buffer.force();
+        active = slot;
+        lastSave = System.nanoTime();
+    }
+
+    private int rowOffset(int slot, int i){
+        return (int) (HEADER_BYTES + slot * slotBytes + (long) Long.BYTES * i);
+    }
+
+    private int colOffset(int slot, int j){
+        return (int) (HEADER_BYTES + slot * slotBytes + (long) Long.BYTES * (nRows + j));
+    }
+
+    private int matchOffset(int slot, int j){
+        return (int) (HEADER_BYTES + slot * slotBytes + (long) Long.BYTES * (nRows + nCols)
+            + (long) Integer.BYTES * j);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,60 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.Objects;
+
+/**
+ * Path chosen by a {@link SolverStrategy} to solve a cost matrix: the reducer and the core solver.
+ */
+public final class SolverChoice {
+    private final ReducerType reducer;
+    private final CoreSolverType coreSolver;
+
+    /**
+     * Initialise a choice.
+     * @param reducer Reducer applied to the matrix.
+     * @param coreSolver Core solver applied to the reduced matrix.
+     */
+    public SolverChoice(ReducerType reducer, CoreSolverType coreSolver){
+        if (reducer == null || coreSolver == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to choose a null reducer or core solver");
+        }
+        this.reducer = reducer;
+        this.coreSolver = coreSolver;
+    }
+
+    /**
+     * Get the chosen reducer.
+     * @return the reducer applied to the matrix.
+     */
+    public ReducerType getReducer(){
+        return reducer;
+    }
+
+    /**
+     * Get the chosen core solver.
+     * @return the core solver applied to the reduced matrix.
+     */
+    public CoreSolverType getCoreSolver(){
+        return coreSolver;
+    }
+
+    @Override
+    public boolean equals(Object other){
+        if (!(other instanceof SolverChoice)){
+            return false;
+        }
+        SolverChoice choice = (SolverChoice) other;
+        return reducer == choice.reducer && coreSolver == choice.coreSolver;
+    }
+
+    @Override
+    public int hashCode(){
+        return Objects.hash(reducer, coreSolver);
+    }
+
+    @Override
+    public String toString(){
+        return reducer + " reducer with " + coreSolver + " core solver";
+    }
+}
@@ -0,0 +1,41 @@
+package assignmentproblem.hungariansolver;
+
+/**
+ * Strategy choosing how a {@link HungarianSolver} solves each cost matrix.
+ *
+ * <p>Whatever the choice, the solver first looks for an assignment through the zeros of the 
+ * reduced matrix and removes the columns that cannot be part of an optimal assignment, see 
+ * {@link ZeroMatchingHungarianSolver} and {@link CandidateColumnHungarianSolver}.
+ * Implementations MUST be thread-safe.
+ */
+public interface SolverStrategy {
+    /**
+     * Choose how to solve a cost matrix.
+     * @param profile Profile of the cost matrix to solve.
+     * @return the reducer and core solver to use. {@link ReducerType#ROW_THEN_COLUMN} MUST only 
+     *     be chosen for square matrices.
+     */
+    SolverChoice choose(MatrixProfile profile);
+
+    /**
+     * Get the default strategy, choosing from the profile of each matrix, see 
+     * {@link AdaptiveSolverStrategy}.
+     * @return the adaptive strategy.
+     */
+    static SolverStrategy adaptive(){
+        return AdaptiveSolverStrategy.INSTANCE;
+    }
+
+    /**
+     * Get a strategy making the same choice for all matrices.
+     * @param reducer Reducer to use. {@link ReducerType#ROW_THEN_COLUMN} is replaced with 
+     *     {@link ReducerType#ROW} for rectangular matrices.
+     * @param coreSolver Core solver to use.
+     * @return the fixed strategy.
+     */
+    static SolverStrategy fixed(ReducerType reducer, CoreSolverType coreSolver){
+        SolverChoice choice = new SolverChoice(reducer, coreSolver);
+        SolverChoice rectangularChoice = new SolverChoice(ReducerType.ROW, coreSolver);
+        return profile -> profile.getRows() == profile.getCols() ? choice : rectangularChoice;
+    }
+}
@@ -0,0 +1,174 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.SolverCancelledException;
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Fast path for reduced cost matrices that are already solved.
+ *
+ * <p>A reduced cost matrix has no negative cell, so any assignment of all its rows to distinct
+ * columns through zero cells is optimal. This core solver looks for such a complete zero matching
+ * with a greedy pass followed by a few augmenting paths through zero cells (Kuhn's algorithm), and
+ * only runs the wrapped core solver if there is none. Matching only zero cells cannot shrink the
+ * problem otherwise: a partial zero matching is not necessarily part of an optimal assignment.
+ *
+ * <p>The augmenting paths are only attempted if few rows remain unmatched after the greedy pass,
+ * so that the cost of a failed attempt stays small compared to the wrapped core solver.
+ */
+final class ZeroMatchingHungarianSolver extends HungarianCoreSolver {
+    /**
+     * Maximum ratio of rows left unmatched by the greedy pass for augmenting paths to be
+     * attempted.
+     */
+    static final int MAX_UNMATCHED_RATIO = 8;
+    private final HungarianCoreSolver solver;
+    private final Integer unassigned;
+
+    /**
+     * Initialise a solver.
+     * @param solver core solver used when the reduced cost matrix has no complete zero matching.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    ZeroMatchingHungarianSolver(HungarianCoreSolver solver, Integer unassigned){
+        this.solver = solver;
+        this.unassigned = unassigned;
+    }
+
+    @Override
+    HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+        if (costMatrix.nRows <= costMatrix.nCols){
+            HungarianResult result = matchZeroes(costMatrix, cancelled);
+            if (result != null){
+                return result;
+            }
+        }
+        return solver.apply(costMatrix, cancelled);
+    }
+
+    /**
+     * Look for an assignment of all rows through zero cells.
+     * @param costMatrix Reduced cost matrix with at most as many rows as columns.
+     * @param cancelled Cancellation token of the solve.
+     * @return the assignment if all rows could be matched, null otherwise.
+     */
+    private HungarianResult matchZeroes(HungarianCostMatrix costMatrix, BooleanSupplier cancelled){
+        int[] rowMatches = new int[costMatrix.nRows];
+        int[] colMatches = new int[costMatrix.nCols];
+        Arrays.fill(rowMatches, -1);
+        Arrays.fill(colMatches, -1);
+        //greedy pass, identical to the initial starring of the Munkres algorithm
+        int unmatched = 0;
+        for (int i = 0; i < costMatrix.nRows; i++){
+            int[] row = costMatrix.costMatrix[i];
+            for (int j = 0; j < costMatrix.nCols; j++){
+                if (row[j] == 0 && colMatches[j] < 0){
+                    rowMatches[i] = j;
+                    colMatches[j] = i;
+                    break;
+                }
+            }
+            if (rowMatches[i] < 0){
+                unmatched++;
+            }
+        }
+        if (unmatched > costMatrix.nRows / MAX_UNMATCHED_RATIO + 1){
+            return null;
+        }
+        if (unmatched > 0){
+            ZeroAugmenter augmenter = new ZeroAugmenter(costMatrix, rowMatches, colMatches);
+            for (int i = 0; i < costMatrix.nRows; i++){
+                if (rowMatches[i] >= 0){
+                    continue;
+                }
+                if (cancelled.getAsBoolean()){
+                    throw new SolverCancelledException("solve cancelled while matching zeroes");
+                }
+                //if a row cannot be matched now, it never will: there is no complete matching
+                if (!augmenter.augment(i)){
+                    return null;
+                }
+            }
+        }
+        Integer[] rows = new Integer[costMatrix.nRows];
+        Integer[] cols = new Integer[costMatrix.nCols];
+        Arrays.fill(cols, unassigned);
+        for (int i = 0; i < rows.length; i++){
+            rows[i] = rowMatches[i];
+            cols[rowMatches[i]] = i;
+        }
+        return new HungarianResult(rows, cols, unassigned);
+    }
+
+    @Override
+    HandledMatrix getHandledMatrixType() {
+        return solver.getHandledMatrixType();
+    }
+
+    /** Search of augmenting paths through zero cells, using an explicit stack. */
+    private static final class ZeroAugmenter {
+        private final HungarianCostMatrix costMatrix;
+        private final int[] rowMatches;
+        private final int[] colMatches;
+        /** Rows of the current path. */
+        private final int[] rowStack;
+        /** Next column to explore in each row of the current path. */
+        private final int[] nextCols;
+        /** Attempt during which each column was last visited. */
+        private final int[] visits;
+        private int attempt = 0;
+
+        ZeroAugmenter(HungarianCostMatrix costMatrix, int[] rowMatches, int[] colMatches){
+            this.costMatrix = costMatrix;
+            this.rowMatches = rowMatches;
+            this.colMatches = colMatches;
+            rowStack = new int[costMatrix.nRows];
+            nextCols = new int[costMatrix.nRows];
+            visits = new int[costMatrix.nCols];
+        }
+
+        /**
+         * Look for an augmenting path from an unmatched row and flip it if it exists.
+         * @param root unmatched row.
+         * @return true if the row is now matched, false if there is no augmenting path.
+         */
+        boolean augment(int root){
+            attempt++;
+            int depth = 0;
+            rowStack[0] = root;
+            nextCols[root] = 0;
+            while (depth >= 0){
+                int i = rowStack[depth];
+                int[] row = costMatrix.costMatrix[i];
+                int j = nextCols[i];
+                while (j < costMatrix.nCols && (row[j] != 0 || visits[j] == attempt)){
+                    j++;
+                }
+                if (j == costMatrix.nCols){
+                    //dead end: backtrack
+                    depth--;
+                    continue;
+                }
+                visits[j] = attempt;
+                nextCols[i] = j + 1;
+                if (colMatches[j] >= 0){
+                    //go deeper through the row matched with this column
+                    int next = colMatches[j];
+                    rowStack[++depth] = next;
+                    nextCols[next] = 0;
+                    continue;
+                }
+                //free column: shift the matches along the path
+                for (int d = depth; d >= 0; d--){
+                    int pathRow = rowStack[d];
+                    int previous = rowMatches[pathRow];
+                    rowMatches[pathRow] = j;
+                    colMatches[j] = pathRow;
+                    j = previous;
+                }
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package assignmentproblem.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary framing of the messages exchanged with a {@link SolverServer}. All integers are 
+ * big-endian and 32 bits long.
+ * <ul>
+ *  <li>A request is its identifier, its number of rows and of columns, then its costs row by 
+ *      row.</li>
+ *  <li>A response is the identifier of its request and a status. With {@link #STATUS_OK}, it is 
+ *      followed by the number of rows and the column assigned to each row, or -1. With 
+ *      {@link #STATUS_ERROR}, it is followed by the length of an UTF-8 error message and the 
+ *      message itself.</li>
+ * </ul>
+ * Responses on a connection MAY be sent in a different order than the requests.
+ */
+final class Frames {
+    /** Size of the header of a request: identifier, number of rows and number of columns. */
+    static final int REQUEST_HEADER_BYTES = 12;
+    /** Size of the header of a response: identifier and status. */
+    static final int RESPONSE_HEADER_BYTES = 8;
+    static final int STATUS_OK = 0;
+    static final int STATUS_ERROR = 1;
+    
+    private Frames(){}
+    
+    /**
+     * Encode a request.
+     * @param id Identifier of the request, echoed in the response.
+     * @param costs Cost matrix to solve.
+     * @return a buffer ready to be written.
+     */
+    static ByteBuffer request(int id, int[][] costs){
+        int nCols = costs.length == 0 ? 0 : costs[0].length;
+        ByteBuffer buffer = ByteBuffer.allocate(REQUEST_HEADER_BYTES 
+            + Integer.BYTES * costs.length * nCols);
+        buffer.putInt(id).putInt(costs.length).putInt(nCols);
+        for (int[] row : costs){
+            for (int j = 0; j < nCols; j++){
+                buffer.putInt(row[j]);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Encode a successful response.
+     * @param id Identifier of the request.
+     * @param assignments Column assigned to each row, or -1.
+     * @return a buffer ready to be written.
+     */
+    static ByteBuffer result(int id, int[] assignments){
+        ByteBuffer buffer = ByteBuffer.allocate(RESPONSE_HEADER_BYTES 
+            + Integer.BYTES * (assignments.length + 1));
+        buffer.putInt(id).putInt(STATUS_OK).putInt(assignments.length);
+        for (int assignment : assignments){
+            buffer.putInt(assignment);
+        }
+        buffer.flip();
+        return buffer;
+    }
+    
+    /**
+     * Encode a failed response.
+     * @param id Identifier of the request.
+     * @param message Description of the failure.
+     * @return a buffer ready to be written.
+     */
+    static ByteBuffer error(int id, String message){
+        byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(RESPONSE_HEADER_BYTES + Integer.BYTES 
+            + bytes.length);
+        buffer.putInt(id).putInt(STATUS_ERROR).putInt(bytes.length).put(bytes);
+        buffer.flip();
+        return buffer;
+    }
+}
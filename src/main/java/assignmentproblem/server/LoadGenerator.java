@@ -0,0 +1,110 @@
+package assignmentproblem.server;
+
+import assignmentproblem.cli.CommandLine;
+import assignmentproblem.cli.LatencyStatistics;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator measuring the throughput and latency of a local {@link SolverServer}.
+ *
+ * <p>Each connection sends its requests one after the other from its own thread, so the number of
+ * connections is the number of requests in flight. Latencies are measured from the sending of a 
+ * request to the reception of its response.
+ */
+public final class LoadGenerator {
+    static final String USAGE = "usage: LoadGenerator [--port N] [--connections N] "
+        + "[--requests N] [--rows N] [--cols N]";
+    /** Number of distinct random problems sent by each connection. */
+    private static final int DISTINCT_PROBLEMS = 16;
+    
+    private LoadGenerator(){}
+
+    /**
+     * Send random problems to a local server.
+     * @param port Port of the server on the loopback interface.
+     * @param connections Number of concurrent connections.
+     * @param requestsPerConnection Number of requests sent by each connection.
+     * @param nRows Number of rows of the problems.
+     * @param nCols Number of columns of the problems.
+     * @return the latencies of all the requests.
+     * @throws IOException if a connection failed.
+     * @throws InterruptedException if interrupted while waiting for the connections.
+     */
+    static LatencyStatistics run(int port, int connections, int requestsPerConnection, int nRows,
+            int nCols) throws IOException, InterruptedException {
+        LatencyStatistics statistics = new LatencyStatistics();
+        ExecutorService pool = Executors.newFixedThreadPool(connections);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < connections; c++){
+                Random random = new Random(c);
+                int[][][] problems = new int[DISTINCT_PROBLEMS][nRows][];
+                for (int[][] problem : problems){
+                    for (int i = 0; i < nRows; i++){
+                        problem[i] = random.ints(nCols, 0, 1000).toArray();
+                    }
+                }
+                futures.add(pool.submit(() -> {
+                    try (SolverClient client = new SolverClient(port)){
+                        for (int k = 0; k < requestsPerConnection; k++){
+                            long start = System.nanoTime();
+                            client.solve(problems[k % DISTINCT_PROBLEMS]);
+                            statistics.record(System.nanoTime() - start);
+                        }
+                    } catch (IOException e){
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures){
+                future.get();
+            }
+        } catch (ExecutionException e){
+            if (e.getCause() instanceof UncheckedIOException){
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return statistics;
+    }
+
+    /**
+     * Run a load test and print its results.
+     * @param args Command-line arguments, see {@link #USAGE}.
+     * @throws IOException if a connection failed.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port;
+        int connections;
+        int requests;
+        int nRows;
+        int nCols;
+        try {
+            CommandLine commandLine = new CommandLine(args, "port", "connections", "requests", 
+                "rows", "cols");
+            port = commandLine.getInt("port", 7070, 1);
+            connections = commandLine.getInt("connections", 8, 1);
+            requests = commandLine.getInt("requests", 1000, 1);
+            nRows = commandLine.getInt("rows", 50, 1);
+            nCols = commandLine.getInt("cols", 50, 1);
+        } catch (IllegalArgumentException e){
+            System.err.println("error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        System.out.println(run(port, connections, requests, nRows, nCols).summary("requests"));
+    }
+}
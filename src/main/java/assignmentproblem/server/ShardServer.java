@@ -0,0 +1,168 @@
+package assignmentproblem.server;
+
+import assignmentproblem.cli.CommandLine;
+import assignmentproblem.shardedsolver.ShardWorker;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Objects;
+
+/**
+ * Server exposing a {@link ShardWorker} to the coordinator of a sharded solve over TCP, so that
+ * each shard of a {@link assignmentproblem.shardedsolver.ShardedCostMatrix} can live in its own
+ * JVM. See {@link SocketShardTransport} for the framing of the messages.
+ *
+ * <p>The server only listens on the loopback interface. Each connection is served by its own
+ * thread, and the requests of all the connections are handled one at a time by the worker. A
+ * connection sending an invalid frame or request is closed, and the failure is reported on the
+ * standard error.
+ */
+public class ShardServer implements Closeable {
+    static final String USAGE = "usage: ShardServer [--port N] [--first-column N] < slice";
+    /** Delay before accepting connections again after a failed accept, in milliseconds. */
+    private static final long ACCEPT_RETRY_MILLIS = 100;
+    private final ShardWorker worker;
+    private final ServerSocketChannel serverChannel;
+    private final Thread acceptThread;
+
+    /**
+     * Initialise a server bound to the loopback interface. The server does not accept connections
+     * before {@link #start()} is called.
+     * @param worker Worker handling the requests.
+     * @param port Port to listen on, or 0 to use any free port, see {@link #getPort()}.
+     * @throws IOException if the server cannot listen on the port.
+     */
+    public ShardServer(ShardWorker worker, int port) throws IOException {
+        this.worker = Objects.requireNonNull(worker, "worker");
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        } catch (IOException e){
+            serverChannel.close();
+            throw e;
+        }
+        acceptThread = new Thread(this::accept, "shard-server-acceptor");
+        acceptThread.setDaemon(true);
+    }
+
+    /** Start accepting connections. */
+    public void start(){
+        acceptThread.start();
+    }
+
+    /**
+     * Get the port the server listens on.
+     * @return the local port of the server.
+     */
+    public int getPort(){
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    /**
+     * Stop accepting connections. Open connections are closed by their clients.
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        try {
+            acceptThread.join();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Main loop of the accepting thread. */
+    private void accept(){
+        int count = 0;
+        while (true){
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+                channel.socket().setTcpNoDelay(true);
+            } catch (ClosedChannelException e){
+                return;
+            } catch (IOException e){
+                //TODO log this properly
+                System.err.println("error: cannot accept a connection: " + e.getMessage());
+                try {
+                    //the failure may last, e.g. when out of file descriptors: do not spin
+                    Thread.sleep(ACCEPT_RETRY_MILLIS);
+                } catch (InterruptedException interrupted){
+                    return;
+                }
+                continue;
+            }
+            Thread connection = new Thread(() -> serve(channel), "shard-server-connection-"
+                + count++);
+            connection.setDaemon(true);
+            connection.start();
+        }
+    }
+
+    /**
+     * Answer the requests of a connection until it is closed.
+     * @param channel connected channel.
+     */
+    private void serve(SocketChannel channel){
+        try (SocketChannel connection = channel){
+            long[] request;
+            while ((request = SocketShardTransport.read(connection)) != null){
+                long[] response;
+                synchronized (worker){
+                    response = worker.handle(request);
+                }
+                SocketShardTransport.write(connection, response);
+            }
+        } catch (IOException | RuntimeException e){
+            //TODO log this properly
+            System.err.println("error: closing connection " + Thread.currentThread().getName() 
+                + ": " + e);
+        }
+    }
+
+    /**
+     * Start a shard server holding a slice of columns read from the standard input, in the binary
+     * format of {@link assignmentproblem.cli.BatchRunner}: the number of rows and columns of the
+     * slice followed by its costs, as big-endian 32-bit integers.
+     * @param args Command-line arguments, see {@link #USAGE}.
+     * @throws IOException if the slice cannot be read or the server cannot listen on the port.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port;
+        int firstColumn;
+        try {
+            CommandLine commandLine = new CommandLine(args, "port", "first-column");
+            port = commandLine.getInt("port", 7071, 0);
+            firstColumn = commandLine.getInt("first-column", 0, 0);
+        } catch (IllegalArgumentException e){
+            System.err.println("error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        DataInputStream input = new DataInputStream(new BufferedInputStream(System.in));
+        int nRows = input.readInt();
+        int nCols = input.readInt();
+        if (nRows <= 0 || nCols <= 0){
+            throw new IOException("Invalid slice size " + nRows + "*" + nCols);
+        }
+        int[][] costs = new int[nRows][nCols];
+        for (int[] row : costs){
+            for (int j = 0; j < nCols; j++){
+                row[j] = input.readInt();
+            }
+        }
+        ShardServer server = new ShardServer(new ShardWorker(costs, firstColumn), port);
+        server.start();
+        System.err.println("listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+            + ":" + server.getPort());
+        server.acceptThread.join();
+    }
+}
@@ -0,0 +1,99 @@
+package assignmentproblem.server;
+
+import assignmentproblem.shardedsolver.ShardTransport;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Transport to a {@link ShardServer} running on the local machine.
+ *
+ * <p>Each message is framed as a big-endian 32-bit count of values followed by the values as
+ * big-endian 64-bit integers. Requests are written as soon as they are sent, and the server
+ * answers them in order. A server failing to handle a request closes the connection.
+ */
+public class SocketShardTransport implements ShardTransport {
+    /** Maximum number of values of a message, to bound the memory used by a connection. */
+    static final int MAX_VALUES = 1 << 24;
+    private final SocketChannel channel;
+
+    /**
+     * Initialise a transport connected to a local shard server.
+     * @param port Port of the server on the loopback interface.
+     * @throws IOException if the connection cannot be established.
+     */
+    public SocketShardTransport(int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.socket().setTcpNoDelay(true);
+    }
+
+    @Override
+    public void send(long[] request) throws IOException {
+        write(channel, request);
+    }
+
+    @Override
+    public long[] receive() throws IOException {
+        long[] response = read(channel);
+        if (response == null){
+            throw new EOFException("connection closed by the shard server");
+        }
+        return response;
+    }
+
+    /**
+     * Write a message to a channel.
+     * @param channel blocking channel to write to.
+     * @param values values of the message.
+     * @throws IOException if the connection is broken.
+     */
+    static void write(SocketChannel channel, long[] values) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + Long.BYTES * values.length);
+        frame.putInt(values.length);
+        frame.asLongBuffer().put(values);
+        frame.clear();
+        while (frame.hasRemaining()){
+            channel.write(frame);
+        }
+    }
+
+    /**
+     * Read a message from a channel.
+     * @param channel blocking channel to read from.
+     * @return the values of the message, or null if the connection was closed between messages.
+     * @throws IOException if the connection is broken or the frame is invalid.
+     */
+    static long[] read(SocketChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+        if (channel.read(header) < 0){
+            return null;
+        }
+        readFully(channel, header);
+        int count = header.getInt(0);
+        if (count < 0 || count > MAX_VALUES){
+            throw new IOException("invalid message of " + count + " values");
+        }
+        ByteBuffer body = ByteBuffer.allocate(Long.BYTES * count);
+        readFully(channel, body);
+        body.flip();
+        long[] values = new long[count];
+        body.asLongBuffer().get(values);
+        return values;
+    }
+
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()){
+            if (channel.read(buffer) < 0){
+                throw new EOFException("connection closed in the middle of a message");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,82 @@
+package assignmentproblem.server;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Blocking client of a {@link SolverServer} running on the local machine.
+ *
+ * <p>A client sends one request at a time and is not thread-safe: concurrent callers SHOULD use
+ * one client each.
+ */
+public class SolverClient implements Closeable {
+    private final SocketChannel channel;
+    private final ByteBuffer header = ByteBuffer.allocate(Frames.RESPONSE_HEADER_BYTES 
+        + Integer.BYTES);
+    private int nextId = 0;
+
+    /**
+     * Initialise a client connected to a local server.
+     * @param port Port of the server on the loopback interface.
+     * @throws IOException if the connection cannot be established.
+     */
+    public SolverClient(int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.socket().setTcpNoDelay(true);
+    }
+
+    /**
+     * Solve an assignment problem on the server.
+     * @param costs Cost matrix of the problem.
+     * @return the column assigned to each row of the problem, or -1 if the row is not assigned.
+     * @throws IOException if the connection is broken.
+     * @throws IllegalArgumentException if the server rejected the cost matrix.
+     */
+    public int[] solve(int[][] costs) throws IOException {
+        int id = nextId++;
+        ByteBuffer request = Frames.request(id, costs);
+        while (request.hasRemaining()){
+            channel.write(request);
+        }
+        header.clear();
+        readFully(header);
+        header.flip();
+        int responseId = header.getInt();
+        int status = header.getInt();
+        int length = header.getInt();
+        if (responseId != id){
+            throw new IOException("received response " + responseId + " to request " + id);
+        }
+        if (status == Frames.STATUS_OK){
+            ByteBuffer body = ByteBuffer.allocate(Integer.BYTES * length);
+            readFully(body);
+            body.flip();
+            int[] assignments = new int[length];
+            body.asIntBuffer().get(assignments);
+            return assignments;
+        }
+        ByteBuffer message = ByteBuffer.allocate(length);
+        readFully(message);
+        //TODO log this properly
+        throw new IllegalArgumentException(new String(message.array(), StandardCharsets.UTF_8));
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()){
+            if (channel.read(buffer) < 0){
+                throw new EOFException("connection closed by the server");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
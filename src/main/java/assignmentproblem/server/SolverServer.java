@@ -0,0 +1,462 @@
+package assignmentproblem.server;
+
+import assignmentproblem.Result;
+import assignmentproblem.cli.CommandLine;
+import assignmentproblem.hungariansolver.HungarianCostMatrix;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Server solving assignment problems sent by local clients over TCP.
+ *
+ * <p>The server only listens on the loopback interface. A single selector thread reads the
+ * requests of all the connections, framed as described in {@link Frames}, and writes the
+ * responses back. Requests are solved by a fixed pool of worker threads: each worker takes all
+ * the requests waiting when it becomes idle, up to a maximum batch size, solves them and hands
+ * their responses over to the selector thread at once. Workers solve a few problems before the
+ * server starts listening so that the first requests do not pay for the warm-up of the JVM.
+ *
+ * <p>A connection sending an invalid frame is closed. A valid frame holding an invalid cost
+ * matrix, or whose solve fails, receives an error response. At most a fixed number of requests,
+ * holding at most a fixed total number of cells, wait for a worker: a request that would exceed
+ * either bound receives an error response without being solved. The buffer of a connection grows
+ * to hold a large request and is released once the request is parsed.
+ */
+public class SolverServer implements Closeable {
+    static final String USAGE = "usage: SolverServer [--port N] [--workers N] [--batch N] "
+        + "[--warmup N] [--queue N] [--queue-cells N]";
+    /** Maximum number of cells of a request, to bound the memory used by a connection. */
+    static final int MAX_CELLS = 1 << 24;
+    /** Default maximum number of requests waiting for a worker. */
+    static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    /** Default maximum total number of cells of the requests waiting for or being solved. */
+    static final int DEFAULT_MAX_QUEUED_CELLS = 1 << 26;
+    private static final int WARM_UP_SIZE = 64;
+    private static final int INITIAL_BUFFER_BYTES = 1 << 16;
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final BlockingQueue<Request> requests;
+    private final int maxQueuedCells;
+    /** Total number of cells of the requests queued and not solved yet. */
+    private final AtomicLong queuedCells = new AtomicLong();
+    /** Connections with responses to write, handed over to the selector thread. */
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final Thread[] workers;
+    private final Thread selectorThread;
+    private final CountDownLatch warmedUp;
+    private final int maxBatchSize;
+    private final int warmUpSolves;
+    private final LongAdder batchCount = new LongAdder();
+    private final LongAdder requestCount = new LongAdder();
+    private volatile boolean running = true;
+
+    /**
+     * Initialise a server bound to the loopback interface. The server does not accept connections
+     * before {@link #start()} is called.
+     * @param port Port to listen on, or 0 to use any free port, see {@link #getPort()}.
+     * @param workerCount Number of worker threads solving the requests.
+     * @param maxBatchSize Maximum number of requests taken at once by a worker.
+     * @param warmUpSolves Number of problems solved by each worker before the server starts.
+     * @throws IOException if the server cannot listen on the port.
+     */
+    public SolverServer(int port, int workerCount, int maxBatchSize, int warmUpSolves)
+            throws IOException {
+        this(port, workerCount, maxBatchSize, warmUpSolves, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Initialise a server bound to the loopback interface. The server does not accept connections
+     * before {@link #start()} is called.
+     * @param port Port to listen on, or 0 to use any free port, see {@link #getPort()}.
+     * @param workerCount Number of worker threads solving the requests.
+     * @param maxBatchSize Maximum number of requests taken at once by a worker.
+     * @param warmUpSolves Number of problems solved by each worker before the server starts.
+     * @param queueCapacity Maximum number of requests waiting for a worker.
+     * @throws IOException if the server cannot listen on the port.
+     */
+    public SolverServer(int port, int workerCount, int maxBatchSize, int warmUpSolves,
+            int queueCapacity) throws IOException {
+        this(port, workerCount, maxBatchSize, warmUpSolves, queueCapacity,
+            DEFAULT_MAX_QUEUED_CELLS);
+    }
+
+    /**
+     * Initialise a server bound to the loopback interface. The server does not accept connections
+     * before {@link #start()} is called.
+     * @param port Port to listen on, or 0 to use any free port, see {@link #getPort()}.
+     * @param workerCount Number of worker threads solving the requests.
+     * @param maxBatchSize Maximum number of requests taken at once by a worker.
+     * @param warmUpSolves Number of problems solved by each worker before the server starts.
+     * @param queueCapacity Maximum number of requests waiting for a worker.
+     * @param maxQueuedCells Maximum total number of cells of the requests waiting for a worker or
+     *     being solved, which bounds the memory held by the queued cost matrices.
+     * @throws IOException if the server cannot listen on the port.
+     */
+    public SolverServer(int port, int workerCount, int maxBatchSize, int warmUpSolves,
+            int queueCapacity, int maxQueuedCells) throws IOException {
+        if (workerCount <= 0 || maxBatchSize <= 0 || warmUpSolves < 0 || queueCapacity <= 0
+                || maxQueuedCells <= 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a server with " + workerCount
+                + " workers, batches of " + maxBatchSize + " requests, " + warmUpSolves
+                + " warm-up solves and a queue of " + queueCapacity + " requests and "
+                + maxQueuedCells + " cells");
+        }
+        requests = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxQueuedCells = maxQueuedCells;
+        this.maxBatchSize = maxBatchSize;
+        this.warmUpSolves = warmUpSolves;
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        try {
+            serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+            serverChannel.configureBlocking(false);
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e){
+            serverChannel.close();
+            selector.close();
+            throw e;
+        }
+        warmedUp = new CountDownLatch(workerCount);
+        workers = new Thread[workerCount];
+        for (int k = 0; k < workerCount; k++){
+            workers[k] = new Thread(this::work, "solver-server-worker-" + k);
+            workers[k].setDaemon(true);
+        }
+        selectorThread = new Thread(this::select, "solver-server-selector");
+        selectorThread.setDaemon(true);
+    }
+
+    /**
+     * Warm the workers up and start accepting connections.
+     * @throws InterruptedException if interrupted while waiting for the warm-up.
+     */
+    public void start() throws InterruptedException {
+        for (Thread worker : workers){
+            worker.start();
+        }
+        warmedUp.await();
+        selectorThread.start();
+    }
+
+    /**
+     * Get the port the server listens on.
+     * @return the local port of the server.
+     */
+    public int getPort(){
+        return ((InetSocketAddress) serverChannel.socket().getLocalSocketAddress()).getPort();
+    }
+
+    /**
+     * Get the number of requests solved since the server started.
+     * @return the number of solved requests, including the failed ones but not the ones
+     *     rejected because the queue was full or held too many cells.
+     */
+    public long getRequestCount(){
+        return requestCount.sum();
+    }
+
+    /**
+     * Get the number of batches solved since the server started.
+     * @return the number of batches, each of them holding between 1 and the maximum batch size
+     *     requests.
+     */
+    public long getBatchCount(){
+        return batchCount.sum();
+    }
+
+    /**
+     * Stop the server and close all its connections. Requests not solved yet are dropped.
+     * @throws IOException if the server channel cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        for (Thread worker : workers){
+            worker.interrupt();
+        }
+        selector.wakeup();
+        try {
+            selectorThread.join();
+        } catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+        }
+        for (SelectionKey key : selector.keys()){
+            key.channel().close();
+        }
+        selector.close();
+        serverChannel.close();
+    }
+
+    /** Main loop of a worker thread. */
+    private void work(){
+        HungarianSolver solver = new HungarianSolver(-1);
+        Random random = new Random(WARM_UP_SIZE);
+        for (int k = 0; k < warmUpSolves; k++){
+            int[][] costs = new int[WARM_UP_SIZE][];
+            for (int i = 0; i < WARM_UP_SIZE; i++){
+                costs[i] = random.ints(WARM_UP_SIZE, 0, 1000).toArray();
+            }
+            solver.solve(costs);
+        }
+        warmedUp.countDown();
+        List<Request> batch = new ArrayList<>(maxBatchSize);
+        while (running){
+            try {
+                batch.add(requests.take());
+            } catch (InterruptedException e){
+                return;
+            }
+            requests.drainTo(batch, maxBatchSize - 1);
+            batchCount.increment();
+            for (Request request : batch){
+                ByteBuffer response;
+                try {
+                    Result result = solver.solve(new HungarianCostMatrix(request.costs));
+                    int[] assignments = new int[result.getRowAssignments().size()];
+                    for (int i = 0; i < assignments.length; i++){
+                        Integer assignment = result.getRowAssignments().get(i);
+                        assignments[i] = Objects.equals(assignment, result.unassigned) ? -1
+                            : assignment;
+                    }
+                    response = Frames.result(request.id, assignments);
+                } catch (IllegalArgumentException e){
+                    response = Frames.error(request.id, e.getMessage());
+                } catch (RuntimeException e){
+                    //the solve failed: only this request fails, the worker goes on
+                    response = Frames.error(request.id, e.toString());
+                }
+                queuedCells.addAndGet(-(long) request.costs.length * request.costs[0].length);
+                requestCount.increment();
+                request.connection.responses.add(response);
+                pendingWrites.add(request.connection);
+            }
+            batch.clear();
+            selector.wakeup();
+        }
+    }
+
+    /** Main loop of the selector thread. */
+    private void select(){
+        try {
+            while (running){
+                selector.select();
+                Connection pending;
+                while ((pending = pendingWrites.poll()) != null){
+                    if (pending.key.isValid()){
+                        pending.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()){
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    try {
+                        if (key.isAcceptable()){
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isReadable()){
+                                read(connection);
+                            }
+                            if (key.isValid() && key.isWritable()){
+                                write(connection);
+                            }
+                        }
+                    } catch (IOException e){
+                        //the connection is broken: drop it
+                        key.cancel();
+                        key.channel().close();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e){
+            //TODO log this properly
+            running = false;
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null){
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    /**
+     * Read the available bytes of a connection and queue its complete requests.
+     * @param connection Readable connection.
+     * @throws IOException if the connection is broken, closed or sent an invalid frame.
+     */
+    private void read(Connection connection) throws IOException {
+        if (connection.channel.read(connection.input) < 0){
+            throw new IOException("connection closed by the client");
+        }
+        ByteBuffer input = connection.input;
+        input.flip();
+        while (input.remaining() >= Frames.REQUEST_HEADER_BYTES){
+            int position = input.position();
+            int id = input.getInt(position);
+            int nRows = input.getInt(position + 4);
+            int nCols = input.getInt(position + 8);
+            if (nRows <= 0 || nCols <= 0 || (long) nRows * nCols > MAX_CELLS){
+                throw new IOException("invalid request size " + nRows + "*" + nCols);
+            }
+            int length = Frames.REQUEST_HEADER_BYTES + Integer.BYTES * nRows * nCols;
+            if (input.remaining() < length){
+                if (input.capacity() < length){
+                    //grow the buffer to hold the whole request
+                    connection.input = ByteBuffer.allocate(length).put(input);
+                    return;
+                }
+                break;
+            }
+            long cells = (long) nRows * nCols;
+            if (queuedCells.addAndGet(cells) > maxQueuedCells){
+                //reject the request before allocating its cost matrix
+                queuedCells.addAndGet(-cells);
+                input.position(position + length);
+                reject(connection, id, queuedCells.get() + " cells waiting");
+                continue;
+            }
+            input.position(position + Frames.REQUEST_HEADER_BYTES);
+            int[][] costs = new int[nRows][nCols];
+            for (int[] row : costs){
+                for (int j = 0; j < nCols; j++){
+                    row[j] = input.getInt();
+                }
+            }
+            if (!requests.offer(new Request(connection, id, costs))){
+                queuedCells.addAndGet(-cells);
+                reject(connection, id, requests.size() + " requests waiting");
+            }
+        }
+        input.compact();
+        if (input.capacity() > INITIAL_BUFFER_BYTES && input.position() <= INITIAL_BUFFER_BYTES){
+            //release the buffer grown for a large request
+            input.flip();
+            connection.input = ByteBuffer.allocate(INITIAL_BUFFER_BYTES).put(input);
+        }
+    }
+
+    /**
+     * Send an error response to a request rejected because the server is overloaded.
+     * @param connection Connection of the request.
+     * @param id Identifier of the request.
+     * @param reason Load of the server, appended to the error message.
+     */
+    private void reject(Connection connection, int id, String reason){
+        connection.responses.add(Frames.error(id, "server overloaded: " + reason));
+        connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+    }
+
+    /**
+     * Write the pending responses of a connection.
+     * @param connection Writable connection.
+     * @throws IOException if the connection is broken.
+     */
+    private void write(Connection connection) throws IOException {
+        ByteBuffer response;
+        while ((response = connection.responses.peek()) != null){
+            connection.channel.write(response);
+            if (response.hasRemaining()){
+                return;
+            }
+            connection.responses.remove();
+        }
+        connection.key.interestOps(SelectionKey.OP_READ);
+        if (!connection.responses.isEmpty()){
+            //a worker added a response in between
+            connection.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Start a server until the JVM stops.
+     * @param args Command-line arguments, see {@link #USAGE}.
+     * @throws IOException if the server cannot listen on the port.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CommandLine commandLine;
+        int port;
+        int workerCount;
+        int maxBatchSize;
+        int warmUp;
+        int queueCapacity;
+        int maxQueuedCells;
+        try {
+            commandLine = new CommandLine(args, "port", "workers", "batch", "warmup", "queue",
+                "queue-cells");
+            port = commandLine.getInt("port", 7070, 0);
+            workerCount = commandLine.getInt("workers",
+                Runtime.getRuntime().availableProcessors(), 1);
+            maxBatchSize = commandLine.getInt("batch", 16, 1);
+            warmUp = commandLine.getInt("warmup", 200, 0);
+            queueCapacity = commandLine.getInt("queue", DEFAULT_QUEUE_CAPACITY, 1);
+            maxQueuedCells = commandLine.getInt("queue-cells", DEFAULT_MAX_QUEUED_CELLS, 1);
+        } catch (IllegalArgumentException e){
+            System.err.println("error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        SolverServer server = new SolverServer(port, workerCount, maxBatchSize, warmUp,
+            queueCapacity, maxQueuedCells);
+        server.start();
+        System.err.println("listening on " + InetAddress.getLoopbackAddress().getHostAddress()
+            + ":" + server.getPort());
+        server.selectorThread.join();
+    }
+
+    /** State of a client connection. */
+    private static final class Connection {
+        private final SocketChannel channel;
+        /** Bytes read but not parsed yet, in write mode. Only used by the selector thread. */
+        private ByteBuffer input = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+        private final Queue<ByteBuffer> responses = new ConcurrentLinkedQueue<>();
+        private SelectionKey key;
+
+        Connection(SocketChannel channel){
+            this.channel = channel;
+        }
+    }
+
+    /** Request waiting for a worker. */
+    private static final class Request {
+        private final Connection connection;
+        private final int id;
+        private final int[][] costs;
+
+        Request(Connection connection, int id, int[][] costs){
+            this.connection = connection;
+            this.id = id;
+            this.costs = costs;
+        }
+    }
+}
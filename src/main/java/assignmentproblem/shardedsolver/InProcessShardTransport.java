@@ -0,0 +1,45 @@
+package assignmentproblem.shardedsolver;
+
+import java.util.ArrayDeque;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Queue;
+
+/**
+ * Transport calling a {@link ShardWorker} of the same JVM directly, without serialising the
+ * messages. Requests are handled as soon as they are sent, by the sending thread: in-process
+ * shards never work concurrently, and this transport is meant for testing and for matrices that
+ * fit in a single JVM.
+ */
+public final class InProcessShardTransport implements ShardTransport {
+    private final ShardWorker worker;
+    private final Queue<long[]> responses = new ArrayDeque<>();
+
+    /**
+     * Initialise a transport to a local worker.
+     * @param worker worker handling the requests.
+     */
+    public InProcessShardTransport(ShardWorker worker){
+        this.worker = Objects.requireNonNull(worker, "worker");
+    }
+
+    @Override
+    public void send(long[] request){
+        responses.add(worker.handle(request));
+    }
+
+    @Override
+    public long[] receive(){
+        long[] response = responses.poll();
+        if (response == null){
+            //TODO log this properly
+            throw new NoSuchElementException("no request is waiting for its response");
+        }
+        return response;
+    }
+
+    @Override
+    public void close(){
+        responses.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package assignmentproblem.shardedsolver;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Channel between the coordinator of a {@link ShardedAuctionSolver} and the {@link ShardWorker}
+ * holding one shard of the columns of a cost matrix.
+ *
+ * <p>Messages are arrays of longs: a request starts with its operation, followed by its
+ * arguments, and the worker answers each request with a response, see
+ * {@link ShardWorker#handle(long[])}. Requests are pipelined: the coordinator sends its requests
+ * to all the shards before receiving any response, so that shards in other processes handle 
+ * them concurrently, and responses are received in the order of the requests. A transport is 
+ * not thread-safe.
+ */
+public interface ShardTransport extends Closeable {
+    /**
+     * Send a request to the worker without waiting for its response.
+     * @param request operation followed by its arguments.
+     * @throws IOException if the worker cannot be reached.
+     */
+    void send(long[] request) throws IOException;
+
+    /**
+     * Wait for the response to the oldest request whose response has not been received yet.
+     * @return the response of the worker.
+     * @throws IOException if the worker cannot be reached or failed to handle the request.
+     */
+    long[] receive() throws IOException;
+
+    /**
+     * Send a request to the worker and wait for its response.
+     * @param request operation followed by its arguments.
+     * @return the response of the worker.
+     * @throws IOException if the worker cannot be reached or failed to handle the request.
+     */
+    default long[] call(long[] request) throws IOException {
+        send(request);
+        return receive();
+    }
+}
@@ -0,0 +1,245 @@
+package assignmentproblem.shardedsolver;
+
+import java.util.Arrays;
+
+/**
+ * Holder of a contiguous range of columns of a cost matrix and of their prices in the auction run
+ * by a {@link ShardedAuctionSolver}.
+ *
+ * <p>The worker answers the requests of the coordinator, received through a
+ * {@link ShardTransport}: it finds the best and second best columns of the slice for the bidding
+ * rows, raises the prices of the columns won by the bids, and lists its cheapest columns for the
+ * implicit dummy rows. Columns are numbered as in the whole matrix. A worker handles one request
+ * at a time.
+ */
+public final class ShardWorker {
+    /** Request {@code [INFO]}, answered with the rows, columns, first column and largest cost. */
+    static final long INFO = 0;
+    /** Request {@code [RESET]}, setting all the prices to 0. Answered with an empty response. */
+    static final long RESET = 1;
+    /** Request {@code [MIN_PRICE]}, answered with the smallest price of the slice. */
+    static final long MIN_PRICE = 2;
+    /** Request {@code [SHIFT_PRICES, amount]}, lowering all the prices by the amount. */
+    static final long SHIFT_PRICES = 3;
+    /**
+     * Request {@code [BID, scale, row...]}, answered with the best column, the best value and the
+     * second best value of each row, where the value of a column is its cost times the scale plus
+     * its price. A missing second column has the value {@link Long#MAX_VALUE}.
+     */
+    static final long BID = 4;
+    /** Request {@code [RAISE, column, increment...]}, raising the price of each column. */
+    static final long RAISE = 5;
+    /**
+     * Request {@code [CHEAPEST, count]}, answered with the column and price of the {@code count}
+     * cheapest columns, or all of them if the slice is smaller, by increasing price then column.
+     */
+    static final long CHEAPEST = 6;
+    private static final long[] EMPTY = new long[0];
+    private final int[][] costs;
+    private final int nRows;
+    private final int nCols;
+    private final int firstColumn;
+    private final int maxCost;
+    private final long[] prices;
+
+    /**
+     * Initialise a worker holding a slice of columns.
+     * @param costs costs of every row in the columns of the slice, used without copy. The values
+     *     MUST be non-negative and the rows MUST have the same length.
+     * @param firstColumn index, in the whole matrix, of the first column of the slice.
+     * @throws NullPointerException if the slice or one of its rows is null.
+     * @throws IllegalArgumentException if the slice is empty, not rectangular or holds negative
+     *     values, or if the first column is negative.
+     */
+    public ShardWorker(int[][] costs, int firstColumn){
+        if (costs == null){
+            //TODO log this properly
+            throw new NullPointerException("tried to initialise a shard worker with a null slice");
+        }
+        if (costs.length == 0 || costs[0] == null || costs[0].length == 0 || firstColumn < 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a shard worker with an empty "
+                + "slice or first column " + firstColumn);
+        }
+        nRows = costs.length;
+        nCols = costs[0].length;
+        int max = 0;
+        for (int i = 0; i < nRows; i++){
+            if (costs[i] == null){
+                //TODO log this properly
+                throw new NullPointerException("row " + i + " of the slice is null");
+            }
+            if (costs[i].length != nCols){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to initialise a shard worker with a "
+                    + "non-rectangular slice: row " + i + " has " + costs[i].length + " cols");
+            }
+            for (int j = 0; j < nCols; j++){
+                if (costs[i][j] < 0){
+                    //TODO log this properly
+                    throw new IllegalArgumentException("Tried to initialise a shard worker where "
+                        + "cell [" + i + "][" + j + "] has negative value: " + costs[i][j]);
+                }
+                max = Math.max(max, costs[i][j]);
+            }
+        }
+        this.costs = costs;
+        this.firstColumn = firstColumn;
+        this.maxCost = max;
+        this.prices = new long[nCols];
+    }
+
+    /**
+     * Handle a request of the coordinator.
+     * @param request operation followed by its arguments.
+     * @return the response to the request.
+     * @throws IllegalArgumentException if the request is unknown or its arguments are invalid.
+     */
+    public long[] handle(long[] request){
+        if (request == null || request.length == 0){
+            //TODO log this properly
+            throw new IllegalArgumentException("Received an empty request");
+        }
+        long operation = request[0];
+        if (operation == INFO){
+            return new long[]{nRows, nCols, firstColumn, maxCost};
+        } else if (operation == RESET){
+            Arrays.fill(prices, 0);
+            return EMPTY;
+        } else if (operation == MIN_PRICE){
+            return new long[]{Arrays.stream(prices).min().getAsLong()};
+        } else if (operation == SHIFT_PRICES && request.length == 2){
+            for (int j = 0; j < nCols; j++){
+                prices[j] -= request[1];
+            }
+            return EMPTY;
+        } else if (operation == BID && request.length >= 2){
+            return bid(request);
+        } else if (operation == RAISE && request.length % 2 == 1){
+            for (int k = 1; k < request.length; k += 2){
+                prices[localColumn(request[k])] += request[k + 1];
+            }
+            return EMPTY;
+        } else if (operation == CHEAPEST && request.length == 2 && request[1] >= 0){
+            return cheapest((int) Math.min(request[1], nCols));
+        }
+        //TODO log this properly
+        throw new IllegalArgumentException("Received an invalid request " + operation + " with "
+            + (request.length - 1) + " arguments");
+    }
+
+    /**
+     * Find the best and second best columns of the bidding rows.
+     * @param request {@code [BID, scale, row...]}.
+     * @return the best column, best value and second best value of each row.
+     */
+    private long[] bid(long[] request){
+        long scale = request[1];
+        long[] response = new long[3 * (request.length - 2)];
+        for (int k = 2; k < request.length; k++){
+            if (request[k] < 0 || request[k] >= nRows){
+                //TODO log this properly
+                throw new IllegalArgumentException("Received a bid of row " + request[k]
+                    + " out of " + nRows);
+            }
+            int[] row = costs[(int) request[k]];
+            int best = 0;
+            long bestValue = Long.MAX_VALUE;
+            long secondValue = Long.MAX_VALUE;
+            for (int j = 0; j < nCols; j++){
+                long value = row[j] * scale + prices[j];
+                if (value < bestValue){
+                    secondValue = bestValue;
+                    bestValue = value;
+                    best = j;
+                } else if (value < secondValue){
+                    secondValue = value;
+                }
+            }
+            int offset = 3 * (k - 2);
+            response[offset] = firstColumn + best;
+            response[offset + 1] = bestValue;
+            response[offset + 2] = secondValue;
+        }
+        return response;
+    }
+
+    /**
+     * List the cheapest columns of the slice, keeping them in a max-heap while scanning the prices
+     * so that it takes O(m*log(count)) time for m columns.
+     * @param count number of columns to list, at most the number of columns of the slice.
+     * @return the column and price of each listed column.
+     */
+    private long[] cheapest(int count){
+        int[] heap = new int[count];
+        int size = 0;
+        for (int j = 0; j < nCols; j++){
+            if (size < count){
+                //sift the column up
+                int k = size++;
+                while (k > 0 && isCheaper(heap[(k - 1) / 2], j)){
+                    heap[k] = heap[(k - 1) / 2];
+                    k = (k - 1) / 2;
+                }
+                heap[k] = j;
+            } else if (count > 0 && isCheaper(j, heap[0])){
+                //replace the most expensive column and sift it down
+                int k = 0;
+                while (2 * k + 1 < size){
+                    int child = 2 * k + 1;
+                    if (child + 1 < size && isCheaper(heap[child], heap[child + 1])){
+                        child++;
+                    }
+                    if (!isCheaper(j, heap[child])){
+                        break;
+                    }
+                    heap[k] = heap[child];
+                    k = child;
+                }
+                heap[k] = j;
+            }
+        }
+        long[] response = new long[2 * count];
+        //pop the most expensive column into the last free slot
+        for (int end = size - 1; end >= 0; end--){
+            int top = heap[0];
+            int last = heap[end];
+            int k = 0;
+            while (2 * k + 1 < end){
+                int child = 2 * k + 1;
+                if (child + 1 < end && isCheaper(heap[child], heap[child + 1])){
+                    child++;
+                }
+                if (!isCheaper(last, heap[child])){
+                    break;
+                }
+                heap[k] = heap[child];
+                k = child;
+            }
+            heap[k] = last;
+            response[2 * end] = firstColumn + top;
+            response[2 * end + 1] = prices[top];
+        }
+        return response;
+    }
+
+    /**
+     * Compare two columns by price then index.
+     * @param a local index of a column.
+     * @param b local index of another column.
+     * @return true if column a comes before column b.
+     */
+    private boolean isCheaper(int a, int b){
+        return prices[a] < prices[b] || (prices[a] == prices[b] && a < b);
+    }
+
+    private int localColumn(long column){
+        long local = column - firstColumn;
+        if (local < 0 || local >= nCols){
+            //TODO log this properly
+            throw new IllegalArgumentException("Received a raise of column " + column
+                + " out of the slice starting at " + firstColumn);
+        }
+        return (int) local;
+    }
+}
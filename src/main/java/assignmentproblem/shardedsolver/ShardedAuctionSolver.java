@@ -0,0 +1,430 @@
+package assignmentproblem.shardedsolver;
+
+import assignmentproblem.ArrayResult;
+import assignmentproblem.Result;
+import assignmentproblem.Solver;
+import assignmentproblem.SolverCancelledException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Auction solver for cost matrices whose columns are sharded across several workers, see
+ * {@link ShardedCostMatrix}.
+ *
+ * <p>The solver is the coordinator of an epsilon-scaling auction, as in the cost-scaling core
+ * solver of {@link assignmentproblem.hungariansolver.HungarianSolver}, run in its Jacobi form:
+ * in each round, all the unassigned rows bid at once. Every shard finds the best and second best
+ * of its columns for each bidding row, the coordinator merges them, keeps the highest bid of each
+ * column and sends the raised prices to the shards owning the columns. The shards hold the costs
+ * and prices of their columns; the coordinator only holds the owner of each column, so it needs
+ * O(n+m) memory for n rows and m columns, and each round exchanges O(n) values with each shard.
+ * The requests of a round are sent to all the shards before any response is received, so that
+ * shards in other processes, such as the ones reached by a socket transport, handle them 
+ * concurrently. In-process shards handle each request on the coordinator thread when it is sent,
+ * one shard after the other, see {@link InProcessShardTransport}.
+ *
+ * <p>Extra columns are taken by implicit dummy rows of zero costs. The dummy rows are not sent
+ * to the shards: being interchangeable, the unassigned ones bid together for the cheapest
+ * columns, each raising the price of its column just above the next cheapest one. Dummy rows
+ * still outbid one another like the other rows: the solver suits matrices close to square.
+ */
+public class ShardedAuctionSolver implements Solver<ShardedCostMatrix> {
+    /** Number of in-process shards used by {@link #solve(int[][])}, at most one per column. */
+    public static final int DEFAULT_SHARDS = 4;
+    /** Factor by which epsilon is divided between two phases. */
+    static final int SCALING_FACTOR = 8;
+    private static final int NONE = -1;
+    /** Owner of the columns taken by a dummy row. */
+    private static final int DUMMY = -2;
+    private final Integer unassigned;
+
+    /**
+     * Initialise a solver.
+     * @param unassigned value used to mark unassigned rows and columns in the results.
+     */
+    public ShardedAuctionSolver(Integer unassigned){
+        this.unassigned = unassigned;
+    }
+
+    /**
+     * Solve a sharded cost matrix.
+     * @param costMatrix The sharded cost matrix to solve.
+     * @return the optimal assignment.
+     * @throws UncheckedIOException if a shard cannot be reached.
+     */
+    @Override
+    public Result solve(ShardedCostMatrix costMatrix){
+        return solve(costMatrix, () -> false);
+    }
+
+    /**
+     * Solve a sharded cost matrix, polling a cancellation token after each round of bids.
+     * @param costMatrix The sharded cost matrix to solve.
+     * @param cancelled Cancellation token of the solve.
+     * @return the optimal assignment.
+     * @throws SolverCancelledException If the token returned true before the solve completed.
+     * @throws UncheckedIOException if a shard cannot be reached.
+     */
+    @Override
+    public Result solve(ShardedCostMatrix costMatrix, BooleanSupplier cancelled){
+        return new Auction(costMatrix).run(cancelled);
+    }
+
+    /**
+     * Solve a cost matrix split into {@link #DEFAULT_SHARDS} in-process shards. A matrix with
+     * more rows than columns is sharded by rows.
+     * @param costMatrix The input matrix must be a valid input for a
+     *     {@link assignmentproblem.CostMatrix}.
+     * @return the optimal assignment.
+     */
+    public Result solve(int[][] costMatrix){
+        boolean transposed = costMatrix != null && costMatrix.length > 0 && costMatrix[0] != null
+            && costMatrix.length > costMatrix[0].length;
+        int[][] costs = transposed ? transpose(costMatrix) : costMatrix;
+        int shards = costs == null || costs.length == 0 || costs[0] == null ? 1
+            : Math.max(1, Math.min(DEFAULT_SHARDS, costs[0].length));
+        Result result = solve(ShardedCostMatrix.inProcess(costs, shards));
+        if (!transposed){
+            return result;
+        }
+        return new ArrayResult(result.getColumnAssignments().toArray(new Integer[0]),
+            result.getRowAssignments().toArray(new Integer[0]), unassigned);
+    }
+
+    /**
+     * Transpose a cost matrix.
+     * @param costMatrix matrix to transpose.
+     * @return the transposed matrix.
+     * @throws IllegalArgumentException if the matrix is not rectangular.
+     */
+    private static int[][] transpose(int[][] costMatrix){
+        int[][] transposed = new int[costMatrix[0].length][costMatrix.length];
+        for (int i = 0; i < costMatrix.length; i++){
+            if (costMatrix[i] == null || costMatrix[i].length != costMatrix[0].length){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to solve a non-rectangular cost matrix: "
+                    + "row " + i + " differs from row 0");
+            }
+            for (int j = 0; j < costMatrix[i].length; j++){
+                transposed[j][i] = costMatrix[i][j];
+            }
+        }
+        return transposed;
+    }
+
+    /** State of the coordinator during the solve of a matrix. */
+    private final class Auction {
+        private final ShardedCostMatrix costMatrix;
+        private final List<ShardTransport> shards;
+        private final int nRows;
+        private final int nCols;
+        /** Bidders are the rows followed by the dummy rows. */
+        private final long scale;
+        private final int[] colOwners;
+        private final int[] rowMatches;
+        /** Unassigned rows, which bid in the next round. */
+        private int[] activeRows;
+        private int nActiveRows;
+        private int activeDummies;
+        /** Highest bid of each column in the current round, or -1. */
+        private final long[] bestIncrements;
+        private final int[] bestBidders;
+        private long epsilon;
+
+        Auction(ShardedCostMatrix costMatrix){
+            this.costMatrix = costMatrix;
+            shards = costMatrix.shards;
+            nRows = costMatrix.nRows;
+            nCols = costMatrix.nCols;
+            scale = nCols + 1L;
+            colOwners = new int[nCols];
+            rowMatches = new int[nRows];
+            activeRows = new int[nRows];
+            bestIncrements = new long[nCols];
+            bestBidders = new int[nCols];
+        }
+
+        Result run(BooleanSupplier cancelled){
+            broadcast(new long[]{ShardWorker.RESET});
+            epsilon = Math.max(1, costMatrix.maxCost * scale / SCALING_FACTOR);
+            Arrays.fill(bestIncrements, NONE);
+            while (true){
+                checkCancelled(cancelled);
+                //only price differences matter: keep them small
+                long minPrice = Long.MAX_VALUE;
+                for (long[] response : broadcast(new long[]{ShardWorker.MIN_PRICE})){
+                    minPrice = Math.min(minPrice, response[0]);
+                }
+                broadcast(new long[]{ShardWorker.SHIFT_PRICES, minPrice});
+                Arrays.fill(colOwners, NONE);
+                Arrays.fill(rowMatches, NONE);
+                for (int i = 0; i < nRows; i++){
+                    activeRows[i] = i;
+                }
+                nActiveRows = nRows;
+                activeDummies = nCols - nRows;
+                while (nActiveRows > 0 || activeDummies > 0){
+                    bid();
+                    checkCancelled(cancelled);
+                }
+                if (epsilon == 1){
+                    break;
+                }
+                epsilon = Math.max(1, epsilon / SCALING_FACTOR);
+            }
+            Integer[] rows = new Integer[nRows];
+            Integer[] cols = new Integer[nCols];
+            Arrays.fill(cols, unassigned);
+            for (int i = 0; i < nRows; i++){
+                rows[i] = rowMatches[i];
+                cols[rowMatches[i]] = i;
+            }
+            return new ArrayResult(rows, cols, unassigned);
+        }
+
+        /**
+         * Run a round where every unassigned row bids for its best column, the unassigned dummy
+         * rows bid for the cheapest columns, and the highest bid of each column wins it.
+         */
+        private void bid(){
+            int nBidders = nActiveRows;
+            int nDummies = activeDummies;
+            long[] bidRequest = new long[nBidders + 2];
+            bidRequest[0] = ShardWorker.BID;
+            bidRequest[1] = scale;
+            for (int k = 0; k < nBidders; k++){
+                bidRequest[k + 2] = activeRows[k];
+            }
+            long[] cheapestRequest = {ShardWorker.CHEAPEST, nDummies + 1L};
+            send(nBidders > 0 ? bidRequest : null);
+            send(nDummies > 0 ? cheapestRequest : null);
+            long[][] bids = nBidders > 0 ? receive() : null;
+            long[][] cheapest = nDummies > 0 ? receive() : null;
+            int[] touchedCols = new int[nBidders + nDummies];
+            int nTouched = 0;
+            int[] bidCols = new int[nBidders];
+            for (int k = 0; k < nBidders; k++){
+                int best = NONE;
+                long bestValue = Long.MAX_VALUE;
+                long secondValue = Long.MAX_VALUE;
+                //merge the two best columns of each shard
+                for (long[] response : bids){
+                    long value = response[3 * k + 1];
+                    if (value < bestValue){
+                        secondValue = Math.min(bestValue, response[3 * k + 2]);
+                        bestValue = value;
+                        best = (int) response[3 * k];
+                    } else {
+                        secondValue = Math.min(secondValue, value);
+                    }
+                }
+                long increment = (secondValue == Long.MAX_VALUE ? 0 : secondValue - bestValue)
+                    + epsilon;
+                bidCols[k] = best;
+                nTouched = offer(best, activeRows[k], increment, touchedCols, nTouched);
+            }
+            if (nDummies > 0){
+                nTouched = bidDummies(cheapest, nDummies, touchedCols, nTouched);
+            }
+            int[] bidders = Arrays.copyOf(activeRows, nBidders);
+            nActiveRows = 0;
+            for (int k = 0; k < nBidders; k++){
+                if (bestBidders[bidCols[k]] != bidders[k]){
+                    activeRows[nActiveRows++] = bidders[k];
+                }
+            }
+            long[] increments = new long[nTouched];
+            for (int t = 0; t < nTouched; t++){
+                int col = touchedCols[t];
+                increments[t] = bestIncrements[col];
+                take(col, bestBidders[col]);
+                bestIncrements[col] = NONE;
+            }
+            raise(touchedCols, increments, nTouched);
+        }
+
+        /**
+         * Make the unassigned dummy rows bid for the cheapest columns, each raising the price of
+         * its column epsilon above the next cheapest column.
+         * @param responses cheapest columns of each shard.
+         * @param count number of unassigned dummy rows.
+         * @param touchedCols columns with a bid in the round.
+         * @param nTouched number of columns with a bid before the dummy rows.
+         * @return the number of columns with a bid after the dummy rows.
+         */
+        private int bidDummies(long[][] responses, int count, int[] touchedCols, int nTouched){
+            int total = 0;
+            for (long[] response : responses){
+                total += response.length / 2;
+            }
+            long[] cols = new long[total];
+            long[] prices = new long[total];
+            int n = 0;
+            for (long[] response : responses){
+                for (int k = 0; k < response.length; k += 2){
+                    cols[n] = response[k];
+                    prices[n++] = response[k + 1];
+                }
+            }
+            Integer[] order = new Integer[total];
+            for (int k = 0; k < total; k++){
+                order[k] = k;
+            }
+            Arrays.sort(order, Comparator.<Integer>comparingLong(k -> prices[k])
+                .thenComparingLong(k -> cols[k]));
+            long threshold = total > count ? prices[order[count]] : Long.MAX_VALUE;
+            for (int k = 0; k < count; k++){
+                long increment = (threshold == Long.MAX_VALUE ? 0 
+                    : threshold - prices[order[k]]) + epsilon;
+                nTouched = offer((int) cols[order[k]], DUMMY, increment, touchedCols, nTouched);
+            }
+            return nTouched;
+        }
+
+        /**
+         * Record a bid for a column if it is the highest one of the round so far.
+         * @param col column of the bid.
+         * @param bidder row making the bid, or {@link #DUMMY}.
+         * @param increment increment of the price of the column offered by the bid.
+         * @param touchedCols columns with a bid in the round.
+         * @param nTouched number of columns with a bid.
+         * @return the number of columns with a bid, including this one.
+         */
+        private int offer(int col, int bidder, long increment, int[] touchedCols, int nTouched){
+            if (bestIncrements[col] == NONE){
+                touchedCols[nTouched++] = col;
+            }
+            if (increment > bestIncrements[col]){
+                bestIncrements[col] = increment;
+                bestBidders[col] = bidder;
+            }
+            return nTouched;
+        }
+
+        /**
+         * Give a column to a bidder, evicting its previous owner.
+         * @param col column won by the bidder.
+         * @param bidder row winning the column, or {@link #DUMMY}.
+         */
+        private void take(int col, int bidder){
+            int evicted = colOwners[col];
+            if (evicted == DUMMY){
+                activeDummies++;
+            } else if (evicted != NONE){
+                rowMatches[evicted] = NONE;
+                activeRows[nActiveRows++] = evicted;
+            }
+            colOwners[col] = bidder;
+            if (bidder == DUMMY){
+                activeDummies--;
+            } else {
+                rowMatches[bidder] = col;
+            }
+        }
+
+        /**
+         * Send the raised prices of the columns to the shards owning them.
+         * @param cols columns whose price is raised.
+         * @param increments increment of the price of each column.
+         * @param count number of columns.
+         */
+        private void raise(int[] cols, long[] increments, int count){
+            int[] sizes = new int[shards.size()];
+            for (int k = 0; k < count; k++){
+                sizes[costMatrix.shardOf(cols[k])]++;
+            }
+            long[][] requests = new long[shards.size()][];
+            for (int s = 0; s < requests.length; s++){
+                requests[s] = new long[1 + 2 * sizes[s]];
+                requests[s][0] = ShardWorker.RAISE;
+                sizes[s] = 0;
+            }
+            for (int k = 0; k < count; k++){
+                int s = costMatrix.shardOf(cols[k]);
+                long[] request = requests[s];
+                request[1 + 2 * sizes[s]] = cols[k];
+                request[2 + 2 * sizes[s]] = increments[k];
+                sizes[s]++;
+            }
+            for (int s = 0; s < requests.length; s++){
+                if (sizes[s] > 0){
+                    try {
+                        shards.get(s).send(requests[s]);
+                    } catch (IOException e){
+                        throw new UncheckedIOException("shard " + s + " failed", e);
+                    }
+                }
+            }
+            for (int s = 0; s < requests.length; s++){
+                if (sizes[s] > 0){
+                    try {
+                        shards.get(s).receive();
+                    } catch (IOException e){
+                        throw new UncheckedIOException("shard " + s + " failed", e);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Send a request to every shard and wait for all the responses.
+         * @param request request sent to each shard.
+         * @return the response of each shard.
+         * @throws UncheckedIOException if a shard cannot be reached.
+         */
+        private long[][] broadcast(long[] request){
+            send(request);
+            return receive();
+        }
+
+        /**
+         * Send a request to every shard without waiting for the responses.
+         * @param request request sent to each shard, or null to send nothing.
+         * @throws UncheckedIOException if a shard cannot be reached.
+         */
+        private void send(long[] request){
+            if (request == null){
+                return;
+            }
+            for (int s = 0; s < shards.size(); s++){
+                try {
+                    shards.get(s).send(request);
+                } catch (IOException e){
+                    throw new UncheckedIOException("shard " + s + " failed", e);
+                }
+            }
+        }
+
+        /**
+         * Receive the response of every shard to their oldest pending request.
+         * @return the response of each shard.
+         * @throws UncheckedIOException if a shard cannot be reached.
+         */
+        private long[][] receive(){
+            long[][] responses = new long[shards.size()][];
+            for (int s = 0; s < responses.length; s++){
+                try {
+                    responses[s] = shards.get(s).receive();
+                } catch (IOException e){
+                    throw new UncheckedIOException("shard " + s + " failed", e);
+                }
+            }
+            return responses;
+        }
+
+        /**
+         * Stop the solve if it has been cancelled.
+         * @param cancelled Cancellation token of the solve.
+         */
+        private void checkCancelled(BooleanSupplier cancelled){
+            if (cancelled.getAsBoolean()){
+                throw new SolverCancelledException("solve cancelled in the scaling phase with "
+                    + "epsilon " + epsilon);
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package assignmentproblem.shardedsolver;
+
+import assignmentproblem.CostMatrix;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cost matrix whose columns are split into contiguous shards, each held by a {@link ShardWorker}
+ * reached through a {@link ShardTransport}, possibly in another JVM.
+ *
+ * <p>The cells are never gathered: the matrix only knows the dimensions and the largest cost of
+ * the shards. The matrix MUST have at least as many columns as rows; a matrix with more rows
+ * should be sharded by its rows instead, as the columns of its transpose. The transports are not
+ * closed by the matrix.
+ */
+public class ShardedCostMatrix extends CostMatrix {
+    private static final int INFO_ROWS = 0;
+    private static final int INFO_COLS = 1;
+    private static final int INFO_FIRST_COLUMN = 2;
+    private static final int INFO_MAX_COST = 3;
+    final List<ShardTransport> shards;
+    final int nRows;
+    final int nCols;
+    final int maxCost;
+    /** Index of the first column of each shard. */
+    final int[] firstColumns;
+
+    /**
+     * Initialise a matrix from its shards.
+     * @param shards transports to the workers holding the columns, in the order of the columns.
+     * @throws IOException if a worker cannot be reached.
+     * @throws IllegalArgumentException if there is no shard, if the shards do not have the same
+     *     rows, if they do not hold consecutive columns from the first one, or if there are more
+     *     rows than columns.
+     */
+    public ShardedCostMatrix(List<? extends ShardTransport> shards) throws IOException {
+        this(shards, describe(shards));
+    }
+
+    private ShardedCostMatrix(List<? extends ShardTransport> shards, long[][] infos){
+        super((int) infos[0][INFO_ROWS], countColumns(infos));
+        nRows = (int) infos[0][INFO_ROWS];
+        nCols = countColumns(infos);
+        if (nRows > nCols){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a sharded cost matrix with "
+                + nRows + " rows and only " + nCols + " cols");
+        }
+        int max = 0;
+        for (long[] info : infos){
+            max = Math.max(max, (int) info[INFO_MAX_COST]);
+        }
+        maxCost = max;
+        firstColumns = new int[infos.length];
+        for (int s = 0; s < infos.length; s++){
+            firstColumns[s] = (int) infos[s][INFO_FIRST_COLUMN];
+        }
+        this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+    }
+
+    /**
+     * Split a cost matrix into shards of consecutive columns held by workers of this JVM.
+     * @param costMatrix The input matrix must be a valid input for a {@link CostMatrix}, with at
+     *     least as many columns as rows.
+     * @param shardCount number of shards, at most the number of columns.
+     * @return the sharded matrix.
+     * @throws IllegalArgumentException if the matrix is invalid or the number of shards is not
+     *     between 1 and the number of columns.
+     */
+    public static ShardedCostMatrix inProcess(int[][] costMatrix, int shardCount){
+        if (costMatrix == null || costMatrix.length == 0 || costMatrix[0] == null){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to shard an empty cost matrix");
+        }
+        int nCols = costMatrix[0].length;
+        if (shardCount <= 0 || shardCount > nCols){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to split " + nCols + " cols into "
+                + shardCount + " shards");
+        }
+        List<ShardTransport> shards = new ArrayList<>(shardCount);
+        for (int s = 0; s < shardCount; s++){
+            int first = (int) ((long) nCols * s / shardCount);
+            int end = (int) ((long) nCols * (s + 1) / shardCount);
+            shards.add(new InProcessShardTransport(new ShardWorker(slice(costMatrix, first, end),
+                first)));
+        }
+        try {
+            return new ShardedCostMatrix(shards);
+        } catch (IOException e){
+            throw new IllegalStateException("in-process shards cannot fail", e);
+        }
+    }
+
+    /**
+     * Copy a range of columns of a matrix.
+     * @param costMatrix matrix to copy from.
+     * @param first first column of the range.
+     * @param end column following the range.
+     * @return the costs of every row in the range.
+     * @throws IllegalArgumentException if the matrix is not rectangular.
+     */
+    static int[][] slice(int[][] costMatrix, int first, int end){
+        int[][] slice = new int[costMatrix.length][];
+        for (int i = 0; i < costMatrix.length; i++){
+            if (costMatrix[i] == null || costMatrix[i].length != costMatrix[0].length){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to shard a non-rectangular cost matrix: "
+                    + "row " + i + " differs from row 0");
+            }
+            slice[i] = Arrays.copyOfRange(costMatrix[i], first, end);
+        }
+        return slice;
+    }
+
+    /**
+     * Ask each worker for the dimensions of its shard.
+     * @param shards transports to the workers.
+     * @return the response of each worker to {@link ShardWorker#INFO}.
+     * @throws IOException if a worker cannot be reached.
+     */
+    private static long[][] describe(List<? extends ShardTransport> shards) throws IOException {
+        if (shards == null || shards.isEmpty()){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a sharded cost matrix without "
+                + "shards");
+        }
+        long[][] infos = new long[shards.size()][];
+        for (int s = 0; s < infos.length; s++){
+            infos[s] = shards.get(s).call(new long[]{ShardWorker.INFO});
+        }
+        return infos;
+    }
+
+    /**
+     * Check that the shards hold the same rows and consecutive columns, and count the columns.
+     * @param infos response of each worker to {@link ShardWorker#INFO}.
+     * @return the number of columns of the matrix.
+     */
+    private static int countColumns(long[][] infos){
+        long nCols = 0;
+        for (int s = 0; s < infos.length; s++){
+            if (infos[s][INFO_ROWS] != infos[0][INFO_ROWS] || infos[s][INFO_FIRST_COLUMN] != nCols){
+                //TODO log this properly
+                throw new IllegalArgumentException("Tried to initialise a sharded cost matrix "
+                    + "where shard " + s + " has " + infos[s][INFO_ROWS] + " rows from column "
+                    + infos[s][INFO_FIRST_COLUMN] + ", expected " + infos[0][INFO_ROWS]
+                    + " rows from column " + nCols);
+            }
+            nCols += infos[s][INFO_COLS];
+        }
+        if (nCols > Integer.MAX_VALUE){
+            //TODO log this properly
+            throw new IllegalArgumentException("Tried to initialise a sharded cost matrix with "
+                + nCols + " cols");
+        }
+        return (int) nCols;
+    }
+
+    /**
+     * Find the shard holding a column.
+     * @param column index of the column in the matrix.
+     * @return the index of its shard.
+     */
+    int shardOf(int column){
+        int index = Arrays.binarySearch(firstColumns, column);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Get the number of shards of the matrix.
+     * @return the number of shards.
+     */
+    public int getShardCount(){
+        return shards.size();
+    }
+}
@@ -0,0 +1,20 @@
+package assignmentproblem;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ArrayResultTest {
+    
+    @Test
+    public void getAssignments(){
+        Result result = new ArrayResult(new Integer[]{1, -1}, new Integer[]{-1, 0, -1}, -1);
+        Assertions.assertEquals(Arrays.asList(1, -1), result.getRowAssignments());
+        Assertions.assertEquals(Arrays.asList(-1, 0, -1), result.getColumnAssignments());
+        Assertions.assertEquals(-1, result.unassigned);
+        Assertions.assertThrows(UnsupportedOperationException.class, 
+            () -> result.getRowAssignments().set(0, 0));
+        Assertions.assertThrows(UnsupportedOperationException.class, 
+            () -> result.getColumnAssignments().set(0, 0));
+    }
+}
@@ -0,0 +1,96 @@
+package assignmentproblem;
+
+import assignmentproblem.hungariansolver.HungarianCostMatrix;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BoundedExecutorTest {
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(NullPointerException.class, () -> new BoundedExecutor(null, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new BoundedExecutor(Runnable::run, 0));
+    }
+    
+    @Test
+    public void execute_limitsConcurrency() throws InterruptedException{
+        final int limit = 3;
+        final int tasks = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(10);
+        try {
+            BoundedExecutor executor = new BoundedExecutor(pool, limit);
+            AtomicInteger running = new AtomicInteger();
+            AtomicInteger maxRunning = new AtomicInteger();
+            CountDownLatch done = new CountDownLatch(tasks);
+            for (int i = 0; i < tasks; i++){
+                executor.execute(() -> {
+                    int current = running.incrementAndGet();
+                    maxRunning.accumulateAndGet(current, Math::max);
+                    try {
+                        Thread.sleep(1);
+                    } catch (InterruptedException e){
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            Assertions.assertTrue(done.await(10, TimeUnit.SECONDS), "all tasks must complete");
+            Assertions.assertTrue(maxRunning.get() <= limit, 
+                "at most " + limit + " tasks must run concurrently, got " + maxRunning.get());
+            Assertions.assertEquals(0, executor.getQueuedCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    public void execute_delegateRejects() throws InterruptedException, TimeoutException{
+        final int accepted = 5;
+        final int tasks = 40;
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            AtomicInteger submitted = new AtomicInteger();
+            Executor rejecting = task -> {
+                if (submitted.incrementAndGet() > accepted){
+                    throw new RejectedExecutionException("delegate saturated");
+                }
+                pool.execute(task);
+            };
+            BoundedExecutor executor = new BoundedExecutor(rejecting, 2);
+            HungarianSolver solver = new HungarianSolver(-1);
+            List<CompletableFuture<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < tasks; i++){
+                int[][] costMatrix = {{i, 1, 2}, {2, i, 1}, {1, 2, i}};
+                futures.add(solver.solveAsync(new HungarianCostMatrix(costMatrix), executor));
+            }
+            int rejected = 0;
+            for (CompletableFuture<Result> future : futures){
+                try {
+                    future.get(10, TimeUnit.SECONDS);
+                } catch (ExecutionException e){
+                    Assertions.assertTrue(e.getCause() instanceof RejectedExecutionException);
+                    rejected++;
+                }
+            }
+            Assertions.assertEquals(tasks - accepted, rejected);
+            Assertions.assertEquals(0, executor.getQueuedCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package assignmentproblem;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 import test.tools.TestFramework;
 
@@ -49,6 +50,14 @@ public class CostMatrixTest implements TestFramework<CostMatrixArguments>{
             }
         });
     }
+    
+    @Test
+    public void constructor_dimensions(){
+        new SimpleCostMatrix(1, 3);//simply expect not to fail
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SimpleCostMatrix(0, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SimpleCostMatrix(3, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new SimpleCostMatrix(-1, 1));
+    }
 }
 
 
@@ -57,4 +66,8 @@ class SimpleCostMatrix extends CostMatrix{
     public SimpleCostMatrix(int[][] costMatrix) {
         super(costMatrix);
     }
+    
+    public SimpleCostMatrix(int nRows, int nCols) {
+        super(nRows, nCols);
+    }
 }
\ No newline at end of file
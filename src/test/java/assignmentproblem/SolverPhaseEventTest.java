@@ -0,0 +1,86 @@
+package assignmentproblem;
+
+import assignmentproblem.hungariansolver.CoreSolverType;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import assignmentproblem.hungariansolver.ReducerType;
+import assignmentproblem.hungariansolver.SolverStrategy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.EventType;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SolverPhaseEventTest {
+    private static final String NAME = "assignmentproblem.SolverPhase";
+    private static final int[][] VERTICAL = new int[][]{
+        {1, 2, 25, 13},
+        {5, 7, 25, 15},
+        {10, 13, 16, 14},
+        {17, 21, 11, 18},
+        {15, 15, 15, 14}};
+    
+    /**
+     * Solve the vertical matrix with Munkres' algorithm.
+     * @param enable true if the event must be enabled in the recording.
+     * @return the events recorded during the solve, by phase.
+     */
+    private static Map<String, RecordedEvent> record(boolean enable) throws IOException{
+        Path file = Files.createTempFile("solver-phases", ".jfr");
+        try (Recording recording = new Recording()){
+            if (enable){
+                recording.enable(NAME);
+            }
+            recording.start();
+            new HungarianSolver(null, SolverStrategy.fixed(ReducerType.ROW, CoreSolverType.MUNKRES))
+                .solve(VERTICAL);
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            Map<String, RecordedEvent> phases = new HashMap<>();
+            for (RecordedEvent event : events){
+                if (event.getEventType().getName().equals(NAME)){
+                    phases.put(event.getString("phase"), event);
+                }
+            }
+            return phases;
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+    
+    @Test
+    public void disabledByDefault() throws IOException{
+        Assertions.assertFalse(EventType.getEventType(SolverPhaseEvent.class).isEnabled());
+        //no event is allocated while the type is disabled
+        Assertions.assertSame(SolverPhaseEvent.start(SolverPhaseEvent.CORE, 1, 1), 
+            SolverPhaseEvent.start(SolverPhaseEvent.COPY, 2, 2));
+        Assertions.assertTrue(record(false).isEmpty());
+    }
+    
+    @Test
+    public void recordsEachPhase() throws IOException{
+        Map<String, RecordedEvent> phases = record(true);
+        for (String phase : new String[]{SolverPhaseEvent.VALIDATION, SolverPhaseEvent.COPY, 
+                SolverPhaseEvent.TRANSPOSE, SolverPhaseEvent.REDUCTION, SolverPhaseEvent.CORE}){
+            Assertions.assertTrue(phases.containsKey(phase), "missing phase " + phase);
+        }
+        RecordedEvent copy = phases.get(SolverPhaseEvent.COPY);
+        Assertions.assertEquals(5, copy.getInt("rows"));
+        Assertions.assertEquals(4, copy.getInt("columns"));
+        //the core solver runs on the transposed matrix
+        RecordedEvent core = phases.get(SolverPhaseEvent.CORE);
+        Assertions.assertEquals(4, core.getInt("rows"));
+        Assertions.assertEquals(5, core.getInt("columns"));
+        //the initial starring assigns 2 of the 4 rows, the 2 others take an augmenting path each
+        Assertions.assertEquals(2, core.getLong("augmentations"));
+        Assertions.assertEquals(2, core.getLong("matrixAlterations"));
+        Assertions.assertTrue(phases.get(SolverPhaseEvent.TRANSPOSE).getLong("allocatedBytes") > 0);
+    }
+}
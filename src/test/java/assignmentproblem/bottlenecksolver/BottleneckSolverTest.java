@@ -0,0 +1,125 @@
+package assignmentproblem.bottlenecksolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.TestFramework;
+
+public class BottleneckSolverTest implements TestFramework<BottleneckSolverTest.TestCase>{
+    static final Integer UNASSIGNED_VALUE = -1;
+    
+    /** Cost matrix with its optimal bottleneck. */
+    static class TestCase {
+        final int[][] costMatrix;
+        final int bottleneck;
+        final String name;
+        
+        TestCase(int[][] costMatrix, int bottleneck, String name){
+            this.costMatrix = costMatrix;
+            this.bottleneck = bottleneck;
+            this.name = name;
+        }
+        
+        @Override
+        public String toString(){
+            return name;
+        }
+    }
+
+    @Override
+    public Stream<TestCase> argumentsSupplier() {
+        Random random = new Random(42);
+        return Stream.concat(Stream.of(
+                new TestCase(new int[][]{{7}}, 7, "1*1 matrix"),
+                new TestCase(new int[][]{{1,2,25,13},{5,7,25,15},{10,13,16,14},{17,21,11,18},
+                    {15,15,15,14}}, 13, "5*4 matrix"),
+                new TestCase(new int[][]{{1,9,9},{9,9,1}}, 1, "2*3 matrix with isolated minima"),
+                new TestCase(new int[][]{{5,5,5},{5,5,5},{5,5,5}}, 5, "constant 3*3 matrix"),
+                new TestCase(new int[][]{{0,3},{3,100}}, 3, 
+                    "2*2 matrix where the minimum sum is not the minimum bottleneck")),
+            IntStream.range(0, 20).mapToObj(k -> {
+                int[][] matrix = new int[2 + random.nextInt(5)][2 + random.nextInt(5)];
+                for (int[] row : matrix){
+                    for (int j = 0; j < row.length; j++){
+                        row[j] = random.nextInt(20);
+                    }
+                }
+                return new TestCase(matrix, bruteForce(matrix), "random matrix " + k);
+            }));
+    }
+    
+    /**
+     * Compute the optimal bottleneck by enumerating all assignments.
+     * @param matrix small cost matrix.
+     * @return the smallest largest cost over all assignments of the smaller side.
+     */
+    static int bruteForce(int[][] matrix){
+        boolean horizontal = matrix.length <= matrix[0].length;
+        int size = horizontal ? matrix.length : matrix[0].length;
+        int other = horizontal ? matrix[0].length : matrix.length;
+        return bruteForce(matrix, horizontal, 0, size, new boolean[other], 0);
+    }
+    
+    private static int bruteForce(int[][] matrix, boolean horizontal, int index, int size, 
+            boolean[] used, int current){
+        if (index == size){
+            return current;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int k = 0; k < used.length; k++){
+            if (!used[k]){
+                used[k] = true;
+                int cost = horizontal ? matrix[index][k] : matrix[k][index];
+                best = Math.min(best, bruteForce(matrix, horizontal, index + 1, size, used, 
+                    Math.max(current, cost)));
+                used[k] = false;
+            }
+        }
+        return best;
+    }
+    
+    @TestFactory
+    public Stream<DynamicNode> solve(){
+        return test("solve", args -> {
+            Result result = new BottleneckSolver(UNASSIGNED_VALUE).solve(args.costMatrix);
+            List<Integer> rows = result.getRowAssignments();
+            List<Integer> cols = result.getColumnAssignments();
+            Assertions.assertEquals(args.costMatrix.length, rows.size());
+            Assertions.assertEquals(args.costMatrix[0].length, cols.size());
+            int assigned = 0;
+            int bottleneck = 0;
+            for (int i = 0; i < rows.size(); i++){
+                if (rows.get(i).equals(UNASSIGNED_VALUE)){
+                    continue;
+                }
+                assigned++;
+                Assertions.assertEquals(i, cols.get(rows.get(i)), 
+                    "row and column assignments must match");
+                bottleneck = Math.max(bottleneck, args.costMatrix[i][rows.get(i)]);
+            }
+            Assertions.assertEquals(Math.min(rows.size(), cols.size()), assigned, 
+                "the smaller side must be completely assigned");
+            Assertions.assertEquals(args.bottleneck, bottleneck);
+        });
+    }
+    
+    @Test
+    public void solve_cancelled(){
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new BottleneckSolver(UNASSIGNED_VALUE).solve(
+                new BottleneckCostMatrix(new int[][]{{1,2},{3,4}}), () -> true));
+    }
+    
+    @Test
+    public void constructor_invalidMatrix(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new BottleneckSolver(UNASSIGNED_VALUE).solve(new int[][]{{1,-2},{3,4}}));
+    }
+}
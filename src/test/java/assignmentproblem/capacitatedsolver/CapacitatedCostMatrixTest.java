@@ -0,0 +1,37 @@
+package assignmentproblem.capacitatedsolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CapacitatedCostMatrixTest {
+    
+    @Test
+    public void constructor_invalidInput(){
+        int[][] costs = {{1, 2, 3}, {4, 5, 6}};
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(new int[][]{{1}, {2, 3}}, new int[]{1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(costs, null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(costs, new int[]{1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(costs, new int[]{1, -1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(costs, new int[]{1, 1, 1, 1}, new int[]{1, 1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedCostMatrix(costs, new int[]{-2, 1}, new int[]{1, 1, 1}));
+    }
+    
+    @Test
+    public void constructor_unitCapacities(){
+        CapacitatedCostMatrix plain = new CapacitatedCostMatrix(new int[][]{{1, 2, 3}, {4, 5, 6}});
+        Assertions.assertArrayEquals(new int[]{1, 1}, plain.rowCapacities);
+        Assertions.assertArrayEquals(new int[]{1, 1, 1}, plain.colCapacities);
+        CapacitatedCostMatrix semi = 
+            new CapacitatedCostMatrix(new int[][]{{1, 2, 3}, {4, 5, 6}}, new int[]{3, 0, 2});
+        Assertions.assertArrayEquals(new int[]{1, 1}, semi.rowCapacities);
+        Assertions.assertArrayEquals(new int[]{3, 0, 2}, semi.colCapacities);
+    }
+}
@@ -0,0 +1,171 @@
+package assignmentproblem.capacitatedsolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.util.Collections;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class CapacitatedSolverTest {
+    static final Integer UNASSIGNED_VALUE = -1;
+    
+    @Test
+    public void solve_unitCapacities(){
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 30; attempt++){
+            int[][] costs = randomCosts(random, 1 + random.nextInt(8), 1 + random.nextInt(8));
+            Result expected = new HungarianSolver(UNASSIGNED_VALUE).solve(costs);
+            CapacitatedResult result = new CapacitatedSolver(UNASSIGNED_VALUE).solve(costs);
+            Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                totalCost(costs, result), "Failed at attempt " + attempt);
+            for (int i = 0; i < costs.length; i++){
+                Integer j = result.getRowAssignments().get(i);
+                if (!UNASSIGNED_VALUE.equals(j)){
+                    Assertions.assertEquals(i, result.getColumnAssignments().get(j));
+                    Assertions.assertEquals(Collections.singletonMap(j, 1), 
+                        result.getRowAllocations(i));
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void solve_againstDuplicatedLines(){
+        Random random = new Random(43);
+        for (int attempt = 0; attempt < 30; attempt++){
+            int[][] costs = randomCosts(random, 1 + random.nextInt(5), 1 + random.nextInt(5));
+            int[] rowCapacities = random.ints(costs.length, 0, 4).toArray();
+            int[] colCapacities = random.ints(costs[0].length, 0, 4).toArray();
+            rowCapacities[0]++;
+            colCapacities[0]++;
+            int[][] duplicated = duplicate(costs, rowCapacities, colCapacities);
+            Result expected = new HungarianSolver(UNASSIGNED_VALUE).solve(duplicated);
+            CapacitatedResult result = new CapacitatedSolver(UNASSIGNED_VALUE)
+                .solve(new CapacitatedCostMatrix(costs, rowCapacities, colCapacities));
+            Assertions.assertEquals(Assignments.totalCost(duplicated, expected), 
+                totalCost(costs, result), "Failed at attempt " + attempt);
+            long units = 0;
+            for (int i = 0; i < costs.length; i++){
+                int rowUnits = 0;
+                for (int amount : result.getRowAllocations(i).values()){
+                    rowUnits += amount;
+                }
+                Assertions.assertTrue(rowUnits <= rowCapacities[i]);
+                units += rowUnits;
+            }
+            for (int j = 0; j < costs[0].length; j++){
+                int colUnits = 0;
+                for (int amount : result.getColumnAllocations(j).values()){
+                    colUnits += amount;
+                }
+                Assertions.assertTrue(colUnits <= colCapacities[j]);
+            }
+            Assertions.assertEquals(Math.min(duplicated.length, duplicated[0].length), units);
+        }
+    }
+    
+    @Test
+    public void solve_largeCapacities(){
+        //the number of paths does not depend on the capacities
+        int[][] costs = {{1, 2}, {3, 1}};
+        CapacitatedResult result = new CapacitatedSolver(UNASSIGNED_VALUE).solve(
+            new CapacitatedCostMatrix(costs, new int[]{1_000_000_000, 1_000_000_000}, 
+                new int[]{1_000_000_000, 5}));
+        Assertions.assertEquals(1_000_000_000, result.getAmount(0, 0));
+        Assertions.assertEquals(0, result.getAmount(0, 1));
+        Assertions.assertEquals(0, result.getAmount(1, 0));
+        Assertions.assertEquals(5, result.getAmount(1, 1));
+        Assertions.assertEquals(0, result.getRowAssignments().get(0));
+        Assertions.assertEquals(1, result.getRowAssignments().get(1));
+    }
+    
+    @Test
+    public void solve_semiAssignment(){
+        //three workers, a job taking two of them and a job taking one
+        int[][] costs = {{1, 4}, {2, 8}, {3, 5}};
+        CapacitatedResult result = new CapacitatedSolver(UNASSIGNED_VALUE)
+            .solve(new CapacitatedCostMatrix(costs, new int[]{2, 1}));
+        //workers 0 and 1 share job 0: 1 + 2 + 5 = 8 beats 2 + 3 + 4 = 9
+        Assertions.assertEquals(0, result.getRowAssignments().get(0));
+        Assertions.assertEquals(0, result.getRowAssignments().get(1));
+        Assertions.assertEquals(1, result.getRowAssignments().get(2));
+        Assertions.assertEquals(2, result.getColumnAllocations(0).size());
+        Assertions.assertEquals(8, totalCost(costs, result));
+    }
+    
+    @Test
+    public void solve_zeroCapacities(){
+        CapacitatedResult result = new CapacitatedSolver(UNASSIGNED_VALUE)
+            .solve(new CapacitatedCostMatrix(new int[][]{{1, 2}}, new int[]{0}, new int[]{1, 1}));
+        Assertions.assertEquals(UNASSIGNED_VALUE, result.getRowAssignments().get(0));
+        Assertions.assertEquals(UNASSIGNED_VALUE, result.getColumnAssignments().get(1));
+        Assertions.assertTrue(result.getRowAllocations(0).isEmpty());
+    }
+    
+    @Test
+    public void solve_cancelled(){
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new CapacitatedSolver(UNASSIGNED_VALUE)
+                .solve(new CapacitatedCostMatrix(new int[][]{{1, 2}}), () -> true));
+    }
+    
+    @Test
+    public void solve_invalidInput(){
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new CapacitatedSolver(UNASSIGNED_VALUE).solve((CapacitatedCostMatrix) null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CapacitatedSolver(UNASSIGNED_VALUE).solve(new int[][]{{1, -2}}));
+    }
+    
+    private static int[][] randomCosts(Random random, int nRows, int nCols){
+        int[][] costs = new int[nRows][];
+        for (int i = 0; i < nRows; i++){
+            costs[i] = random.ints(nCols, 0, 20).toArray();
+        }
+        return costs;
+    }
+    
+    /**
+     * Repeat each line of a matrix as many times as its capacity.
+     * @param costs cost matrix.
+     * @param rowCapacities capacity of each row.
+     * @param colCapacities capacity of each column.
+     * @return the matrix with the repeated lines.
+     */
+    private static int[][] duplicate(int[][] costs, int[] rowCapacities, int[] colCapacities){
+        int rows = 0;
+        int cols = 0;
+        for (int capacity : rowCapacities){
+            rows += capacity;
+        }
+        for (int capacity : colCapacities){
+            cols += capacity;
+        }
+        int[][] duplicated = new int[rows][cols];
+        int row = 0;
+        for (int i = 0; i < costs.length; i++){
+            for (int r = 0; r < rowCapacities[i]; r++, row++){
+                int col = 0;
+                for (int j = 0; j < costs[i].length; j++){
+                    for (int c = 0; c < colCapacities[j]; c++){
+                        duplicated[row][col++] = costs[i][j];
+                    }
+                }
+            }
+        }
+        return duplicated;
+    }
+    
+    private static long totalCost(int[][] costs, CapacitatedResult result){
+        long total = 0;
+        for (int i = 0; i < costs.length; i++){
+            for (int j = 0; j < costs[i].length; j++){
+                total += (long) costs[i][j] * result.getAmount(i, j);
+            }
+        }
+        return total;
+    }
+}
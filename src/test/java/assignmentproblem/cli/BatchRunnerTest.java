@@ -0,0 +1,112 @@
+package assignmentproblem.cli;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BatchRunnerTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream err = new ByteArrayOutputStream();
+    
+    private int run(byte[] input, String... args){
+        return BatchRunner.run(args, new ByteArrayInputStream(input), out, 
+            new PrintStream(err, true));
+    }
+    
+    @Test
+    public void run_csv(){
+        String input = "# README example\n"
+            + "1,2,25,13\n5,7,25,15\n10,13,16,14\n17,21,11,18\n15,15,15,14\n"
+            + "\n\n"
+            + "3, 1\n1, 3\n";
+        Assertions.assertEquals(BatchRunner.SUCCESS, 
+            run(input.getBytes(StandardCharsets.UTF_8), "--threads", "2"));
+        Assertions.assertEquals("1,0,3,2,-1\n1,0\n", 
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+        Assertions.assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8)
+            .startsWith("2 problems in "));
+    }
+    
+    @Test
+    public void run_binary() throws IOException{
+        //many small problems so that the in-flight window is exceeded
+        int problems = 50;
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(input);
+        for (int k = 0; k < problems; k++){
+            data.writeInt(1);
+            data.writeInt(3);
+            for (int j = 0; j < 3; j++){
+                data.writeInt(j == k % 3 ? 0 : 10);
+            }
+        }
+        Assertions.assertEquals(BatchRunner.SUCCESS, 
+            run(input.toByteArray(), "--format", "binary", "--threads", "3"));
+        DataInputStream results = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (int k = 0; k < problems; k++){
+            Assertions.assertEquals(1, results.readInt());
+            Assertions.assertEquals(k % 3, results.readInt(), "Failed at problem " + k);
+        }
+        Assertions.assertEquals(0, results.available());
+    }
+    
+    @Test
+    public void run_invalidArguments(){
+        Assertions.assertEquals(BatchRunner.INVALID_ARGUMENTS, run(new byte[0], "--threads", "0"));
+        Assertions.assertEquals(BatchRunner.INVALID_ARGUMENTS, run(new byte[0], "--format"));
+        Assertions.assertEquals(BatchRunner.INVALID_ARGUMENTS, run(new byte[0], "--verbose", "1"));
+    }
+    
+    @Test
+    public void run_invalidProblem(){
+        Assertions.assertEquals(BatchRunner.FAILURE, 
+            run("1,2\n3\n".getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8)
+            .startsWith("error: problem 0: "));
+        Assertions.assertEquals(BatchRunner.FAILURE, 
+            run("1,a\n".getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    @Test
+    public void run_oversizedBinaryProblem() throws IOException{
+        ByteArrayOutputStream input = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(input);
+        data.writeInt(1 << 16);
+        data.writeInt(1 << 16);
+        Assertions.assertEquals(BatchRunner.FAILURE, 
+            run(input.toByteArray(), "--format", "binary"));
+        Assertions.assertTrue(new String(err.toByteArray(), StandardCharsets.UTF_8)
+            .startsWith("error: Invalid problem size 65536*65536"));
+    }
+    
+    @Test
+    public void run_keepsCallerStreamsOpen(){
+        boolean[] closed = new boolean[2];
+        InputStream in = new ByteArrayInputStream("3,1\n1,3\n".getBytes(StandardCharsets.UTF_8)){
+            @Override
+            public void close(){
+                closed[0] = true;
+            }
+        };
+        OutputStream sink = new FilterOutputStream(out){
+            @Override
+            public void close(){
+                closed[1] = true;
+            }
+        };
+        Assertions.assertEquals(BatchRunner.SUCCESS, 
+            BatchRunner.run(new String[0], in, sink, new PrintStream(err, true)));
+        Assertions.assertFalse(closed[0], "the caller's input must not be closed");
+        Assertions.assertFalse(closed[1], "the caller's output must not be closed");
+        Assertions.assertEquals("1,0\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,33 @@
+package assignmentproblem.cli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CommandLineTest {
+
+    @Test
+    public void get(){
+        CommandLine commandLine = new CommandLine(
+            new String[]{"--port", "7070", "--input", "problems.csv"}, "port", "input", "output");
+        Assertions.assertEquals(7070, commandLine.getInt("port", 1, 0));
+        Assertions.assertEquals("problems.csv", commandLine.getString("input", null));
+        Assertions.assertNull(commandLine.getString("output", null));
+        Assertions.assertEquals("csv", commandLine.getString("output", "csv"));
+    }
+
+    @Test
+    public void get_invalidInput(){
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CommandLine(new String[]{"--verbose", "1"}, "port"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CommandLine(new String[]{"--port"}, "port"));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> new CommandLine(new String[]{"port", "1"}, "port"));
+        CommandLine commandLine = new CommandLine(new String[]{"--port", "x", "--n", "-1"},
+            "port", "n");
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> commandLine.getInt("port", 1, 0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+            () -> commandLine.getInt("n", 1, 0));
+    }
+}
@@ -0,0 +1,28 @@
+package assignmentproblem.cli;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyStatisticsTest {
+    @Test
+    public void getPercentile(){
+        LatencyStatistics statistics = new LatencyStatistics();
+        Assertions.assertEquals(0, statistics.getPercentile(50));
+        for (int k = 100; k > 0; k--){
+            statistics.record(k);
+        }
+        Assertions.assertEquals(100, statistics.getCount());
+        Assertions.assertEquals(1, statistics.getPercentile(0.5));
+        Assertions.assertEquals(50, statistics.getPercentile(50));
+        Assertions.assertEquals(99, statistics.getPercentile(99));
+        Assertions.assertEquals(100, statistics.getPercentile(100));
+    }
+    
+    @Test
+    public void getPercentile_invalid(){
+        LatencyStatistics statistics = new LatencyStatistics();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> statistics.getPercentile(0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> statistics.getPercentile(101));
+    }
+}
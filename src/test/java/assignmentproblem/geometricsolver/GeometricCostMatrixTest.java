@@ -0,0 +1,43 @@
+package assignmentproblem.geometricsolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GeometricCostMatrixTest {
+    
+    @Test
+    public void constructor_invalidInput(){
+        int[][] points = {{0, 0}, {1, 1}};
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(null, points, Metric.MANHATTAN));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(points, new int[0][], Metric.MANHATTAN));
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new GeometricCostMatrix(points, points, null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(points, new int[][]{{0, 0, 0}}, Metric.EUCLIDEAN));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(new int[][]{{}}, new int[][]{{}}, Metric.EUCLIDEAN));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(points, new int[][]{{0, 0}, null}, Metric.EUCLIDEAN));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(new int[][]{{Integer.MIN_VALUE, 0}}, 
+                new int[][]{{Integer.MAX_VALUE, 0}}, Metric.MANHATTAN));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricCostMatrix(new int[][]{{-1 << 30, -1 << 30}}, 
+                new int[][]{{1 << 30, 1 << 30}}, Metric.EUCLIDEAN));
+    }
+    
+    @Test
+    public void getCost(){
+        GeometricCostMatrix manhattan = new GeometricCostMatrix(new int[][]{{0, 0}, {1, 2}}, 
+            new int[][]{{3, 4}}, Metric.MANHATTAN);
+        Assertions.assertEquals(7, manhattan.getCost(0, 0));
+        Assertions.assertEquals(4, manhattan.getCost(1, 0));
+        GeometricCostMatrix euclidean = new GeometricCostMatrix(new int[][]{{0, 0}, {1, 2}}, 
+            new int[][]{{3, 4}}, Metric.EUCLIDEAN);
+        Assertions.assertEquals(5, euclidean.getCost(0, 0));
+        Assertions.assertEquals(3, euclidean.getCost(1, 0));//round(sqrt(8))
+        Assertions.assertEquals(3, euclidean.transpose().getCost(0, 1));
+    }
+}
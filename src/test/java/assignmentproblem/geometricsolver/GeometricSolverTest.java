@@ -0,0 +1,107 @@
+package assignmentproblem.geometricsolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class GeometricSolverTest {
+    static final Integer UNASSIGNED_VALUE = -1;
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricSolver(UNASSIGNED_VALUE, 0));
+    }
+    
+    @Test
+    public void solve_randomPoints(){
+        Random random = new Random(41);
+        for (Metric metric : Metric.values()){
+            for (int attempt = 0; attempt < 30; attempt++){
+                int dimensions = 1 + random.nextInt(3);
+                int[][] rowPoints = KdTreeTest.randomPoints(random, 1 + random.nextInt(40), 
+                    dimensions, 1000);
+                int[][] colPoints = KdTreeTest.randomPoints(random, 1 + random.nextInt(40), 
+                    dimensions, 1000);
+                int candidates = 1 + random.nextInt(4);
+                checkOptimal(new GeometricCostMatrix(rowPoints, colPoints, metric), candidates, 
+                    "attempt " + attempt + " with metric " + metric);
+            }
+        }
+    }
+    
+    @Test
+    public void solve_clusters(){
+        //each cluster of rows is nearer to the columns of another cluster
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 10; attempt++){
+            int[][] rowPoints = new int[40][];
+            int[][] colPoints = new int[40][];
+            for (int p = 0; p < 40; p++){
+                int cluster = 1000 * (p % 4);
+                rowPoints[p] = new int[]{cluster + random.nextInt(10), random.nextInt(10)};
+                colPoints[p] = new int[]{cluster + (p < 30 ? 0 : 500) + random.nextInt(10), 
+                    random.nextInt(10)};
+            }
+            checkOptimal(new GeometricCostMatrix(rowPoints, colPoints, Metric.EUCLIDEAN), 2, 
+                "attempt " + attempt);
+        }
+    }
+    
+    @Test
+    public void solve_duplicatePoints(){
+        int[][] points = new int[12][];
+        for (int p = 0; p < points.length; p++){
+            points[p] = new int[]{p % 2, 0};
+        }
+        checkOptimal(new GeometricCostMatrix(points, points, Metric.MANHATTAN), 1, 
+            "duplicate points");
+    }
+    
+    @Test
+    public void solve_cancelled(){
+        GeometricCostMatrix costMatrix = new GeometricCostMatrix(new int[][]{{0}, {1}}, 
+            new int[][]{{2}, {3}}, Metric.MANHATTAN);
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new GeometricSolver(UNASSIGNED_VALUE).solve(costMatrix, () -> true));
+    }
+    
+    @Test
+    public void solve_invalidInput(){
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new GeometricSolver(UNASSIGNED_VALUE).solve((GeometricCostMatrix) null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new GeometricSolver(UNASSIGNED_VALUE).solve(new int[][]{{1, -2}}));
+    }
+    
+    /**
+     * Check that the geometric solver finds an assignment as cheap as the Hungarian solver on 
+     * the dense cost matrix.
+     * @param costMatrix problem to solve.
+     * @param candidates initial number of candidates per row.
+     * @param name name of the problem, used in failure messages.
+     */
+    private static void checkOptimal(GeometricCostMatrix costMatrix, int candidates, 
+            String name){
+        int[][] dense = new int[costMatrix.nRows][costMatrix.nCols];
+        for (int i = 0; i < costMatrix.nRows; i++){
+            for (int j = 0; j < costMatrix.nCols; j++){
+                dense[i][j] = costMatrix.getCost(i, j);
+            }
+        }
+        Result expected = new HungarianSolver(UNASSIGNED_VALUE).solve(dense);
+        Result result = new GeometricSolver(UNASSIGNED_VALUE, candidates).solve(costMatrix);
+        Assertions.assertEquals(Assignments.totalCost(dense, expected), 
+            Assignments.totalCost(dense, result), "Failed at " + name);
+        for (int i = 0; i < costMatrix.nRows; i++){
+            Integer j = result.getRowAssignments().get(i);
+            if (!UNASSIGNED_VALUE.equals(j)){
+                Assertions.assertEquals(i, result.getColumnAssignments().get(j));
+            }
+        }
+    }
+}
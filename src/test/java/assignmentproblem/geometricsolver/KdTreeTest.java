@@ -0,0 +1,51 @@
+package assignmentproblem.geometricsolver;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KdTreeTest {
+    
+    @Test
+    public void nearest(){
+        Random random = new Random(41);
+        for (Metric metric : Metric.values()){
+            for (int attempt = 0; attempt < 20; attempt++){
+                int[][] points = randomPoints(random, 1 + random.nextInt(100), 
+                    1 + random.nextInt(3), 20);
+                KdTree tree = new KdTree(points, metric);
+                int[] query = randomPoints(random, 1, points[0].length, 20)[0];
+                int k = 1 + random.nextInt(points.length);
+                long[] offsets = new long[points.length];
+                if (attempt % 2 == 1){
+                    //offsets only grow after the update of the tree
+                    for (int p = 0; p < points.length; p++){
+                        offsets[p] = random.nextInt(10);
+                    }
+                    tree.updateOffsets(offsets);
+                    for (int p = 0; p < points.length; p++){
+                        offsets[p] += random.nextInt(10);
+                    }
+                }
+                long[] expected = IntStream.range(0, points.length)
+                    .mapToLong(p -> metric.cost(query, points[p]) + offsets[p])
+                    .sorted().limit(k).toArray();
+                long[] actual = Arrays.stream(tree.nearest(query, k, offsets))
+                    .mapToLong(p -> metric.cost(query, points[p]) + offsets[p])
+                    .sorted().toArray();
+                Assertions.assertArrayEquals(expected, actual, 
+                    "Failed at attempt " + attempt + " with metric " + metric);
+            }
+        }
+    }
+    
+    static int[][] randomPoints(Random random, int count, int dimensions, int range){
+        int[][] points = new int[count][];
+        for (int p = 0; p < count; p++){
+            points[p] = random.ints(dimensions, -range, range).toArray();
+        }
+        return points;
+    }
+}
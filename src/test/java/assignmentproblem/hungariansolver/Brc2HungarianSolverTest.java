@@ -1,7 +1,9 @@
 package assignmentproblem.hungariansolver;
 
 import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
 import java.util.AbstractMap;
+import java.util.Random;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
@@ -63,6 +65,91 @@ public class Brc2HungarianSolverTest implements TestFramework<HungarianSolverTes
         });
     }
 
+    @Test
+    public void apply_cancelled(){
+        //the worst case needs several iterations of the main loop: cancel after the first one.
+        HungarianSolverTestCase args = argumentsSupplier()
+            .reduce((first, second) -> second).get();
+        int[] polls = new int[1];
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new Brc2HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(args.horizontalRowReducedCostMatrix), 
+                    () -> ++polls[0] > 1));
+    }
+
+    @Test
+    public void apply_tieHeavy(){
+        //few distinct values: step 6 creates and destroys many zeros at once.
+        Random random = new Random(32);
+        for (int attempt = 0; attempt < 20; attempt++){
+            int[][] costs = new int[7][7];
+            for (int[] row : costs){
+                for (int j = 0; j < row.length; j++){
+                    row[j] = random.nextInt(3);
+                }
+            }
+            int expected = bruteForceCost(costs, 0, new boolean[costs.length]);
+            HungarianCostMatrix matrix = new HungarianCostMatrix(costs);
+            new G4gHungarianReducer().accept(matrix);
+            Result result = new Brc2HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(matrix);
+            int actual = 0;
+            for (int i = 0; i < costs.length; i++){
+                actual += costs[i][result.getRowAssignments().get(i)];
+            }
+            Assertions.assertEquals(expected, actual, "Failed at attempt " + attempt);
+        }
+    }
+    
+    @Test
+    public void apply_parallelMatchesSequential(){
+        Random random = new Random(50);
+        for (int attempt = 0; attempt < 20; attempt++){
+            int nRows = 1 + random.nextInt(60);
+            int nCols = nRows + random.nextInt(40);
+            //narrow values, promoted to wider storages as step 6 adds to the covered rows
+            int bound = attempt % 2 == 0 ? 200 : 70000;
+            int[][] costs = new int[nRows][nCols];
+            for (int[] row : costs){
+                for (int j = 0; j < nCols; j++){
+                    row[j] = random.nextInt(bound);
+                }
+            }
+            HungarianCostMatrix sequential = new HungarianCostMatrix(costs);
+            HungarianCostMatrix parallel = new HungarianCostMatrix(costs);
+            new G4gHungarianRowReducer().accept(sequential);
+            new G4gHungarianRowReducer().accept(parallel);
+            Integer unassigned = HungarianSolverTestCase.UNASSIGNED_VALUE;
+            Brc2HungarianSolver sequentialSolver = 
+                new Brc2HungarianSolver(unassigned, Integer.MAX_VALUE);
+            Brc2HungarianSolver parallelSolver = new Brc2HungarianSolver(unassigned, 0);
+            Result expected = sequentialSolver.apply(sequential);
+            Result actual = parallelSolver.apply(parallel);
+            String message = "Failed at attempt " + attempt;
+            Assertions.assertEquals(expected.getRowAssignments(), actual.getRowAssignments(), 
+                message);
+            Assertions.assertEquals(expected.getColumnAssignments(), 
+                actual.getColumnAssignments(), message);
+            Assertions.assertEquals(sequentialSolver.getMatrixAlterations(), 
+                parallelSolver.getMatrixAlterations(), message);
+        }
+    }
+    
+    private static int bruteForceCost(int[][] costs, int row, boolean[] usedCols){
+        if (row == costs.length){
+            return 0;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j < usedCols.length; j++){
+            if (!usedCols[j]){
+                usedCols[j] = true;
+                best = Math.min(best, costs[row][j] + bruteForceCost(costs, row + 1, usedCols));
+                usedCols[j] = false;
+            }
+        }
+        return best;
+    }
+
     @Override
     public Stream<HungarianSolverTestCase> argumentsSupplier() {
         return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
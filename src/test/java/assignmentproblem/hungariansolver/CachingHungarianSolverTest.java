@@ -0,0 +1,80 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.TestFramework;
+
+public class CachingHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    private static CachingHungarianSolver newSolver(int maxEntries, long maxBytes){
+        return new CachingHungarianSolver(
+            new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE), maxEntries, maxBytes);
+    }
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new CachingHungarianSolver(null, 1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> newSolver(-1, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> newSolver(1, -1));
+    }
+    
+    @TestFactory
+    public Stream<DynamicNode> solve_missThenHit(){
+        return test("solve (miss then hit)", args -> {
+            CachingHungarianSolver solver = newSolver(10, Long.MAX_VALUE);
+            Result first = solver.solve(args.costMatrix);
+            Result second = solver.solve(new HungarianCostMatrix(args.costMatrix));
+            Assertions.assertArrayEquals(args.rows, first.getRowAssignments().toArray());
+            Assertions.assertArrayEquals(args.cols, first.getColumnAssignments().toArray());
+            Assertions.assertSame(first, second, "second solve must be answered by the cache");
+            Assertions.assertEquals(1, solver.getMissCount());
+            Assertions.assertEquals(1, solver.getHitCount());
+        });
+    }
+    
+    @Test
+    public void solve_evictsLeastRecentlyUsed(){
+        CachingHungarianSolver solver = newSolver(2, Long.MAX_VALUE);
+        int[][] a = {{1, 2}, {3, 4}};
+        int[][] b = {{4, 3}, {2, 1}};
+        int[][] c = {{5, 6}, {7, 8}};
+        solver.solve(a);
+        solver.solve(b);
+        solver.solve(a);
+        solver.solve(c);//evicts b, the least recently used
+        Assertions.assertEquals(2, solver.getSize());
+        Assertions.assertEquals(1, solver.getEvictionCount());
+        solver.solve(a);
+        Assertions.assertEquals(2, solver.getHitCount());
+        solver.solve(b);
+        Assertions.assertEquals(4, solver.getMissCount());
+    }
+    
+    @Test
+    public void solve_boundedMemory(){
+        CachingHungarianSolver solver = newSolver(100, 1000);
+        solver.solve(new int[][]{{1, 2}, {3, 4}});
+        long oneEntry = solver.getEstimatedBytes();
+        Assertions.assertTrue(oneEntry > 0 && oneEntry <= 1000);
+        for (int k = 0; k < 20; k++){
+            solver.solve(new int[][]{{k, 2}, {3, 4}});
+            Assertions.assertTrue(solver.getEstimatedBytes() <= 1000);
+        }
+        Assertions.assertTrue(solver.getEvictionCount() > 0);
+        //a result larger than the whole cache is not cached
+        solver.clear();
+        solver.solve(new int[50][50]);
+        Assertions.assertEquals(0, solver.getSize());
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
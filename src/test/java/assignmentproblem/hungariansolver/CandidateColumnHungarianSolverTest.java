@@ -0,0 +1,80 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.Assignments;
+import test.tools.TestFramework;
+
+public class CandidateColumnHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    @TestFactory
+    public Stream<DynamicNode> apply() {
+        //none of the standard cases is wide enough: the wrapped solver is used directly
+        return test("apply", args -> {
+            HungarianResult result = new CandidateColumnHungarianSolver(
+                new Brc2HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(args.horizontalRowReducedCostMatrix));
+            HungarianResult expected = new Brc2HungarianSolver(
+                HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(args.horizontalRowReducedCostMatrix));
+            Assertions.assertEquals(expected.getRowAssignments(), result.getRowAssignments());
+            Assertions.assertEquals(expected.getColumnAssignments(), 
+                result.getColumnAssignments());
+        });
+    }
+    
+    @Test
+    public void selectCandidates(){
+        int[][] costs = {
+            {5, 1, 7, 1, 9, 3, 8, 2, 6, 4},
+            {0, 0, 0, 9, 9, 9, 9, 9, 9, 0}
+        };
+        //ties are broken by column index
+        Assertions.assertArrayEquals(new int[]{0, 1, 3}, 
+            CandidateColumnHungarianSolver.selectCandidates(new HungarianCostMatrix(costs)));
+    }
+    
+    @Test
+    public void apply_wide(){
+        Random random = new Random(34);
+        for (int attempt = 0; attempt < 10; attempt++){
+            int[][] costs = new int[1 + random.nextInt(5)][];
+            for (int i = 0; i < costs.length; i++){
+                costs[i] = random.ints(60, 0, 20).toArray();
+            }
+            Result result = new CandidateColumnHungarianSolver(new Brc2HungarianSolver(-1), -1)
+                .apply(reduced(costs));
+            Result expected = new Brc2HungarianSolver(-1).apply(reduced(costs));
+            Integer[] rows = result.getRowAssignments().toArray(new Integer[0]);
+            Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                Assignments.totalCost(costs, result), "Failed at attempt " + attempt);
+            int assignedCols = 0;
+            for (int j = 0; j < costs[0].length; j++){
+                Integer row = result.getColumnAssignments().get(j);
+                if (row != -1){
+                    Assertions.assertEquals(j, rows[row]);
+                    assignedCols++;
+                }
+            }
+            Assertions.assertEquals(costs.length, assignedCols);
+        }
+    }
+
+    private static HungarianCostMatrix reduced(int[][] costs){
+        HungarianCostMatrix matrix = new HungarianCostMatrix(costs);
+        new G4gHungarianRowReducer().accept(matrix);
+        return matrix;
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
@@ -0,0 +1,127 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class CardinalityHungarianSolverTest {
+    
+    @Test
+    public void apply_randomMatrices(){
+        Random random = new Random(47);
+        for (int run = 0; run < 200; run++){
+            int nRows = 1 + random.nextInt(6);
+            int nCols = 1 + random.nextInt(6);
+            int bound = random.nextBoolean() ? 3 : 100;
+            int[][] costs = new int[nRows][nCols];
+            for (int[] row : costs){
+                for (int j = 0; j < nCols; j++){
+                    row[j] = random.nextInt(bound);
+                }
+            }
+            for (int k = 0; k <= Math.min(nRows, nCols); k++){
+                String message = "run " + run + " k " + k;
+                HungarianResult result = new CardinalityHungarianSolver(null)
+                    .apply(new HungarianCostMatrix(costs), k, () -> false);
+                Assertions.assertEquals(best(costs, 0, k, new boolean[nCols]), 
+                    check(costs, result, k, message), message);
+            }
+        }
+    }
+    
+    /**
+     * Check that a result is a valid assignment of k pairs.
+     * @return the cost of the assignment.
+     */
+    private static long check(int[][] costs, Result result, int k, String message){
+        int assigned = 0;
+        Set<Integer> cols = new HashSet<>();
+        for (int i = 0; i < costs.length; i++){
+            Integer col = result.getRowAssignments().get(i);
+            if (col != null){
+                Assertions.assertTrue(cols.add(col), message);
+                Assertions.assertEquals(i, result.getColumnAssignments().get(col), message);
+                assigned++;
+            }
+        }
+        Assertions.assertEquals(k, assigned, message);
+        return Assignments.totalCost(costs, result.getRowAssignments(), result.unassigned);
+    }
+    
+    /**
+     * Exhaustively find the cheapest assignment of k pairs among rows from {@code row} onwards.
+     */
+    private static long best(int[][] costs, int row, int k, boolean[] usedCols){
+        if (k == 0){
+            return 0;
+        }
+        if (costs.length - row < k){
+            return Long.MAX_VALUE;
+        }
+        long best = best(costs, row + 1, k, usedCols);
+        for (int j = 0; j < usedCols.length; j++){
+            if (!usedCols[j]){
+                usedCols[j] = true;
+                long rest = best(costs, row + 1, k - 1, usedCols);
+                usedCols[j] = false;
+                if (rest != Long.MAX_VALUE){
+                    best = Math.min(best, rest + costs[row][j]);
+                }
+            }
+        }
+        return best;
+    }
+    
+    @Test
+    public void apply_cancelled(){
+        int[][] costs = {{1, 2}, {3, 4}};
+        int[] polls = new int[1];
+        SolverCancelledException e = Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new CardinalityHungarianSolver(null)
+                .apply(new HungarianCostMatrix(costs), 2, () -> ++polls[0] > 1));
+        //polled before each augmentation: the second poll stops the second one
+        Assertions.assertEquals(2, polls[0]);
+        Assertions.assertTrue(e.getMessage().contains("after 1 of 2"), e.getMessage());
+    }
+    
+    @Test
+    public void hungarianSolver_cardinality(){
+        int[][] costs = {
+            {1, 2, 25, 13},
+            {5, 7, 25, 15},
+            {10, 13, 16, 14},
+            {17, 21, 11, 18},
+            {15, 15, 15, 14}};
+        HungarianSolver solver = new HungarianSolver(-1);
+        Result result = solver.solve(costs, 2);
+        //[0][1] and [1][0] cost 7, less than [0][0] and [1][1] or [0][0] and [3][2]
+        Assertions.assertEquals(1, result.getRowAssignments().get(0));
+        Assertions.assertEquals(0, result.getRowAssignments().get(1));
+        Assertions.assertEquals(-1, result.getRowAssignments().get(2));
+        Assertions.assertEquals(4, solver.solve(costs, 4).getRowAssignments().stream()
+            .filter(col -> col != -1).count());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.solve(costs, 5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.solve(costs, -1));
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> solver.solve((HungarianCostMatrix) null, 1));
+    }
+    
+    @Test
+    public void hungarianSolver_cardinalityCancelled(){
+        int[][] costs = {{1, 2, 3}, {4, 5, 6}, {7, 8, 9}};
+        HungarianSolver solver = new HungarianSolver(-1);
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> solver.solve(new HungarianCostMatrix(costs), 2, () -> true));
+        Assertions.assertThrows(SolverCancelledException.class, () -> solver.solve(
+            new HungarianCostMatrix(costs), 2, Instant.now().minusSeconds(1)));
+        Assertions.assertEquals(2, solver.solve(new HungarianCostMatrix(costs), 2, 
+            Instant.now().plusSeconds(60)).getRowAssignments().stream()
+            .filter(col -> col != -1).count());
+    }
+}
@@ -0,0 +1,112 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import test.tools.Assignments;
+
+public class CheckpointedHungarianSolverTest {
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void solve_randomMatrices(){
+        Random random = new Random(49);
+        Path file = directory.resolve("solve.checkpoint");
+        for (int run = 0; run < 50; run++){
+            int[][] costs = random(random, 1 + random.nextInt(15), 1 + random.nextInt(15));
+            Result result = new CheckpointedHungarianSolver(null, file, Duration.ZERO)
+                .solve(copy(costs));
+            Assertions.assertEquals(
+                Assignments.totalCost(costs, new HungarianSolver(null).solve(copy(costs))), 
+                Assignments.totalCost(costs, result), "run " + run);
+            Assertions.assertFalse(Files.exists(file));
+        }
+    }
+    
+    @Test
+    public void solve_resumesAfterCancellation(){
+        int[][] costs = random(new Random(50), 40, 50);
+        Result expected = new CheckpointedHungarianSolver(-1, directory.resolve("reference"))
+            .solve(copy(costs));
+        for (Duration interval : new Duration[]{Duration.ZERO, Duration.ofHours(1)}){
+            Path file = directory.resolve("resume-" + interval.toMillis());
+            CheckpointedHungarianSolver solver = 
+                new CheckpointedHungarianSolver(-1, file, interval);
+            AtomicInteger polls = new AtomicInteger();
+            Assertions.assertThrows(SolverCancelledException.class, () -> solver.solve(
+                new HungarianCostMatrix(copy(costs)), () -> polls.incrementAndGet() > 15));
+            Assertions.assertTrue(Files.exists(file));
+            //the resumed solve only assigns the remaining rows
+            polls.set(0);
+            Result result = new CheckpointedHungarianSolver(-1, file, interval)
+                .solve(new HungarianCostMatrix(copy(costs)), () -> polls.incrementAndGet() < 0);
+            Assertions.assertEquals(40 - 15, polls.get());
+            Assertions.assertEquals(expected.getRowAssignments(), result.getRowAssignments());
+            Assertions.assertFalse(Files.exists(file));
+        }
+    }
+    
+    @Test
+    public void solve_verticalMatrix(){
+        int[][] costs = random(new Random(51), 30, 8);
+        Path file = directory.resolve("vertical");
+        AtomicInteger polls = new AtomicInteger();
+        CheckpointedHungarianSolver solver = new CheckpointedHungarianSolver(null, file);
+        Assertions.assertThrows(SolverCancelledException.class, () -> solver.solve(
+            new HungarianCostMatrix(copy(costs)), () -> polls.incrementAndGet() > 3));
+        Result result = solver.solve(copy(costs));
+        Assertions.assertEquals(30, result.getRowAssignments().size());
+        Assertions.assertEquals(
+            Assignments.totalCost(costs, new HungarianSolver(null).solve(copy(costs))), 
+            Assignments.totalCost(costs, result));
+    }
+    
+    @Test
+    public void solve_checkpointOfAnotherMatrix() throws IOException{
+        Path file = directory.resolve("other");
+        CheckpointedHungarianSolver solver = new CheckpointedHungarianSolver(null, file);
+        Assertions.assertThrows(SolverCancelledException.class, () -> solver.solve(
+            new HungarianCostMatrix(random(new Random(52), 5, 5)), () -> true));
+        byte[] saved = Files.readAllBytes(file);
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> solver.solve(random(new Random(53), 5, 5)));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> solver.solve(random(new Random(52), 5, 6)));
+        Assertions.assertArrayEquals(saved, Files.readAllBytes(file));
+    }
+    
+    @Test
+    public void init_invalidArguments(){
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new CheckpointedHungarianSolver(null, null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new CheckpointedHungarianSolver(null, directory, Duration.ofSeconds(-1)));
+    }
+    
+    private static int[][] random(Random random, int nRows, int nCols){
+        int[][] costs = new int[nRows][nCols];
+        for (int[] row : costs){
+            for (int j = 0; j < nCols; j++){
+                row[j] = random.nextInt(100);
+            }
+        }
+        return costs;
+    }
+    
+    private static int[][] copy(int[][] costs){
+        int[][] copy = new int[costs.length][];
+        for (int i = 0; i < costs.length; i++){
+            copy[i] = costs[i].clone();
+        }
+        return copy;
+    }
+}
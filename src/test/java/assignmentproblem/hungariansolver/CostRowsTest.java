@@ -0,0 +1,112 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class CostRowsTest {
+    private static final int S = MatrixKernels.SELECTED;
+    private static final int I = MatrixKernels.IGNORED;
+    
+    @Test
+    public void of_narrowest(){
+        Assertions.assertEquals(CostRows.BYTE_LIMIT, 
+            CostRows.of(new HungarianCostMatrix(new int[][]{{0, 255}})).getLimit());
+        Assertions.assertEquals(CostRows.CHAR_LIMIT, 
+            CostRows.of(new HungarianCostMatrix(new int[][]{{0, 256}})).getLimit());
+        Assertions.assertEquals(CostRows.CHAR_LIMIT, 
+            CostRows.of(new HungarianCostMatrix(new int[][]{{0, 65535}})).getLimit());
+        Assertions.assertEquals(Integer.MAX_VALUE, 
+            CostRows.of(new HungarianCostMatrix(new int[][]{{0, 65536}})).getLimit());
+    }
+    
+    @Test
+    public void of_copiesNarrowValues(){
+        int[][] costs = {{0, 200, 7}, {255, 1, 0}};
+        HungarianCostMatrix matrix = new HungarianCostMatrix(costs);
+        CostRows rows = CostRows.of(matrix);
+        Assertions.assertArrayEquals(costs, rows.toInts());
+        rows.maskedSubtract(0, 7, new int[]{I, I, S});
+        Assertions.assertEquals(7, matrix.costMatrix[0][2], "the matrix must not be modified");
+        Assertions.assertEquals(0, rows.get(0, 2));
+    }
+    
+    @Test
+    public void of_intRowsInPlace(){
+        HungarianCostMatrix matrix = new HungarianCostMatrix(new int[][]{{0, 100000}});
+        CostRows rows = CostRows.of(matrix);
+        rows.invertedMaskedAdd(0, 5, new int[]{I, S});
+        Assertions.assertEquals(5, matrix.costMatrix[0][0]);
+    }
+    
+    @Test
+    public void kernels(){
+        for (int max : new int[]{CostRows.BYTE_LIMIT, CostRows.CHAR_LIMIT, 100000}){
+            int[][] costs = {{3, 0, max - 10, 5}};
+            CostRows rows = CostRows.of(new HungarianCostMatrix(costs));
+            int[] masks = {S, I, S, I};
+            int[] exclusions = new int[4];
+            MatrixKernels.exclusions(masks, exclusions);
+            Assertions.assertEquals(3, rows.maskedMin(0, exclusions), "max " + max);
+            rows.maskedSubtract(0, 3, masks);
+            rows.invertedMaskedAdd(0, 10, masks);
+            Assertions.assertArrayEquals(new int[]{0, 10, max - 13, 15}, rows.toInts()[0], 
+                "max " + max);
+            int[] zeroes = new int[4];
+            Assertions.assertEquals(1, rows.findZeroes(0, new boolean[4], zeroes));
+            Assertions.assertEquals(0, zeroes[0]);
+            Assertions.assertEquals(0, rows.findZeroes(0, new boolean[]{true, false, false, false}, 
+                zeroes));
+        }
+    }
+    
+    @Test
+    public void reserve_promotes(){
+        CostRows rows = CostRows.of(new HungarianCostMatrix(new int[][]{{0, 250}, {3, 0}}));
+        Assertions.assertSame(rows, rows.reserve(5));
+        rows.invertedMaskedAdd(0, 5, new int[]{I, I});
+        //the largest value is now 255: a further increase needs a wider storage
+        CostRows wider = rows.reserve(1);
+        Assertions.assertEquals(CostRows.CHAR_LIMIT, wider.getLimit());
+        Assertions.assertArrayEquals(new int[][]{{5, 255}, {3, 0}}, wider.toInts());
+        wider.invertedMaskedAdd(0, 1, new int[]{I, I});
+        Assertions.assertEquals(256, wider.get(0, 1));
+        CostRows widest = wider.reserve(CostRows.CHAR_LIMIT);
+        Assertions.assertEquals(Integer.MAX_VALUE, widest.getLimit());
+        Assertions.assertEquals(256, widest.get(0, 1));
+    }
+    
+    @Test
+    public void reserve_looseBound(){
+        //the values shrink in step 6: the bound is recomputed instead of promoting
+        CostRows rows = CostRows.of(new HungarianCostMatrix(new int[][]{{0, 255}}));
+        rows.maskedSubtract(0, 200, new int[]{I, S});
+        Assertions.assertSame(rows, rows.reserve(200));
+        Assertions.assertEquals(255, rows.upperBound);
+    }
+    
+    @Test
+    public void brc2_promotion(){
+        //small reduced costs whose covered cells grow past 8 and 16 bits during the solve
+        Random random = new Random(44);
+        for (int bound : new int[]{20, 250, 300, 65000}){
+            for (int run = 0; run < 20; run++){
+                int n = 2 + random.nextInt(12);
+                int[][] costs = new int[n][n + random.nextInt(3)];
+                for (int[] row : costs){
+                    for (int j = 0; j < row.length; j++){
+                        row[j] = random.nextInt(bound);
+                    }
+                }
+                HungarianCostMatrix munkres = new HungarianCostMatrix(costs);
+                ReducerType.ROW.create().accept(munkres);
+                HungarianResult expected = new ShortestPathHungarianSolver(null)
+                    .apply(new HungarianCostMatrix(costs));
+                HungarianResult actual = new Brc2HungarianSolver(null).apply(munkres);
+                Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                    Assignments.totalCost(costs, actual), "bound " + bound + " run " + run);
+            }
+        }
+    }
+}
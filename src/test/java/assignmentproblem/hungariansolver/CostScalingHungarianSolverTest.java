@@ -0,0 +1,90 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.Assignments;
+import test.tools.TestFramework;
+
+public class CostScalingHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    @TestFactory
+    public Stream<DynamicNode> apply() {
+        //ties may be broken differently from the expected assignment: compare the total costs.
+        return test("apply", args -> {
+            int[][] reduced = args.horizontalRowReducedCostMatrix;
+            Result result = 
+                new CostScalingHungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(reduced));
+            Integer[] expectedRows = args.rows.length > args.cols.length ? args.cols : args.rows;
+            Assertions.assertEquals(Assignments.totalCost(reduced, expectedRows, 
+                    HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                Assignments.totalCost(reduced, result));
+        });
+    }
+    
+    @Test
+    public void apply_wideCostRange(){
+        Random random = new Random(38);
+        for (int attempt = 0; attempt < 20; attempt++){
+            int nRows = 1 + random.nextInt(30);
+            int nCols = nRows + random.nextInt(5);
+            int[][] costs = new int[nRows][];
+            for (int i = 0; i < nRows; i++){
+                costs[i] = random.ints(nCols, 0, Integer.MAX_VALUE).toArray();
+            }
+            Result result = new CostScalingHungarianSolver(-1)
+                .apply(new HungarianCostMatrix(costs));
+            Result expected = new ShortestPathHungarianSolver(-1)
+                .apply(new HungarianCostMatrix(costs));
+            Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                Assignments.totalCost(costs, result), "Failed at attempt " + attempt);
+            for (int i = 0; i < nRows; i++){
+                Assertions.assertEquals(i, 
+                    result.getColumnAssignments().get(result.getRowAssignments().get(i)));
+            }
+        }
+    }
+    
+    @Test
+    public void apply_shortestPaths(){
+        //without any rise allowed, the rows left by the pushes take shortest augmenting paths
+        Random random = new Random(138);
+        for (int attempt = 0; attempt < 50; attempt++){
+            int nRows = 1 + random.nextInt(40);
+            int nCols = nRows + random.nextInt(5);
+            int bound = random.nextBoolean() ? 5 : Integer.MAX_VALUE;
+            int[][] costs = new int[nRows][];
+            for (int i = 0; i < nRows; i++){
+                costs[i] = random.ints(nCols, 0, bound).toArray();
+            }
+            for (int riseFactor : new int[]{0, 1}){
+                Result result = new CostScalingHungarianSolver(-1, riseFactor)
+                    .apply(new HungarianCostMatrix(costs));
+                Result expected = new ShortestPathHungarianSolver(-1)
+                    .apply(new HungarianCostMatrix(costs));
+                Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                    Assignments.totalCost(costs, result), 
+                    "Failed at attempt " + attempt + " with rise factor " + riseFactor);
+            }
+        }
+    }
+    
+    @Test
+    public void apply_cancelled(){
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new CostScalingHungarianSolver(-1)
+                .apply(new HungarianCostMatrix(new int[][]{{1, 2}}), () -> true));
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
@@ -77,4 +77,18 @@ public class HungarianCostMatrixTest extends CostMatrixTest {
                 }
             });
     }
+    
+    @TestFactory
+    Stream<DynamicNode> contentHash(){
+        return test(this.argumentsSupplier().filter(args -> args.isValid),
+            "contentHash", args -> {
+                HungarianCostMatrix matrix = new HungarianCostMatrix(args.matrix);
+                long hash = matrix.contentHash();
+                Assertions.assertEquals(hash, new HungarianCostMatrix(args.matrix).contentHash(),
+                    "identical matrices must have the same hash");
+                matrix.costMatrix[0][0] += 1;
+                Assertions.assertNotEquals(hash, matrix.contentHash(), 
+                    "hash must reflect in-place modifications");
+            });
+    }
 }
@@ -0,0 +1,175 @@
+package assignmentproblem.hungariansolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.TestFramework;
+
+/**
+ * Performance regression tests, run by the {@code performanceTest} task and excluded from the 
+ * default test task.
+ * 
+ * <p>Each scenario solves random square matrices of growing size, fits the exponent of the solve
+ * time as a power of the size and measures the bytes allocated per cell by a solve of the largest
+ * matrix. Both must stay below the budget checked in performance-budget.properties.
+ */
+@Tag("performance")
+public class HungarianSolverScalingTest 
+        implements TestFramework<HungarianSolverScalingTest.Scenario>{
+    static final String BUDGET_RESOURCE = "performance-budget.properties";
+    /** Number of timed solves of each size, of which the median time is kept. */
+    static final int REPETITIONS = 5;
+    private static final Properties BUDGET = loadBudget();
+    
+    @Override
+    public Stream<Scenario> argumentsSupplier() {
+        return Stream.of(
+            new Scenario("munkres", SolverStrategy.fixed(ReducerType.ROW_THEN_COLUMN, 
+                CoreSolverType.MUNKRES), 100, new int[]{64, 128, 256, 512}),
+            new Scenario("shortestPath", SolverStrategy.fixed(ReducerType.ROW, 
+                CoreSolverType.SHORTEST_PATH), 1_000_000, new int[]{64, 128, 256, 512}),
+            new Scenario("costScaling", SolverStrategy.fixed(ReducerType.ROW, 
+                CoreSolverType.COST_SCALING), 1_000_000_000, new int[]{128, 256, 512, 1024}),
+            new Scenario("adaptive", SolverStrategy.adaptive(), 1_000_000, 
+                new int[]{64, 128, 256, 512})
+        );
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solve(){
+        return testContainer("solve", scenario -> Stream.of(
+            new AbstractMap.SimpleEntry<>(" complexity", () -> {
+                double exponent = scenario.fitExponent();
+                double budget = scenario.budget("maxExponent");
+                Assertions.assertTrue(exponent <= budget, String.format(
+                    "empirical complexity O(n^%.2f) exceeds the budget O(n^%.2f)", exponent, 
+                    budget));
+            }),
+            new AbstractMap.SimpleEntry<>(" allocations", () -> {
+                double bytesPerCell = scenario.allocatedBytesPerCell();
+                double budget = scenario.budget("maxBytesPerCell");
+                Assertions.assertTrue(bytesPerCell <= budget, String.format(
+                    "%.1f bytes allocated per cell exceed the budget of %.1f", bytesPerCell, 
+                    budget));
+            })
+        ));
+    }
+    
+    private static Properties loadBudget(){
+        Properties budget = new Properties();
+        try (InputStream input = 
+                HungarianSolverScalingTest.class.getResourceAsStream(BUDGET_RESOURCE)){
+            budget.load(input);
+        } catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        return budget;
+    }
+    
+    /**
+     * Generate a random square matrix.
+     * @param size number of rows and columns.
+     * @param maxCost exclusive upper bound of the costs.
+     * @param seed seed of the generator.
+     * @return a new matrix.
+     */
+    static int[][] randomMatrix(int size, int maxCost, long seed){
+        Random random = new Random(seed);
+        int[][] costs = new int[size][];
+        for (int i = 0; i < size; i++){
+            costs[i] = random.ints(size, 0, maxCost).toArray();
+        }
+        return costs;
+    }
+    
+    /**
+     * Fit the exponent of a power law by least squares on a log-log scale.
+     * @param sizes sizes of the problems.
+     * @param times times taken to solve them.
+     * @return the slope of log(time) as a function of log(size).
+     */
+    static double fitExponent(int[] sizes, double[] times){
+        double meanX = 0;
+        double meanY = 0;
+        for (int k = 0; k < sizes.length; k++){
+            meanX += Math.log(sizes[k]) / sizes.length;
+            meanY += Math.log(times[k]) / sizes.length;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int k = 0; k < sizes.length; k++){
+            double dx = Math.log(sizes[k]) - meanX;
+            covariance += dx * (Math.log(times[k]) - meanY);
+            variance += dx * dx;
+        }
+        return covariance / variance;
+    }
+    
+    /** Solver configuration and matrices of a scaling test. */
+    static final class Scenario {
+        private final String name;
+        private final HungarianSolver solver;
+        private final int maxCost;
+        private final int[] sizes;
+        
+        Scenario(String name, SolverStrategy strategy, int maxCost, int[] sizes){
+            this.name = name;
+            this.solver = new HungarianSolver(-1, strategy);
+            this.maxCost = maxCost;
+            this.sizes = sizes;
+        }
+        
+        double budget(String key){
+            String value = BUDGET.getProperty(name + "." + key);
+            Assertions.assertNotNull(value, "no budget for " + name + "." + key);
+            return Double.parseDouble(value);
+        }
+        
+        double fitExponent(){
+            //warm up on the largest size so that compilation does not skew the small sizes
+            solver.solve(randomMatrix(sizes[sizes.length - 1], maxCost, -1));
+            double[] times = new double[sizes.length];
+            for (int k = 0; k < sizes.length; k++){
+                long[] samples = new long[REPETITIONS];
+                for (int r = 0; r < REPETITIONS; r++){
+                    HungarianCostMatrix costMatrix = 
+                        new HungarianCostMatrix(randomMatrix(sizes[k], maxCost, r));
+                    long start = System.nanoTime();
+                    solver.solve(costMatrix);
+                    samples[r] = System.nanoTime() - start;
+                }
+                Arrays.sort(samples);
+                times[k] = samples[REPETITIONS / 2];
+            }
+            return HungarianSolverScalingTest.fitExponent(sizes, times);
+        }
+        
+        double allocatedBytesPerCell(){
+            com.sun.management.ThreadMXBean threads = 
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+            long thread = Thread.currentThread().getId();
+            int size = sizes[sizes.length - 1];
+            HungarianCostMatrix costMatrix = 
+                new HungarianCostMatrix(randomMatrix(size, maxCost, 0));
+            long before = threads.getThreadAllocatedBytes(thread);
+            solver.solve(costMatrix);
+            long allocated = threads.getThreadAllocatedBytes(thread) - before;
+            return (double) allocated / ((long) size * size);
+        }
+        
+        @Override
+        public String toString(){
+            return name + " scenario on sizes " + Arrays.toString(sizes);
+        }
+    }
+}
@@ -1,12 +1,22 @@
 package assignmentproblem.hungariansolver;
 
 import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.time.Instant;
 import java.util.AbstractMap;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 import java.util.function.Function;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
+import test.tools.Assignments;
 import test.tools.TestFramework;
 
 /**
@@ -34,6 +44,182 @@ public class HungarianSolverTest implements TestFramework<HungarianSolverTestCas
             "solve on HungarianCostMatrix input");
     }
     
+    @TestFactory
+    Stream<DynamicNode> solveBeforeDeadline(){
+        return checkSolved(args -> new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+            .solve(new HungarianCostMatrix(args.costMatrix), Instant.now().plusSeconds(3600)),
+            "solve on HungarianCostMatrix input with a distant deadline");
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solveCancelled(){
+        return test("solve on HungarianCostMatrix input with a cancelled token", args -> {
+            HungarianSolver solver = new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE);
+            Assertions.assertThrows(SolverCancelledException.class, 
+                () -> solver.solve(new HungarianCostMatrix(args.costMatrix), () -> true));
+        });
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solvePastDeadline(){
+        return test("solve on HungarianCostMatrix input with a past deadline", args -> {
+            HungarianSolver solver = new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE);
+            Assertions.assertThrows(SolverCancelledException.class, () -> solver.solve(
+                new HungarianCostMatrix(args.costMatrix), Instant.now().minusMillis(1)));
+        });
+    }
+    
+    @Test
+    void solve_deadlineExpiresDuringSolve(){
+        //Munkres' algorithm takes far longer than the deadline on this matrix
+        final int size = 1500;
+        Random random = new Random(26);
+        int[][] costs = new int[size][];
+        for (int i = 0; i < size; i++){
+            costs[i] = random.ints(size, 0, 1 << 20).toArray();
+        }
+        HungarianSolver solver = new HungarianSolver(-1, 
+            SolverStrategy.fixed(ReducerType.ROW, CoreSolverType.MUNKRES));
+        HungarianCostMatrix costMatrix = new HungarianCostMatrix(costs);
+        Instant deadline = Instant.now().plusMillis(20);
+        SolverCancelledException e = Assertions.assertThrows(SolverCancelledException.class, 
+            () -> solver.solve(costMatrix, deadline));
+        Assertions.assertTrue(Instant.now().isAfter(deadline), "the deadline must have expired");
+        Assertions.assertTrue(e.getMessage().contains("columns covered"), e.getMessage());
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solveAsync(){
+        return checkSolved(args -> new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+            .solveAsync(new HungarianCostMatrix(args.costMatrix)).join(),
+            "solveAsync on HungarianCostMatrix input");
+    }
+    
+    @Test
+    void solveAsync_sharedSolver() throws InterruptedException{
+        //a single solver must handle concurrent solves
+        HungarianSolver solver = new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<HungarianSolverTestCase> cases = Stream.generate(this::argumentsSupplier)
+                .limit(8).flatMap(stream -> stream).collect(Collectors.toList());
+            List<CompletableFuture<Result>> futures = cases.stream()
+                .map(args -> solver.solveAsync(new HungarianCostMatrix(args.costMatrix), executor))
+                .collect(Collectors.toList());
+            for (int k = 0; k < cases.size(); k++){
+                Result result = futures.get(k).join();
+                Assertions.assertArrayEquals(cases.get(k).rows, 
+                    result.getRowAssignments().toArray(), "rows of " + cases.get(k));
+                Assertions.assertArrayEquals(cases.get(k).cols, 
+                    result.getColumnAssignments().toArray(), "columns of " + cases.get(k));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+    
+    @Test
+    void solveAsync_rejected(){
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        CompletableFuture<Result> future = 
+            new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+            .solveAsync(new HungarianCostMatrix(new int[][]{{1}}), executor);
+        Assertions.assertTrue(future.isCompletedExceptionally());
+    }
+    
+    @Test
+    void solve_highlyRectangular(){
+        //vertical matrix far beyond the aspect ratio: solved with shortest augmenting paths
+        int[][] costs = new int[AdaptiveSolverStrategy.RECTANGULAR_RATIO * 5][];
+        Random random = new Random(33);
+        for (int i = 0; i < costs.length; i++){
+            costs[i] = random.ints(4, 0, 100).toArray();
+        }
+        HungarianSolver solver = new HungarianSolver(-1);
+        Assertions.assertEquals(CoreSolverType.SHORTEST_PATH, 
+            solver.explain(new HungarianCostMatrix(costs)).getCoreSolver());
+        Result result = solver.solve(costs);
+        Result expected = new HungarianSolver(-1, 
+            SolverStrategy.fixed(ReducerType.ROW, CoreSolverType.MUNKRES)).solve(costs);
+        Integer[] columns = result.getColumnAssignments().toArray(new Integer[0]);
+        long total = 0;
+        long expectedTotal = 0;
+        for (int j = 0; j < columns.length; j++){
+            Assertions.assertEquals(j, result.getRowAssignments().get(columns[j]));
+            total += costs[columns[j]][j];
+            expectedTotal += costs[expected.getColumnAssignments().get(j)][j];
+        }
+        Assertions.assertEquals(expectedTotal, total);
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solveMunkres(){
+        return checkSolved(args -> new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE,
+                SolverStrategy.fixed(ReducerType.ROW, CoreSolverType.MUNKRES))
+            .solve(args.costMatrix),
+            "solve with Munkres' algorithm");
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solveRowThenColumnReduced(){
+        return checkSolved(args -> new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE,
+                SolverStrategy.fixed(ReducerType.ROW_THEN_COLUMN, CoreSolverType.MUNKRES))
+            .solve(args.costMatrix),
+            "solve with Munkres' algorithm on a row then column reduced matrix");
+    }
+    
+    @TestFactory
+    Stream<DynamicNode> solveCostScaling(){
+        //ties may be broken differently from the expected assignment: compare the total costs.
+        return test("solve with cost scaling", args -> {
+            Result result = new HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE,
+                    SolverStrategy.fixed(ReducerType.ROW, CoreSolverType.COST_SCALING))
+                .solve(args.costMatrix);
+            Assertions.assertEquals(Assignments.totalCost(args.costMatrix, args.rows, 
+                    HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                Assignments.totalCost(args.costMatrix, result));
+        });
+    }
+    
+    @Test
+    void solve_invalidStrategy(){
+        HungarianSolver solver = new HungarianSolver(-1, 
+            profile -> new SolverChoice(ReducerType.ROW_THEN_COLUMN, CoreSolverType.MUNKRES));
+        Assertions.assertThrows(IllegalStateException.class, 
+            () -> solver.solve(new int[][]{{1, 2, 3}}));
+        Assertions.assertThrows(NullPointerException.class, () -> new HungarianSolver(-1, null));
+    }
+    
+    @Test
+    void explain(){
+        //few ties on a large enough matrix: shortest paths
+        Random random = new Random(37);
+        int[][] costs = new int[40][];
+        for (int i = 0; i < costs.length; i++){
+            costs[i] = random.ints(40, 0, 1_000_000).toArray();
+        }
+        HungarianSolver solver = new HungarianSolver(-1);
+        Assertions.assertEquals(new SolverChoice(ReducerType.ROW, CoreSolverType.SHORTEST_PATH), 
+            solver.explain(new HungarianCostMatrix(costs)));
+        //few ties and a wide cost range on a large square matrix: still shortest paths
+        int[][] large = new int[200][];
+        for (int i = 0; i < large.length; i++){
+            large[i] = random.ints(large.length, 0, 1_000_000_000).toArray();
+        }
+        Assertions.assertEquals(new SolverChoice(ReducerType.ROW, CoreSolverType.SHORTEST_PATH), 
+            solver.explain(new HungarianCostMatrix(large)));
+        //many ties: Munkres
+        for (int i = 0; i < costs.length; i++){
+            costs[i] = random.ints(40, 0, 4).toArray();
+        }
+        Assertions.assertEquals(
+            new SolverChoice(ReducerType.ROW_THEN_COLUMN, CoreSolverType.MUNKRES), 
+            solver.explain(new HungarianCostMatrix(costs)));
+        Assertions.assertEquals(new SolverChoice(ReducerType.ROW, CoreSolverType.MUNKRES), 
+            solver.explain(new HungarianCostMatrix(new int[][]{{1, 2, 3}, {3, 2, 1}})));
+    }
+    
     Stream<DynamicNode> checkSolved(Function<HungarianSolverTestCase, Result> solver, String name){
         //return separate test nodes for row and column result check.
         return testContainer(name, args -> {
@@ -0,0 +1,60 @@
+package assignmentproblem.hungariansolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LazyCostMatrixTest {
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new LazyCostMatrix(0, 3, (i, j) -> 1));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new LazyCostMatrix(3, -1, (i, j) -> 1));
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new LazyCostMatrix(3, 3, null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new LazyCostMatrix(3, 3, (i, j) -> 1, -1));
+    }
+    
+    @Test
+    public void row(){
+        LazyCostMatrix matrix = new LazyCostMatrix(2, 3, (i, j) -> 10 * i + j);
+        Assertions.assertArrayEquals(new int[]{10, 11, 12}, matrix.row(1));
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, matrix.row(0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new LazyCostMatrix(2, 2, (i, j) -> i - j).row(0));
+    }
+    
+    @Test
+    public void row_evictsLeastRecentlyUsed(){
+        LazyCostMatrix matrix = new LazyCostMatrix(4, 2, (i, j) -> i + j, 2);
+        matrix.row(0);
+        matrix.row(1);
+        matrix.row(0);
+        Assertions.assertEquals(2, matrix.getComputedRowCount());
+        matrix.row(2);//evicts row 1, the least recently used
+        Assertions.assertEquals(2, matrix.getCachedRowCount());
+        matrix.row(0);
+        Assertions.assertEquals(3, matrix.getComputedRowCount());
+        matrix.row(1);
+        Assertions.assertEquals(4, matrix.getComputedRowCount());
+    }
+    
+    @Test
+    public void row_withoutCache(){
+        LazyCostMatrix matrix = new LazyCostMatrix(2, 2, (i, j) -> i + j, 0);
+        matrix.row(0);
+        matrix.row(0);
+        Assertions.assertEquals(2, matrix.getComputedRowCount());
+        Assertions.assertEquals(0, matrix.getCachedRowCount());
+    }
+    
+    @Test
+    public void transpose(){
+        LazyCostMatrix transposed = new LazyCostMatrix(2, 3, (i, j) -> 10 * i + j).transpose();
+        Assertions.assertEquals(3, transposed.nRows);
+        Assertions.assertEquals(2, transposed.nCols);
+        Assertions.assertArrayEquals(new int[]{2, 12}, transposed.row(2));
+    }
+}
@@ -0,0 +1,91 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.Assignments;
+import test.tools.TestFramework;
+
+public class LazyHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    @TestFactory
+    public Stream<DynamicNode> solve() {
+        //ties may be broken differently from the expected assignment: compare the total costs.
+        return test("solve", args -> {
+            int[][] costs = args.costMatrix;
+            Result result = new LazyHungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .solve(new LazyCostMatrix(costs.length, costs[0].length, (i, j) -> costs[i][j]));
+            Assertions.assertEquals(Assignments.totalCost(costs, args.rows, 
+                    HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                Assignments.totalCost(costs, result));
+            for (int j = 0; j < args.cols.length; j++){
+                Integer row = result.getColumnAssignments().get(j);
+                Assertions.assertTrue(row == null || result.getRowAssignments().get(row) == j);
+            }
+        });
+    }
+    
+    @Test
+    public void solve_distances(){
+        Random random = new Random(40);
+        for (int attempt = 0; attempt < 10; attempt++){
+            int nWorkers = 1 + random.nextInt(30);
+            int nJobs = 1 + random.nextInt(30);
+            int[][] workers = randomPoints(random, nWorkers);
+            int[][] jobs = randomPoints(random, nJobs);
+            LazyCostMatrix lazy = new LazyCostMatrix(nWorkers, nJobs, 
+                (i, j) -> distance(workers[i], jobs[j]), 4);
+            int[][] costs = new int[nWorkers][nJobs];
+            for (int i = 0; i < nWorkers; i++){
+                for (int j = 0; j < nJobs; j++){
+                    costs[i][j] = distance(workers[i], jobs[j]);
+                }
+            }
+            Result expected = new HungarianSolver(null).solve(costs);
+            Result result = new LazyHungarianSolver(null).solve(lazy);
+            Assertions.assertEquals(
+                Assignments.totalCost(costs, expected), 
+                Assignments.totalCost(costs, result), 
+                "Failed at attempt " + attempt);
+            Assertions.assertTrue(lazy.getCachedRowCount() <= 4);
+        }
+    }
+    
+    @Test
+    public void solve_cancelled(){
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new LazyHungarianSolver(-1)
+                .solve(new LazyCostMatrix(2, 2, (i, j) -> i + j), () -> true));
+    }
+    
+    @Test
+    public void solve_invalidInput(){
+        Assertions.assertThrows(NullPointerException.class, 
+            () -> new LazyHungarianSolver(-1).solve((LazyCostMatrix) null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new LazyHungarianSolver(-1).solve(new int[][]{{1, -2}}));
+    }
+    
+    private static int[][] randomPoints(Random random, int count){
+        int[][] points = new int[count][];
+        for (int k = 0; k < count; k++){
+            points[k] = new int[]{random.nextInt(1000), random.nextInt(1000)};
+        }
+        return points;
+    }
+    
+    private static int distance(int[] a, int[] b){
+        return Math.abs(a[0] - b[0]) + Math.abs(a[1] - b[1]);
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
@@ -0,0 +1,56 @@
+package assignmentproblem.hungariansolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MatrixKernelsTest {
+    private static final int S = MatrixKernels.SELECTED;
+    private static final int I = MatrixKernels.IGNORED;
+    
+    @Test
+    public void min(){
+        Assertions.assertEquals(2, MatrixKernels.min(new int[]{7, 2, 9, 2, Integer.MAX_VALUE}));
+    }
+    
+    @Test
+    public void maskedMin(){
+        int[] row = {0, 5, 3, Integer.MAX_VALUE, 4};
+        Assertions.assertEquals(3, MatrixKernels.maskedMin(row, exclusions(I, S, S, S, S)));
+        Assertions.assertEquals(Integer.MAX_VALUE, 
+            MatrixKernels.maskedMin(row, exclusions(I, I, I, S, I)));
+        Assertions.assertEquals(Integer.MAX_VALUE, 
+            MatrixKernels.maskedMin(row, exclusions(I, I, I, I, I)));
+    }
+    
+    private static int[] exclusions(int... masks){
+        int[] exclusions = new int[masks.length];
+        MatrixKernels.exclusions(masks, exclusions);
+        return exclusions;
+    }
+    
+    @Test
+    public void accumulateMin(){
+        int[] mins = {4, 4, 4};
+        MatrixKernels.accumulateMin(new int[]{1, 6, 4}, mins);
+        Assertions.assertArrayEquals(new int[]{1, 4, 4}, mins);
+    }
+    
+    @Test
+    public void subtract(){
+        int[] row = {3, 4, 5};
+        MatrixKernels.subtract(row, 3);
+        Assertions.assertArrayEquals(new int[]{0, 1, 2}, row);
+        MatrixKernels.subtract(row, new int[]{0, 1, 1});
+        Assertions.assertArrayEquals(new int[]{0, 0, 1}, row);
+    }
+    
+    @Test
+    public void maskedSubtractAndAdd(){
+        int[] masks = {S, I, S, I};
+        int[] row = {5, 5, 5, 5};
+        MatrixKernels.maskedSubtract(row, 2, masks);
+        Assertions.assertArrayEquals(new int[]{3, 5, 3, 5}, row);
+        MatrixKernels.invertedMaskedAdd(row, 4, masks);
+        Assertions.assertArrayEquals(new int[]{3, 9, 3, 9}, row);
+    }
+}
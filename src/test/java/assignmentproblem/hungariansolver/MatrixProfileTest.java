@@ -0,0 +1,38 @@
+package assignmentproblem.hungariansolver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MatrixProfileTest {
+    @Test
+    public void of_smallMatrix(){
+        //small matrices are read entirely
+        MatrixProfile profile = MatrixProfile.of(new HungarianCostMatrix(
+            new int[][]{{4, 1, 1, 7}, {0, 5, 3, 3}}));
+        Assertions.assertEquals(2, profile.getRows());
+        Assertions.assertEquals(4, profile.getCols());
+        Assertions.assertEquals(2.0, profile.getAspectRatio());
+        Assertions.assertEquals(8, profile.getSampleSize());
+        Assertions.assertEquals(0, profile.getMinCost());
+        Assertions.assertEquals(7, profile.getMaxCost());
+        Assertions.assertEquals(3.0 / 8, profile.getZeroDensity());
+        //6 distinct values among 8 cells
+        Assertions.assertEquals(1 - 6.0 / 8, profile.getTieDensity(), 1e-9);
+    }
+    
+    @Test
+    public void of_largeMatrix(){
+        int[][] costs = new int[1000][300];
+        for (int i = 0; i < costs.length; i++){
+            for (int j = 0; j < costs[i].length; j++){
+                costs[i][j] = i * costs[i].length + j;
+            }
+        }
+        MatrixProfile profile = MatrixProfile.of(new HungarianCostMatrix(costs));
+        Assertions.assertTrue(profile.getSampleSize() <= MatrixProfile.MAX_SAMPLE_SIZE);
+        Assertions.assertEquals(0, profile.getMinCost());
+        Assertions.assertEquals(0, profile.getTieDensity());
+        Assertions.assertEquals(MatrixProfile.MAX_SAMPLE_ROWS / (double) profile.getSampleSize(), 
+            profile.getZeroDensity(), 1e-9);
+    }
+}
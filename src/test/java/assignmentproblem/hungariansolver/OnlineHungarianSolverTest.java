@@ -0,0 +1,152 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OnlineHungarianSolverTest {
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new OnlineHungarianSolver(null, 0));
+    }
+    
+    @Test
+    public void addRow_invalidInput(){
+        OnlineHungarianSolver solver = new OnlineHungarianSolver(null, 2);
+        Assertions.assertThrows(NullPointerException.class, () -> solver.addRow(null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.addRow(new int[3]));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> solver.addRow(new int[]{1, -1}));
+        solver.addRow(new int[]{1, 2});
+        solver.addRow(new int[]{1, 2});
+        Assertions.assertThrows(IllegalStateException.class, () -> solver.addRow(new int[]{1, 2}));
+    }
+    
+    @Test
+    public void remove_invalidInput(){
+        OnlineHungarianSolver solver = new OnlineHungarianSolver(null, 2);
+        int row = solver.addRow(new int[]{1, 2});
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.removeRow(1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.removeColumn(2));
+        solver.addRow(new int[]{3, 4});
+        Assertions.assertThrows(IllegalStateException.class, () -> solver.removeColumn(0));
+        solver.removeRow(row);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.removeRow(row));
+        solver.removeColumn(0);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.removeColumn(0));
+    }
+    
+    @Test
+    public void getResult_liveView(){
+        OnlineHungarianSolver solver = new OnlineHungarianSolver(-1, 3);
+        Result result = solver.getResult();
+        Assertions.assertEquals(0, result.getRowAssignments().size());
+        solver.addRow(new int[]{5, 1, 9});
+        Assertions.assertEquals(List.of(1), result.getRowAssignments());
+        //the second row takes the column of the first one, which moves to its second best
+        solver.addRow(new int[]{9, 0, 9});
+        Assertions.assertEquals(List.of(0, 1), result.getRowAssignments());
+        Assertions.assertEquals(List.of(0, 1, -1), result.getColumnAssignments());
+        solver.removeRow(1);
+        Assertions.assertEquals(List.of(1, -1), result.getRowAssignments());
+        solver.removeColumn(1);
+        Assertions.assertEquals(List.of(0, -1), result.getRowAssignments());
+        Assertions.assertEquals(List.of(0, -1, -1), result.getColumnAssignments());
+        Assertions.assertThrows(UnsupportedOperationException.class, 
+            () -> result.getRowAssignments().set(0, 2));
+    }
+    
+    @Test
+    public void randomOperations_optimal(){
+        Random random = new Random(45);
+        for (int run = 0; run < 30; run++){
+            int nCols = 2 + random.nextInt(10);
+            int bound = random.nextBoolean() ? 5 : 1000;
+            OnlineHungarianSolver solver = new OnlineHungarianSolver(null, nCols);
+            List<int[]> rows = new ArrayList<>();
+            boolean[] removedRows = new boolean[200];
+            boolean[] removedCols = new boolean[nCols];
+            int activeRows = 0;
+            int activeCols = nCols;
+            for (int step = 0; step < 60 && rows.size() < removedRows.length; step++){
+                int operation = random.nextInt(10);
+                if (operation < 6 && activeRows < activeCols){
+                    int[] costs = new int[nCols];
+                    for (int j = 0; j < nCols; j++){
+                        costs[j] = random.nextInt(bound);
+                    }
+                    Assertions.assertEquals(rows.size(), solver.addRow(costs));
+                    rows.add(costs);
+                    activeRows++;
+                } else if (operation < 9 && activeRows > 0){
+                    int row;
+                    do {
+                        row = random.nextInt(rows.size());
+                    } while (removedRows[row]);
+                    solver.removeRow(row);
+                    removedRows[row] = true;
+                    activeRows--;
+                } else if (activeCols > activeRows && activeCols > 1){
+                    int col;
+                    do {
+                        col = random.nextInt(nCols);
+                    } while (removedCols[col]);
+                    solver.removeColumn(col);
+                    removedCols[col] = true;
+                    activeCols--;
+                }
+                check(solver.getResult(), rows, removedRows, removedCols, 
+                    "run " + run + " step " + step);
+            }
+        }
+    }
+    
+    /**
+     * Check that an online result is a valid assignment as cheap as the one of a full solve.
+     */
+    private static void check(Result result, List<int[]> rows, boolean[] removedRows, 
+            boolean[] removedCols, String message){
+        List<Integer> activeRows = new ArrayList<>();
+        List<Integer> activeCols = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++){
+            if (!removedRows[i]){
+                activeRows.add(i);
+            } else {
+                Assertions.assertNull(result.getRowAssignments().get(i), message);
+            }
+        }
+        for (int j = 0; j < removedCols.length; j++){
+            if (!removedCols[j]){
+                activeCols.add(j);
+            }
+        }
+        long online = 0;
+        for (int i : activeRows){
+            Integer col = result.getRowAssignments().get(i);
+            Assertions.assertNotNull(col, message);
+            Assertions.assertFalse(removedCols[col], message);
+            Assertions.assertEquals(i, result.getColumnAssignments().get(col), message);
+            online += rows.get(i)[col];
+        }
+        if (activeRows.isEmpty()){
+            return;
+        }
+        int[][] costs = new int[activeRows.size()][activeCols.size()];
+        for (int a = 0; a < costs.length; a++){
+            for (int b = 0; b < costs[a].length; b++){
+                costs[a][b] = rows.get(activeRows.get(a))[activeCols.get(b)];
+            }
+        }
+        Result expected = new HungarianSolver(null).solve(costs);
+        long offline = 0;
+        for (int a = 0; a < costs.length; a++){
+            offline += costs[a][expected.getRowAssignments().get(a)];
+        }
+        Assertions.assertEquals(offline, online, message);
+    }
+}
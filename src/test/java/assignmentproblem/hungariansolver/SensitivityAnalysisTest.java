@@ -0,0 +1,109 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class SensitivityAnalysisTest {
+    
+    @Test
+    public void analyse_invalidInput(){
+        HungarianSolver solver = new HungarianSolver(null);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> solver.analyse(null));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> solver.analyse(new int[][]{{1, -1}}));
+    }
+    
+    @Test
+    public void example(){
+        int[][] costs = {{1, 4}, {3, 9}};
+        SensitivityAnalysis analysis = new HungarianSolver(null).analyse(costs);
+        //row 0 takes column 1 and row 1 column 0: 4 + 3 = 7 against 1 + 9 = 10
+        Assertions.assertEquals(1, analysis.getResult().getRowAssignments().get(0));
+        Assertions.assertEquals(3, analysis.getUpperTolerance(0, 1));
+        Assertions.assertEquals(Long.MAX_VALUE, analysis.getLowerTolerance(0, 1));
+        Assertions.assertEquals(3, analysis.getLowerTolerance(1, 1));
+        Assertions.assertEquals(Long.MAX_VALUE, analysis.getUpperTolerance(1, 1));
+        Assertions.assertTrue(analysis.isStillOptimal(0, 1, 7));
+        Assertions.assertFalse(analysis.isStillOptimal(0, 1, 8));
+        Assertions.assertTrue(analysis.isStillOptimal(0, 0, 0));
+        Assertions.assertFalse(analysis.isStillOptimal(1, 1, 5));
+    }
+    
+    @Test
+    public void singleRow(){
+        SensitivityAnalysis analysis = new HungarianSolver(-1).analyse(new int[][]{{5}, {2}, {7}});
+        Assertions.assertEquals(-1, analysis.getResult().getRowAssignments().get(0));
+        Assertions.assertEquals(0, analysis.getResult().getRowAssignments().get(1));
+        //row 1 keeps the column until it costs more than row 0
+        Assertions.assertEquals(3, analysis.getUpperTolerance(1, 0));
+        Assertions.assertEquals(3, analysis.getLowerTolerance(0, 0));
+        Assertions.assertEquals(5, analysis.getLowerTolerance(2, 0));
+        Assertions.assertEquals(Long.MAX_VALUE, 
+            new HungarianSolver(null).analyse(new int[][]{{4}}).getUpperTolerance(0, 0));
+    }
+    
+    @Test
+    public void tolerances_exact(){
+        Random random = new Random(46);
+        for (int run = 0; run < 60; run++){
+            int nRows = 1 + random.nextInt(6);
+            int nCols = 1 + random.nextInt(6);
+            int bound = random.nextBoolean() ? 4 : 50;
+            int[][] costs = new int[nRows][nCols];
+            for (int[] row : costs){
+                for (int j = 0; j < nCols; j++){
+                    row[j] = random.nextInt(bound);
+                }
+            }
+            SensitivityAnalysis analysis = new HungarianSolver(null).analyse(costs);
+            Result result = analysis.getResult();
+            Assertions.assertEquals(optimum(costs), Assignments.totalCost(costs, result), 
+                "run " + run);
+            for (int i = 0; i < nRows; i++){
+                for (int j = 0; j < nCols; j++){
+                    String message = "run " + run + " cell " + i + "," + j;
+                    long reduced = analysis.getReducedCost(i, j);
+                    Assertions.assertTrue(reduced >= 0, message);
+                    boolean assigned = Integer.valueOf(j).equals(result.getRowAssignments().get(i));
+                    if (assigned){
+                        Assertions.assertEquals(0, reduced, message);
+                    }
+                    checkTolerance(costs, result, i, j, analysis.getUpperTolerance(i, j), 1, 
+                        message + " upper");
+                    checkTolerance(costs, result, i, j, analysis.getLowerTolerance(i, j), -1, 
+                        message + " lower");
+                }
+            }
+        }
+    }
+    
+    /**
+     * Check that the assignment stays optimal when a cell changes by its tolerance, and only then.
+     */
+    private static void checkTolerance(int[][] costs, Result result, int i, int j, long tolerance, 
+            int direction, String message){
+        int original = costs[i][j];
+        //beyond these changes, the cost of the cell no longer matters or becomes negative
+        long limit = direction > 0 ? 1000 : original;
+        if (tolerance > limit){
+            costs[i][j] = (int) (original + direction * limit);
+            Assertions.assertEquals(optimum(costs), Assignments.totalCost(costs, result), message);
+        } else {
+            costs[i][j] = (int) (original + direction * tolerance);
+            Assertions.assertEquals(optimum(costs), Assignments.totalCost(costs, result), message);
+            if (direction > 0 || tolerance < original){
+                costs[i][j] += direction;
+                Assertions.assertTrue(optimum(costs) < Assignments.totalCost(costs, result), 
+                    message);
+            }
+        }
+        costs[i][j] = original;
+    }
+    
+    private static long optimum(int[][] costs){
+        return Assignments.totalCost(costs, new HungarianSolver(null).solve(costs));
+    }
+}
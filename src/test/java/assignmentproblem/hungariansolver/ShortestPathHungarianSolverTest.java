@@ -0,0 +1,70 @@
+package assignmentproblem.hungariansolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.Assignments;
+import test.tools.TestFramework;
+
+public class ShortestPathHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    @TestFactory
+    public Stream<DynamicNode> apply() {
+        //ties may be broken differently from the expected assignment: compare the total costs.
+        return test("apply", args -> {
+            int[][] reduced = args.horizontalRowReducedCostMatrix;
+            Result result = 
+                new ShortestPathHungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(reduced));
+            Integer[] expectedRows = args.rows.length > args.cols.length ? args.cols : args.rows;
+            Assertions.assertEquals(Assignments.totalCost(reduced, expectedRows, 
+                    HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                Assignments.totalCost(reduced, result));
+        });
+    }
+    
+    @Test
+    public void apply_highlyRectangular(){
+        Random random = new Random(33);
+        for (int attempt = 0; attempt < 10; attempt++){
+            int[][] costs = new int[1 + random.nextInt(6)][];
+            for (int i = 0; i < costs.length; i++){
+                costs[i] = random.ints(60, 0, 1000).toArray();
+            }
+            Result result = new ShortestPathHungarianSolver(-1)
+                .apply(new HungarianCostMatrix(costs));
+            Result expected = new Brc2HungarianSolver(-1)
+                .apply(reduced(costs));
+            Assertions.assertEquals(Assignments.totalCost(costs, expected), 
+                Assignments.totalCost(costs, result), "Failed at attempt " + attempt);
+            for (int i = 0; i < costs.length; i++){
+                Assertions.assertEquals(i, 
+                    result.getColumnAssignments().get(result.getRowAssignments().get(i)));
+            }
+        }
+    }
+    
+    @Test
+    public void apply_cancelled(){
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new ShortestPathHungarianSolver(-1)
+                .apply(new HungarianCostMatrix(new int[][]{{1, 2}}), () -> true));
+    }
+    
+    private static HungarianCostMatrix reduced(int[][] costs){
+        HungarianCostMatrix matrix = new HungarianCostMatrix(costs);
+        new G4gHungarianRowReducer().accept(matrix);
+        return matrix;
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
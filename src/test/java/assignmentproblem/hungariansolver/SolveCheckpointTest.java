@@ -0,0 +1,88 @@
+package assignmentproblem.hungariansolver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class SolveCheckpointTest {
+    @TempDir
+    Path directory;
+    
+    @Test
+    public void restore_newFile() throws IOException{
+        try (SolveCheckpoint checkpoint = 
+                new SolveCheckpoint(directory.resolve("new"), 2, 3, 42, 0)){
+            long[] rowPotentials = {5, 5};
+            long[] colPotentials = {5, 5, 5, 5};
+            int[] colMatches = {5, 5, 5, 5};
+            Assertions.assertEquals(0, checkpoint.restore(rowPotentials, colPotentials, 
+                colMatches));
+            Assertions.assertArrayEquals(new long[]{0, 0}, rowPotentials);
+            Assertions.assertArrayEquals(new long[]{0, 0, 0, 5}, colPotentials);
+            Assertions.assertArrayEquals(new int[]{-1, -1, -1, 5}, colMatches);
+        }
+    }
+    
+    @Test
+    public void save_survivesInterruptedCheckpoint() throws IOException{
+        Path file = directory.resolve("state");
+        long[] rowPotentials = new long[2];
+        long[] colPotentials = new long[4];
+        int[] colMatches = new int[4];
+        try (SolveCheckpoint checkpoint = new SolveCheckpoint(file, 2, 3, 42, Long.MAX_VALUE)){
+            checkpoint.restore(rowPotentials, colPotentials, colMatches);
+            //row 0 takes column 1 through the virtual column 3
+            colMatches[3] = 0;
+            checkpoint.touch(new boolean[]{false, false, false, true}, colMatches, 1);
+            rowPotentials[0] = 7;
+            colMatches[1] = 0;
+            checkpoint.augmented(1);
+            checkpoint.save();
+            //row 1 takes column 1 and moves row 0 to column 2
+            colMatches[3] = 1;
+            checkpoint.touch(new boolean[]{false, true, false, true}, colMatches, 2);
+            rowPotentials[0] = 9;
+            rowPotentials[1] = 4;
+            colPotentials[1] = -2;
+            colMatches[1] = 1;
+            colMatches[2] = 0;
+            checkpoint.augmented(2);
+            checkpoint.save();
+        }
+        long[] rows = new long[2];
+        long[] cols = new long[4];
+        int[] matches = new int[4];
+        try (SolveCheckpoint checkpoint = new SolveCheckpoint(file, 2, 3, 42, 0)){
+            Assertions.assertEquals(2, checkpoint.restore(rows, cols, matches));
+        }
+        Assertions.assertArrayEquals(new long[]{9, 4}, rows);
+        Assertions.assertArrayEquals(new long[]{0, -2, 0, 0}, cols);
+        Assertions.assertArrayEquals(new int[]{-1, 1, 0, 0}, matches);
+        //a checkpoint interrupted while writing the other copy leaves the current one intact
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)){
+            //two saves leave the first copy current
+            long otherCopy = 40 + (8 * 5 + 4 * 3);
+            channel.write(ByteBuffer.wrap(new byte[8 * 5 + 4 * 3]), otherCopy);
+        }
+        try (SolveCheckpoint checkpoint = new SolveCheckpoint(file, 2, 3, 42, 0)){
+            Assertions.assertEquals(2, checkpoint.restore(rows, cols, matches));
+        }
+        Assertions.assertArrayEquals(new long[]{9, 4}, rows);
+        Assertions.assertArrayEquals(new int[]{-1, 1, 0, 0}, matches);
+    }
+    
+    @Test
+    public void init_otherMatrix() throws IOException{
+        Path file = directory.resolve("other");
+        new SolveCheckpoint(file, 2, 3, 42, 0).close();
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolveCheckpoint(file, 2, 3, 43, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolveCheckpoint(file, 3, 2, 42, 0));
+    }
+}
@@ -0,0 +1,77 @@
+package assignmentproblem.hungariansolver;
+
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DynamicNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import test.tools.TestFramework;
+
+public class ZeroMatchingHungarianSolverTest implements TestFramework<HungarianSolverTestCase>{
+    static final int WORST_CASE_SIZE = 25;
+    
+    /** Core solver failing the test if the fast path does not handle the matrix itself. */
+    private static final HungarianCoreSolver UNREACHABLE = new HungarianCoreSolver(){
+        @Override
+        HungarianResult apply(HungarianCostMatrix costMatrix, BooleanSupplier cancelled) {
+            return Assertions.fail("the wrapped solver should not have been called");
+        }
+
+        @Override
+        HandledMatrix getHandledMatrixType() {
+            return HandledMatrix.HORIZONTAL;
+        }
+    };
+    
+    @TestFactory
+    public Stream<DynamicNode> apply() {
+        //same results as the wrapped solver, whether the fast path applies or not
+        return test("apply", args -> {
+            HungarianResult result = new ZeroMatchingHungarianSolver(
+                new Brc2HungarianSolver(HungarianSolverTestCase.UNASSIGNED_VALUE), 
+                HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(args.horizontalRowReducedCostMatrix));
+            HungarianResult expected = new Brc2HungarianSolver(
+                HungarianSolverTestCase.UNASSIGNED_VALUE)
+                .apply(new HungarianCostMatrix(args.horizontalRowReducedCostMatrix));
+            Assertions.assertEquals(expected.getRowAssignments(), result.getRowAssignments());
+            Assertions.assertEquals(expected.getColumnAssignments(), 
+                result.getColumnAssignments());
+        });
+    }
+    
+    @Test
+    public void apply_greedyMatching(){
+        HungarianResult result = new ZeroMatchingHungarianSolver(UNREACHABLE, -1)
+            .apply(new HungarianCostMatrix(new int[][]{{3, 0, 0}, {0, 2, 0}}));
+        Assertions.assertArrayEquals(new Integer[]{1, 0}, 
+            result.getRowAssignments().toArray());
+        Assertions.assertArrayEquals(new Integer[]{1, 0, -1}, 
+            result.getColumnAssignments().toArray());
+    }
+    
+    @Test
+    public void apply_augmentedMatching(){
+        //the greedy pass matches row 0 with column 0 and must be corrected
+        HungarianResult result = new ZeroMatchingHungarianSolver(UNREACHABLE, -1)
+            .apply(new HungarianCostMatrix(new int[][]{{0, 0, 4}, {0, 1, 2}, {5, 0, 0}}));
+        Assertions.assertArrayEquals(new Integer[]{1, 0, 2}, 
+            result.getRowAssignments().toArray());
+        Assertions.assertArrayEquals(new Integer[]{1, 0, 2}, 
+            result.getColumnAssignments().toArray());
+    }
+    
+    @Test
+    public void apply_noZeroMatching(){
+        int[][] reduced = {{0, 1}, {0, 3}};
+        HungarianResult result = new ZeroMatchingHungarianSolver(
+            new Brc2HungarianSolver(-1), -1).apply(new HungarianCostMatrix(reduced));
+        Assertions.assertArrayEquals(new Integer[]{1, 0}, result.getRowAssignments().toArray());
+    }
+
+    @Override
+    public Stream<HungarianSolverTestCase> argumentsSupplier() {
+        return HungarianSolverTestCase.getStandardCases(WORST_CASE_SIZE);
+    }
+}
@@ -0,0 +1,92 @@
+package assignmentproblem.server;
+
+import assignmentproblem.Result;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import assignmentproblem.shardedsolver.ShardTransport;
+import assignmentproblem.shardedsolver.ShardWorker;
+import assignmentproblem.shardedsolver.ShardedAuctionSolver;
+import assignmentproblem.shardedsolver.ShardedCostMatrix;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShardServerTest {
+    
+    @Test
+    public void solve_overSockets() throws IOException{
+        Random random = new Random(48);
+        int[][] costs = new int[40][60];
+        for (int[] row : costs){
+            for (int j = 0; j < row.length; j++){
+                row[j] = random.nextInt(500);
+            }
+        }
+        int[] bounds = {0, 25, 45, 60};
+        List<ShardServer> servers = new ArrayList<>();
+        List<ShardTransport> transports = new ArrayList<>();
+        try {
+            for (int s = 0; s + 1 < bounds.length; s++){
+                int[][] slice = new int[costs.length][];
+                for (int i = 0; i < costs.length; i++){
+                    slice[i] = Arrays.copyOfRange(costs[i], bounds[s], bounds[s + 1]);
+                }
+                ShardServer server = new ShardServer(new ShardWorker(slice, bounds[s]), 0);
+                server.start();
+                servers.add(server);
+                transports.add(new SocketShardTransport(server.getPort()));
+            }
+            Result result = new ShardedAuctionSolver(-1)
+                .solve(new ShardedCostMatrix(transports));
+            Result expected = new HungarianSolver(-1).solve(costs);
+            long cost = 0;
+            long expectedCost = 0;
+            for (int i = 0; i < costs.length; i++){
+                cost += costs[i][result.getRowAssignments().get(i)];
+                expectedCost += costs[i][expected.getRowAssignments().get(i)];
+            }
+            Assertions.assertEquals(expectedCost, cost);
+            Assertions.assertEquals(40, 
+                result.getRowAssignments().stream().distinct().count());
+        } finally {
+            for (ShardTransport transport : transports){
+                transport.close();
+            }
+            for (ShardServer server : servers){
+                server.close();
+            }
+        }
+    }
+    
+    @Test
+    public void call_invalidRequest() throws IOException{
+        try (ShardServer server = new ShardServer(new ShardWorker(new int[][]{{3,1}}, 0), 0)){
+            server.start();
+            try (SocketShardTransport transport = new SocketShardTransport(server.getPort())){
+                Assertions.assertArrayEquals(new long[]{1, 2, 0, 3}, transport.call(new long[]{0}));
+                //the server closes the connection
+                Assertions.assertThrows(IOException.class, () -> transport.call(new long[]{42}));
+            }
+        }
+    }
+    
+    @Test
+    public void call_invalidFrame() throws IOException{
+        try (ShardServer server = new ShardServer(new ShardWorker(new int[][]{{3,1}}, 0), 0)){
+            server.start();
+            try (SocketChannel channel = SocketChannel.open(new InetSocketAddress(
+                    InetAddress.getLoopbackAddress(), server.getPort()))){
+                //negative count of values
+                channel.write(ByteBuffer.wrap(new byte[]{-1, -1, -1, -1}));
+                Assertions.assertNull(SocketShardTransport.read(channel));
+            }
+        }
+    }
+}
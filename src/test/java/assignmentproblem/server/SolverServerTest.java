@@ -0,0 +1,160 @@
+package assignmentproblem.server;
+
+import assignmentproblem.cli.LatencyStatistics;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SolverServerTest {
+    private SolverServer server;
+    
+    @BeforeEach
+    public void startServer() throws IOException, InterruptedException{
+        server = new SolverServer(0, 2, 4, 1);
+        server.start();
+    }
+    
+    @AfterEach
+    public void stopServer() throws IOException{
+        server.close();
+    }
+    
+    @Test
+    public void solve() throws IOException{
+        try (SolverClient client = new SolverClient(server.getPort())){
+            int[][] costs = {{1,2,25,13},{5,7,25,15},{10,13,16,14},{17,21,11,18},{15,15,15,14}};
+            Assertions.assertArrayEquals(new int[]{1, 0, 3, 2, -1}, client.solve(costs));
+            //the connection stays usable
+            Assertions.assertArrayEquals(new int[]{1, 0}, client.solve(new int[][]{{3,1},{1,3}}));
+        }
+        Assertions.assertEquals(2, server.getRequestCount());
+    }
+    
+    @Test
+    public void solve_invalidMatrix() throws IOException{
+        try (SolverClient client = new SolverClient(server.getPort())){
+            Assertions.assertThrows(IllegalArgumentException.class, 
+                () -> client.solve(new int[][]{{1, -2}}));
+            Assertions.assertArrayEquals(new int[]{0}, client.solve(new int[][]{{4}}));
+        }
+    }
+    
+    @Test
+    public void solve_pipelined() throws IOException{
+        //requests sent in a single write, in a single frame buffer larger than the initial one
+        int nCols = 20000;
+        int[][] large = new int[1][nCols];
+        for (int j = 0; j < nCols; j++){
+            large[0][j] = j == 7 ? 0 : 5;
+        }
+        ByteBuffer first = Frames.request(41, large);
+        ByteBuffer second = Frames.request(42, new int[][]{{9, 0}});
+        ByteBuffer both = ByteBuffer.allocate(first.remaining() + second.remaining());
+        both.put(first).put(second).flip();
+        try (SocketChannel channel = SocketChannel.open(
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort()))){
+            while (both.hasRemaining()){
+                channel.write(both);
+            }
+            int[] assignments = new int[43];
+            for (int k = 0; k < 2; k++){
+                ByteBuffer response = ByteBuffer.allocate(16);
+                while (response.hasRemaining()){
+                    Assertions.assertTrue(channel.read(response) >= 0);
+                }
+                response.flip();
+                int id = response.getInt();
+                Assertions.assertEquals(Frames.STATUS_OK, response.getInt());
+                Assertions.assertEquals(1, response.getInt());
+                assignments[id] = response.getInt();
+            }
+            Assertions.assertEquals(7, assignments[41]);
+            Assertions.assertEquals(1, assignments[42]);
+        }
+    }
+    
+    @Test
+    public void solve_queueFull() throws IOException, InterruptedException{
+        final int count = 200;
+        try (SolverServer small = new SolverServer(0, 1, 1, 0, 1)){
+            small.start();
+            ByteBuffer all = ByteBuffer.allocate(count * (Frames.REQUEST_HEADER_BYTES + 16));
+            for (int id = 0; id < count; id++){
+                all.put(Frames.request(id, new int[][]{{3, 1}, {1, 3}}));
+            }
+            all.flip();
+            try (SocketChannel channel = SocketChannel.open(
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), small.getPort()))){
+                while (all.hasRemaining()){
+                    channel.write(all);
+                }
+                int rejected = 0;
+                boolean[] answered = new boolean[count];
+                for (int k = 0; k < count; k++){
+                    ByteBuffer header = ByteBuffer.allocate(Frames.RESPONSE_HEADER_BYTES + 4);
+                    readFully(channel, header);
+                    int id = header.getInt();
+                    int status = header.getInt();
+                    int length = header.getInt();
+                    readFully(channel, ByteBuffer.allocate(
+                        status == Frames.STATUS_OK ? Integer.BYTES * length : length));
+                    Assertions.assertFalse(answered[id], "one response per request");
+                    answered[id] = true;
+                    if (status == Frames.STATUS_ERROR){
+                        rejected++;
+                    }
+                }
+                Assertions.assertTrue(rejected > 0, "a full queue must reject requests");
+                Assertions.assertEquals(count - rejected, small.getRequestCount());
+            }
+        }
+    }
+    
+    @Test
+    public void solve_queuedCellsFull() throws IOException, InterruptedException{
+        try (SolverServer small = new SolverServer(0, 1, 1, 0, 16, 3)){
+            small.start();
+            try (SolverClient client = new SolverClient(small.getPort())){
+                //rejected before its cost matrix is allocated, the connection stays usable
+                IllegalArgumentException e = Assertions.assertThrows(
+                    IllegalArgumentException.class, () -> client.solve(new int[][]{{3,1},{1,3}}));
+                Assertions.assertTrue(e.getMessage().startsWith("server overloaded"));
+                Assertions.assertArrayEquals(new int[]{-1, 0, -1}, 
+                    client.solve(new int[][]{{3},{1},{2}}));
+            }
+        }
+    }
+    
+    private static void readFully(SocketChannel channel, ByteBuffer buffer) throws IOException{
+        while (buffer.hasRemaining()){
+            Assertions.assertTrue(channel.read(buffer) >= 0);
+        }
+        buffer.flip();
+    }
+    
+    @Test
+    public void loadGenerator() throws IOException, InterruptedException{
+        LatencyStatistics statistics = LoadGenerator.run(server.getPort(), 4, 25, 10, 12);
+        Assertions.assertEquals(100, statistics.getCount());
+        Assertions.assertEquals(100, server.getRequestCount());
+        Assertions.assertTrue(server.getBatchCount() <= 100);
+    }
+    
+    @Test
+    public void constructor_invalidInput(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolverServer(0, 0, 4, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolverServer(0, 1, 0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolverServer(0, 1, 1, 0, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new SolverServer(0, 1, 1, 0, 1, 0));
+    }
+}
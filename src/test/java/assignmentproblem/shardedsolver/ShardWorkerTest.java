@@ -0,0 +1,106 @@
+package assignmentproblem.shardedsolver;
+
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShardWorkerTest {
+    
+    @Test
+    public void handle_info(){
+        ShardWorker worker = new ShardWorker(new int[][]{{4,9},{7,2},{0,3}}, 5);
+        Assertions.assertArrayEquals(new long[]{3, 2, 5, 9}, 
+            worker.handle(new long[]{ShardWorker.INFO}));
+    }
+    
+    @Test
+    public void handle_bidAndRaise(){
+        ShardWorker worker = new ShardWorker(new int[][]{{4,9,6},{7,2,2}}, 10);
+        //values of row 0 are 40, 90 and 60
+        Assertions.assertArrayEquals(new long[]{10, 40, 60, 11, 20, 20}, 
+            worker.handle(new long[]{ShardWorker.BID, 10, 0, 1}));
+        Assertions.assertArrayEquals(new long[0], 
+            worker.handle(new long[]{ShardWorker.RAISE, 10, 25, 11, 1}));
+        Assertions.assertArrayEquals(new long[]{12, 60, 65, 12, 20, 21}, 
+            worker.handle(new long[]{ShardWorker.BID, 10, 0, 1}));
+        Assertions.assertArrayEquals(new long[]{12, 0, 11, 1}, 
+            worker.handle(new long[]{ShardWorker.CHEAPEST, 2}));
+        Assertions.assertArrayEquals(new long[]{0}, 
+            worker.handle(new long[]{ShardWorker.MIN_PRICE}));
+        worker.handle(new long[]{ShardWorker.SHIFT_PRICES, -3});
+        Assertions.assertArrayEquals(new long[]{12, 3, 11, 4, 10, 28}, 
+            worker.handle(new long[]{ShardWorker.CHEAPEST, 7}));
+        worker.handle(new long[]{ShardWorker.RESET});
+        Assertions.assertArrayEquals(new long[]{0}, 
+            worker.handle(new long[]{ShardWorker.MIN_PRICE}));
+    }
+    
+    @Test
+    public void handle_cheapest(){
+        int nCols = 50;
+        ShardWorker worker = new ShardWorker(new int[1][nCols], 100);
+        Random random = new Random(48);
+        long[] request = new long[1 + 2 * nCols];
+        request[0] = ShardWorker.RAISE;
+        for (int j = 0; j < nCols; j++){
+            request[1 + 2 * j] = 100 + j;
+            request[2 + 2 * j] = random.nextInt(10);
+        }
+        worker.handle(request);
+        for (int count = 0; count <= nCols; count++){
+            long[] cheapest = worker.handle(new long[]{ShardWorker.CHEAPEST, count});
+            Assertions.assertEquals(2 * count, cheapest.length);
+            for (int k = 0; k < count; k++){
+                Assertions.assertEquals(request[2 + 2 * (int) (cheapest[2 * k] - 100)], 
+                    cheapest[2 * k + 1]);
+                if (k > 0){
+                    Assertions.assertTrue(cheapest[2 * k - 1] < cheapest[2 * k + 1] 
+                        || (cheapest[2 * k - 1] == cheapest[2 * k + 1] 
+                        && cheapest[2 * k - 2] < cheapest[2 * k]));
+                }
+            }
+            //no cheaper column is left out
+            long listed = count == 0 ? -1 : cheapest[2 * count - 1];
+            int cheaper = 0;
+            for (int j = 0; j < nCols; j++){
+                cheaper += request[2 + 2 * j] < listed ? 1 : 0;
+            }
+            Assertions.assertTrue(cheaper <= count);
+        }
+    }
+    
+    @Test
+    public void handle_singleColumn(){
+        ShardWorker worker = new ShardWorker(new int[][]{{4}}, 0);
+        Assertions.assertArrayEquals(new long[]{0, 8, Long.MAX_VALUE}, 
+            worker.handle(new long[]{ShardWorker.BID, 2, 0}));
+    }
+    
+    @Test
+    public void handle_invalidRequests(){
+        ShardWorker worker = new ShardWorker(new int[][]{{4,9}}, 3);
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> worker.handle(new long[0]));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> worker.handle(new long[]{42}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> worker.handle(new long[]{ShardWorker.BID, 1, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> worker.handle(new long[]{ShardWorker.RAISE, 2, 1}));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> worker.handle(new long[]{ShardWorker.RAISE, 3}));
+    }
+    
+    @Test
+    public void init_invalidSlices(){
+        Assertions.assertThrows(NullPointerException.class, () -> new ShardWorker(null, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardWorker(new int[0][], 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardWorker(new int[][]{{1}}, -1));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardWorker(new int[][]{{1,2},{3}}, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardWorker(new int[][]{{1,-2}}, 0));
+    }
+}
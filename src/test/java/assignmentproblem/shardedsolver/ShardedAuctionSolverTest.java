@@ -0,0 +1,114 @@
+package assignmentproblem.shardedsolver;
+
+import assignmentproblem.Result;
+import assignmentproblem.SolverCancelledException;
+import assignmentproblem.hungariansolver.HungarianSolver;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import test.tools.Assignments;
+
+public class ShardedAuctionSolverTest {
+    
+    @Test
+    public void solve_example(){
+        int[][] costs = {{1,2,25,13},{5,7,25,15},{10,13,16,14},{17,21,11,18},{15,15,15,14}};
+        Result result = new ShardedAuctionSolver(null).solve(costs);
+        Assertions.assertEquals(Arrays.asList(1, 0, 3, 2, null), result.getRowAssignments());
+        Assertions.assertEquals(Arrays.asList(1, 0, 3, 2), result.getColumnAssignments());
+    }
+    
+    @Test
+    public void solve_randomMatrices(){
+        Random random = new Random(48);
+        for (int run = 0; run < 300; run++){
+            int nRows = 1 + random.nextInt(12);
+            int nCols = nRows + random.nextInt(12);
+            int bound = random.nextBoolean() ? 4 : 10000;
+            int[][] costs = new int[nRows][nCols];
+            for (int[] row : costs){
+                for (int j = 0; j < nCols; j++){
+                    row[j] = random.nextInt(bound);
+                }
+            }
+            int shards = 1 + random.nextInt(Math.min(nCols, 5));
+            String message = "run " + run + " with " + shards + " shards";
+            Result result = new ShardedAuctionSolver(-1)
+                .solve(ShardedCostMatrix.inProcess(costs, shards));
+            Assertions.assertEquals(
+                Assignments.totalCost(costs, new HungarianSolver(-1).solve(costs)), 
+                Assignments.totalCost(costs, result), message);
+        }
+    }
+    
+    @Test
+    public void solve_verticalMatrix(){
+        Random random = new Random(49);
+        int[][] costs = new int[30][7];
+        for (int[] row : costs){
+            for (int j = 0; j < row.length; j++){
+                row[j] = random.nextInt(1000);
+            }
+        }
+        Result result = new ShardedAuctionSolver(null).solve(costs);
+        Assertions.assertEquals(30, result.getRowAssignments().size());
+        Assertions.assertEquals(
+            Assignments.totalCost(costs, new HungarianSolver(null).solve(costs)), 
+            Assignments.totalCost(costs, result));
+    }
+    
+    @Test
+    public void solve_largeMatrix(){
+        Random random = new Random(50);
+        int[][] costs = new int[150][200];
+        for (int[] row : costs){
+            for (int j = 0; j < row.length; j++){
+                row[j] = random.nextInt(1 << 20);
+            }
+        }
+        Result result = new ShardedAuctionSolver(null)
+            .solve(ShardedCostMatrix.inProcess(costs, 3));
+        Assertions.assertEquals(
+            Assignments.totalCost(costs, new HungarianSolver(null).solve(costs)), 
+            Assignments.totalCost(costs, result));
+    }
+    
+    @Test
+    public void solve_cancelled(){
+        ShardedCostMatrix costs = ShardedCostMatrix.inProcess(new int[][]{{1,2},{2,1}}, 2);
+        Assertions.assertThrows(SolverCancelledException.class, 
+            () -> new ShardedAuctionSolver(null).solve(costs, () -> true));
+    }
+    
+    @Test
+    public void solve_failingShard() throws IOException{
+        ShardWorker worker = new ShardWorker(new int[][]{{1},{2}}, 1);
+        ShardTransport failing = new ShardTransport(){
+            private long[] response;
+            
+            @Override
+            public void send(long[] request) throws IOException {
+                if (request[0] != ShardWorker.INFO){
+                    throw new IOException("unreachable");
+                }
+                response = worker.handle(request);
+            }
+            
+            @Override
+            public long[] receive(){
+                return response;
+            }
+            
+            @Override
+            public void close(){
+            }
+        };
+        ShardedCostMatrix costs = new ShardedCostMatrix(Arrays.asList(
+            new InProcessShardTransport(new ShardWorker(new int[][]{{1},{2}}, 0)), failing));
+        Assertions.assertThrows(UncheckedIOException.class, 
+            () -> new ShardedAuctionSolver(null).solve(costs));
+    }
+}
@@ -0,0 +1,48 @@
+package assignmentproblem.shardedsolver;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ShardedCostMatrixTest {
+    
+    @Test
+    public void inProcess(){
+        ShardedCostMatrix matrix = ShardedCostMatrix.inProcess(
+            new int[][]{{1,2,3,4,5},{6,7,8,9,10}}, 3);
+        Assertions.assertEquals(3, matrix.getShardCount());
+        Assertions.assertEquals(2, matrix.nRows);
+        Assertions.assertEquals(5, matrix.nCols);
+        Assertions.assertEquals(10, matrix.maxCost);
+        Assertions.assertArrayEquals(new int[]{0, 1, 3}, matrix.firstColumns);
+        Assertions.assertEquals(0, matrix.shardOf(0));
+        Assertions.assertEquals(1, matrix.shardOf(2));
+        Assertions.assertEquals(2, matrix.shardOf(3));
+        Assertions.assertEquals(2, matrix.shardOf(4));
+    }
+    
+    @Test
+    public void init_invalidShards(){
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardedCostMatrix(Collections.emptyList()));
+        //columns 0 then 2
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedCostMatrix(
+            Arrays.asList(shard(new int[][]{{1},{2}}, 0), shard(new int[][]{{1},{2}}, 2))));
+        //different rows
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ShardedCostMatrix(
+            Arrays.asList(shard(new int[][]{{1,2}}, 0), shard(new int[][]{{1},{2}}, 2))));
+        //more rows than columns
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> new ShardedCostMatrix(Arrays.asList(shard(new int[][]{{1},{2}}, 0))));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> ShardedCostMatrix.inProcess(new int[][]{{1,2}}, 3));
+        Assertions.assertThrows(IllegalArgumentException.class, 
+            () -> ShardedCostMatrix.inProcess(new int[][]{{1,2},{3}}, 1));
+    }
+    
+    private static ShardTransport shard(int[][] costs, int firstColumn) throws IOException {
+        return new InProcessShardTransport(new ShardWorker(costs, firstColumn));
+    }
+}
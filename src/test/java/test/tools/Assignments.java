@@ -0,0 +1,70 @@
+package test.tools;
+
+import assignmentproblem.Result;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Helpers checking the assignments returned by the solvers. Unassigned markers are compared with
+ * {@link Objects#equals(Object, Object)}, so that both {@code null} and boxed markers such as -1
+ * work.
+ */
+public final class Assignments {
+    private Assignments(){
+    }
+
+    /**
+     * Compute the total cost of a complete assignment, checking that it is consistent: each
+     * assigned row is the row of its column in the column assignments, and {@code min(n, m)} rows
+     * are assigned.
+     * @param costs cost matrix of the problem.
+     * @param result assignment of the problem.
+     * @return the sum of the costs of the assigned cells.
+     */
+    public static long totalCost(int[][] costs, Result result){
+        List<Integer> rows = result.getRowAssignments();
+        int assigned = 0;
+        for (int i = 0; i < costs.length; i++){
+            Integer col = rows.get(i);
+            if (!Objects.equals(col, result.unassigned)){
+                Assertions.assertEquals(i, result.getColumnAssignments().get(col),
+                    "row " + i + " is not the row of column " + col);
+                assigned++;
+            }
+        }
+        Assertions.assertEquals(Math.min(costs.length, costs[0].length), assigned);
+        return totalCost(costs, rows, result.unassigned);
+    }
+
+    /**
+     * Compute the total cost of the assigned rows.
+     * @param costs cost matrix of the problem.
+     * @param rowAssignments column assigned to each row.
+     * @param unassigned marker of the unassigned rows, possibly {@code null}.
+     * @return the sum of the costs of the assigned cells.
+     */
+    public static long totalCost(int[][] costs, Integer[] rowAssignments, Integer unassigned){
+        return totalCost(costs, Arrays.asList(rowAssignments), unassigned);
+    }
+
+    /**
+     * Compute the total cost of the assigned rows.
+     * @param costs cost matrix of the problem.
+     * @param rowAssignments column assigned to each row.
+     * @param unassigned marker of the unassigned rows, possibly {@code null}.
+     * @return the sum of the costs of the assigned cells.
+     */
+    public static long totalCost(int[][] costs, List<Integer> rowAssignments,
+            Integer unassigned){
+        long total = 0;
+        for (int i = 0; i < rowAssignments.size(); i++){
+            Integer col = rowAssignments.get(i);
+            if (!Objects.equals(col, unassigned)){
+                total += costs[i][col];
+            }
+        }
+        return total;
+    }
+}